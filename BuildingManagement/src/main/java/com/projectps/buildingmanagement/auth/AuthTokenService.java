@@ -0,0 +1,118 @@
+package com.projectps.buildingmanagement.auth;
+
+import com.projectps.buildingmanagement.dtos.SessionUserDTO;
+import com.projectps.buildingmanagement.entities.enums.UserType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Issues and verifies signed, expiring authentication tokens.
+ * A token is {@code payload.signature}, both base64url encoded, where the payload is
+ * {@code id:role:expiresAt:username} and the signature is its HMAC-SHA256 under a secret
+ * shared by all nodes, so any node can verify a token without server-side state.
+ */
+@Component
+@ConditionalOnProperty(name = "auth.mode", havingValue = "token")
+public class AuthTokenService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AuthTokenService.class);
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MIN_SECRET_BYTES = 32;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final Duration timeToLive;
+    private final Clock clock;
+
+    @Autowired
+    public AuthTokenService(@Value("${auth.token.secret}") String secret,
+                            @Value("${auth.token.time-to-live}") Duration timeToLive) {
+        this(secret, timeToLive, Clock.systemUTC());
+    }
+
+    AuthTokenService(String secret, Duration timeToLive, Clock clock) {
+        byte[] secretBytes = secret.getBytes(StandardCharsets.UTF_8);
+        if (secretBytes.length < MIN_SECRET_BYTES) {
+            LOGGER.error("auth.token.secret must be at least {} bytes long", MIN_SECRET_BYTES);
+            throw new IllegalStateException("auth.token.secret must be at least " + MIN_SECRET_BYTES + " bytes long");
+        }
+        this.key = new SecretKeySpec(secretBytes, ALGORITHM);
+        this.timeToLive = timeToLive;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns how long an issued token stays valid.
+     *
+     * @return the token time to live
+     */
+    public Duration getTimeToLive() {
+        return timeToLive;
+    }
+
+    /**
+     * Issues a token for the given principal, valid for the configured time to live.
+     *
+     * @param user the principal to encode
+     * @return the signed token
+     */
+    public String issue(SessionUserDTO user) {
+        long expiresAt = clock.instant().plus(timeToLive).getEpochSecond();
+        String payload = user.getId() + ":" + user.getUserRole() + ":" + expiresAt + ":" + user.getUsername();
+        byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+        return ENCODER.encodeToString(payloadBytes) + "." + ENCODER.encodeToString(sign(payloadBytes));
+    }
+
+    /**
+     * Verifies a token and returns the principal it carries.
+     *
+     * @param token the token to verify
+     * @return the principal, or null if the token is malformed, tampered with or expired
+     */
+    public SessionUserDTO verify(String token) {
+        int dot = token.indexOf('.');
+        if (dot < 0) {
+            return null;
+        }
+        try {
+            byte[] payloadBytes = DECODER.decode(token.substring(0, dot));
+            byte[] signature = DECODER.decode(token.substring(dot + 1));
+            if (!MessageDigest.isEqual(sign(payloadBytes), signature)) {
+                return null;
+            }
+            String[] parts = new String(payloadBytes, StandardCharsets.UTF_8).split(":", 4);
+            if (parts.length != 4 || Long.parseLong(parts[2]) <= clock.instant().getEpochSecond()) {
+                return null;
+            }
+            return new SessionUserDTO(UUID.fromString(parts[0]), parts[3], UserType.valueOf(parts[1]));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private byte[] sign(byte[] payload) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(payload);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC signing is not available", e);
+        }
+    }
+}
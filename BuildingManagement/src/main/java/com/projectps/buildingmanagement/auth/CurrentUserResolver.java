@@ -0,0 +1,94 @@
+package com.projectps.buildingmanagement.auth;
+
+import com.projectps.buildingmanagement.dtos.SessionUserDTO;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Resolves the principal of the current request.
+ * In {@code session} mode (the default) the principal lives in the HTTP session. In {@code token} mode
+ * login issues a signed cookie that {@link TokenAuthenticationFilter} verifies on every request,
+ * so no node keeps authentication state and requests can be balanced across nodes freely.
+ */
+@Component
+@RequestScope
+public class CurrentUserResolver {
+
+    public static final String PRINCIPAL_ATTRIBUTE = "logged_user";
+    public static final String TOKEN_COOKIE = "auth_token";
+
+    private final HttpServletRequest request;
+    private final AuthTokenService authTokenService;
+
+    public CurrentUserResolver(HttpServletRequest request,
+                               Optional<AuthTokenService> authTokenService,
+                               @Value("${auth.mode:session}") String mode) {
+        this.request = request;
+        this.authTokenService = "token".equals(mode) ? authTokenService.orElseThrow() : null;
+    }
+
+    /**
+     * Retrieves the principal of the current request.
+     *
+     * @return the logged-in user, or null if the request is not authenticated
+     */
+    public SessionUserDTO getCurrentUser() {
+        if (authTokenService != null) {
+            return (SessionUserDTO) request.getAttribute(PRINCIPAL_ATTRIBUTE);
+        }
+        HttpSession session = request.getSession(false);
+        return session == null ? null : (SessionUserDTO) session.getAttribute(PRINCIPAL_ATTRIBUTE);
+    }
+
+    /**
+     * Authenticates the given user for this and the following requests.
+     *
+     * @param user the principal of the user who logged in
+     */
+    public void signIn(SessionUserDTO user) {
+        if (authTokenService != null) {
+            writeTokenCookie(authTokenService.issue(user), authTokenService.getTimeToLive());
+            request.setAttribute(PRINCIPAL_ATTRIBUTE, user);
+        } else {
+            request.getSession().setAttribute(PRINCIPAL_ATTRIBUTE, user);
+        }
+    }
+
+    /**
+     * Ends the authentication of the current user.
+     */
+    public void signOut() {
+        if (authTokenService != null) {
+            writeTokenCookie("", Duration.ZERO);
+            request.removeAttribute(PRINCIPAL_ATTRIBUTE);
+        } else {
+            HttpSession session = request.getSession(false);
+            if (session != null) {
+                session.removeAttribute(PRINCIPAL_ATTRIBUTE);
+            }
+        }
+    }
+
+    private void writeTokenCookie(String value, Duration maxAge) {
+        HttpServletResponse response = ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes()).getResponse();
+        ResponseCookie cookie = ResponseCookie.from(TOKEN_COOKIE, value)
+                .httpOnly(true)
+                .secure(request.isSecure())
+                .sameSite("Lax")
+                .path("/")
+                .maxAge(maxAge)
+                .build();
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+    }
+}
@@ -0,0 +1,20 @@
+package com.projectps.buildingmanagement.cache;
+
+import com.projectps.buildingmanagement.files.DocumentFormat;
+
+/**
+ * A generated contract document together with the content hash it is stored under.
+ *
+ * @param key     hex SHA-256 of the format, the template sources and the contract fields a template can render
+ * @param format  the document format
+ * @param content the document bytes; callers must not modify them
+ */
+public record CachedDocument(String key, DocumentFormat format, byte[] content) {
+
+    /**
+     * @return the strong entity tag of the document
+     */
+    public String eTag() {
+        return DocumentCache.toETag(key);
+    }
+}
@@ -0,0 +1,66 @@
+package com.projectps.buildingmanagement.cache;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Collects a document while it is generated and, if given a stream, passes every byte on to it as it is written.
+ * The buffer starts at the size the document is expected to have, so it rarely grows, and its array is handed
+ * to the cache as is when the document filled it exactly. Not thread-safe; a generator writes from one thread.
+ */
+final class DocumentBuffer extends OutputStream {
+    private final OutputStream forward;
+    private byte[] buffer;
+    private int count;
+
+    DocumentBuffer(int expectedSize, OutputStream forward) {
+        this.buffer = new byte[Math.max(expectedSize, 1)];
+        this.forward = forward;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureCapacity(count + 1);
+        buffer[count++] = (byte) b;
+        if (forward != null) {
+            forward.write(b);
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, b.length);
+        ensureCapacity(count + len);
+        System.arraycopy(b, off, buffer, count, len);
+        count += len;
+        if (forward != null) {
+            forward.write(b, off, len);
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (forward != null) {
+            forward.flush();
+        }
+    }
+
+    int size() {
+        return count;
+    }
+
+    /**
+     * @return the collected document, copied only if the buffer is larger than the document
+     */
+    byte[] content() {
+        return count == buffer.length ? buffer : Arrays.copyOf(buffer, count);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(capacity, buffer.length * 2));
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package com.projectps.buildingmanagement.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.projectps.buildingmanagement.dtos.ContractDTO;
+import com.projectps.buildingmanagement.files.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Two-tier cache of generated contract documents keyed by a hash of their content.
+ * The key covers the template sources and every contract field a template can render, so neither a changed
+ * contract nor a changed layout can be served a stale document or matched by an old ETag; invalidation only
+ * frees the space held by the old version. Documents live in a memory
+ * tier bounded by total bytes; those pushed out by size spill to a disk tier, itself bounded by bytes, and
+ * are promoted back on the next hit.
+ */
+@Component
+public class DocumentCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DocumentCache.class);
+
+    private static final Pattern FILE_NAME = Pattern.compile("[0-9a-f]{64}.*");
+    private static final int INITIAL_EXPECTED_SIZE = 8192;
+
+    private final Map<DocumentFormat, FileGeneratorStrategy> generators = new EnumMap<>(DocumentFormat.class);
+    // Size of the last document generated in each format, used to size the buffer of the next one.
+    private final Map<DocumentFormat, AtomicInteger> lastSizes = new EnumMap<>(DocumentFormat.class);
+    private final Cache<String, CachedDocument> memory;
+    private final Cache<String, DiskEntry> disk;
+    private final Path directory;
+    private final String templateHash;
+
+    @Autowired
+    public DocumentCache(PdfFileGenerator pdfFileGenerator,
+                         TxtFileGenerator txtFileGenerator,
+                         CsvFileGenerator csvFileGenerator,
+                         ContractTemplates contractTemplates,
+                         MeterRegistry meterRegistry,
+                         @Value("${document-cache.memory-max-bytes}") long memoryMaxBytes,
+                         @Value("${document-cache.disk-max-bytes}") long diskMaxBytes,
+                         @Value("${document-cache.directory}") Path directory) throws IOException {
+        this.generators.put(DocumentFormat.PDF, pdfFileGenerator);
+        this.generators.put(DocumentFormat.TXT, txtFileGenerator);
+        this.generators.put(DocumentFormat.CSV, csvFileGenerator);
+        for (DocumentFormat format : DocumentFormat.values()) {
+            this.lastSizes.put(format, new AtomicInteger(INITIAL_EXPECTED_SIZE));
+        }
+        // The generators have loaded their templates by now.
+        this.templateHash = contractTemplates.getSourceHash();
+        this.directory = Files.createDirectories(directory);
+        clearDirectory();
+        this.disk = Caffeine.newBuilder()
+                .maximumWeight(diskMaxBytes)
+                .<String, DiskEntry>weigher((key, entry) -> entry.size())
+                .removalListener((key, entry, cause) -> {
+                    if (cause != RemovalCause.REPLACED) {
+                        deleteFile(entry);
+                    }
+                })
+                .recordStats()
+                .build();
+        this.memory = Caffeine.newBuilder()
+                .maximumWeight(memoryMaxBytes)
+                .<String, CachedDocument>weigher((key, document) -> document.content().length)
+                .removalListener((key, document, cause) -> {
+                    if (cause == RemovalCause.SIZE) {
+                        spill(document);
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, memory, "documents-memory");
+        CaffeineCacheMetrics.monitor(meterRegistry, disk, "documents-disk");
+    }
+
+    /**
+     * Returns the document of a contract, generating it on a miss.
+     *
+     * @param contract the contract to render
+     * @param format   the document format
+     * @return the cached document
+     * @throws IOException if the document cannot be generated
+     */
+    public CachedDocument get(ContractDTO contract, DocumentFormat format) throws IOException {
+        String key = key(contract, format);
+        try {
+            return memory.get(key, k -> load(k, contract, format));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Returns the document of a contract if either tier holds it, promoting it from disk to memory.
+     *
+     * @param contract the contract
+     * @param format   the document format
+     * @return the cached document, or {@code null} if it has to be generated
+     * @throws IOException if the document cannot be generated after its file was lost
+     */
+    public CachedDocument getIfPresent(ContractDTO contract, DocumentFormat format) throws IOException {
+        String key = key(contract, format);
+        CachedDocument document = memory.getIfPresent(key);
+        if (document == null && disk.getIfPresent(key) != null) {
+            document = get(contract, format);
+        }
+        return document;
+    }
+
+    /**
+     * Generates the document of a contract into a stream and caches it.
+     * Bytes reach the stream while the document is generated, so a download does not wait for the whole document.
+     * Concurrent misses for the same document each generate it; the first one to finish is kept.
+     *
+     * @param contract     the contract to render
+     * @param format       the document format
+     * @param outputStream the stream the document is written to, left open
+     * @return the cached document
+     * @throws IOException if the document cannot be generated or written to the stream
+     */
+    public CachedDocument render(ContractDTO contract, DocumentFormat format, OutputStream outputStream) throws IOException {
+        String key = key(contract, format);
+        CachedDocument document = new CachedDocument(key, format, generate(contract, format, outputStream));
+        CachedDocument existing = memory.asMap().putIfAbsent(key, document);
+        return existing != null ? existing : document;
+    }
+
+    /**
+     * Returns the document of a contract from either tier, or generates it without storing it.
+     * Meant for bulk reads that would otherwise push frequently downloaded documents out of memory.
+     *
+     * @param contract the contract to render
+     * @param format   the document format
+     * @return the document
+     * @throws IOException if the document cannot be generated
+     */
+    public CachedDocument getOrRender(ContractDTO contract, DocumentFormat format) throws IOException {
+        String key = key(contract, format);
+        CachedDocument document = memory.getIfPresent(key);
+        if (document != null) {
+            return document;
+        }
+        try {
+            return load(key, contract, format);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Computes the entity tag a contract's document has, without generating it.
+     *
+     * @param contract the contract
+     * @param format   the document format
+     * @return the strong entity tag
+     */
+    public String getETag(ContractDTO contract, DocumentFormat format) {
+        return toETag(key(contract, format));
+    }
+
+    /**
+     * Drops every cached document of a contract version after the contract was changed or deleted.
+     *
+     * @param previous the contract as it was before the change
+     */
+    public void invalidate(ContractDTO previous) {
+        for (DocumentFormat format : DocumentFormat.values()) {
+            String key = key(previous, format);
+            memory.invalidate(key);
+            disk.invalidate(key);
+        }
+    }
+
+    static String toETag(String key) {
+        return "\"" + key + "\"";
+    }
+
+    private CachedDocument load(String key, ContractDTO contract, DocumentFormat format) {
+        try {
+            DiskEntry entry = disk.getIfPresent(key);
+            if (entry != null) {
+                try {
+                    return new CachedDocument(key, format, Files.readAllBytes(entry.path()));
+                } catch (IOException e) {
+                    LOGGER.error("Could not read cached document {}: {}", entry.path(), e.getMessage());
+                    disk.invalidate(key);
+                }
+            }
+            return new CachedDocument(key, format, generate(contract, format, null));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private byte[] generate(ContractDTO contract, DocumentFormat format, OutputStream forward) throws IOException {
+        AtomicInteger lastSize = lastSizes.get(format);
+        int expectedSize = lastSize.get();
+        DocumentBuffer buffer = new DocumentBuffer(expectedSize + expectedSize / 8, forward);
+        generators.get(format).generateFile(contract, buffer);
+        lastSize.set(buffer.size());
+        return buffer.content();
+    }
+
+    private void spill(CachedDocument document) {
+        if (disk.getIfPresent(document.key()) != null) {
+            return;
+        }
+        Path path = directory.resolve(document.key() + "." + document.format().getExtension());
+        try {
+            Path temporary = Files.createTempFile(directory, document.key(), ".tmp");
+            Files.write(temporary, document.content());
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            disk.put(document.key(), new DiskEntry(path, document.content().length));
+        } catch (IOException e) {
+            LOGGER.error("Could not spill document {} to disk: {}", document.key(), e.getMessage());
+        }
+    }
+
+    private void deleteFile(DiskEntry entry) {
+        try {
+            Files.deleteIfExists(entry.path());
+        } catch (IOException e) {
+            LOGGER.error("Could not delete cached document {}: {}", entry.path(), e.getMessage());
+        }
+    }
+
+    /**
+     * Removes files left by a previous run; only names this cache writes are touched.
+     */
+    private void clearDirectory() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                if (FILE_NAME.matcher(file.getFileName().toString()).matches()) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    private String key(ContractDTO contract, DocumentFormat format) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (DataOutputStream data = new DataOutputStream(bytes)) {
+                data.writeUTF(format.name());
+                data.writeUTF(templateHash);
+                data.writeUTF(Objects.toString(contract.getId()));
+                data.writeUTF(Objects.toString(contract.getStartDate()));
+                data.writeInt(contract.getDuration());
+                byte[] details = Objects.toString(contract.getDetails()).getBytes(StandardCharsets.UTF_8);
+                data.writeInt(details.length);
+                data.write(details);
+                data.writeUTF(Objects.toString(contract.getUser_id()));
+                data.writeUTF(Objects.toString(contract.getProperty_id()));
+            }
+            return HexFormat.of().formatHex(digest.digest(bytes.toByteArray()));
+        } catch (NoSuchAlgorithmException | IOException e) {
+            throw new IllegalStateException("Could not hash contract " + contract.getId(), e);
+        }
+    }
+
+    private record DiskEntry(Path path, int size) {
+    }
+}
@@ -0,0 +1,141 @@
+package com.projectps.buildingmanagement.cache;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.projectps.buildingmanagement.dtos.ContractDTO;
+import com.projectps.buildingmanagement.dtos.OfferDTO;
+import com.projectps.buildingmanagement.dtos.PropertyDTO;
+import com.projectps.buildingmanagement.dtos.builders.PropertyBuilder;
+import com.projectps.buildingmanagement.entities.Property;
+import com.projectps.buildingmanagement.repositories.PropertyRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Bounded read-through cache of property DTOs keyed by property ID.
+ * Entries older than the refresh interval are still served while a background reload runs,
+ * so a slow database only delays the refresh and not the request. Entries older than the
+ * expiry are dropped. Services that change a property invalidate its entry.
+ * Callers always receive copies, so a caller changing a returned DTO never changes what later readers see.
+ */
+@Component
+public class PropertyCache {
+
+    private final LoadingCache<UUID, PropertyDTO> cache;
+
+    @Autowired
+    public PropertyCache(PropertyRepository propertyRepository,
+                         MeterRegistry meterRegistry,
+                         @Value("${property-cache.maximum-size}") long maximumSize,
+                         @Value("${property-cache.refresh-after-write}") Duration refreshAfterWrite,
+                         @Value("${property-cache.expire-after-write}") Duration expireAfterWrite) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .refreshAfterWrite(refreshAfterWrite)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build(new PropertyLoader(propertyRepository));
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "properties");
+    }
+
+    /**
+     * Returns the DTO of a property, loading it from the database on a miss.
+     *
+     * @param id the ID of the property
+     * @return a copy of the property DTO, or null if the property does not exist
+     */
+    public PropertyDTO get(UUID id) {
+        return copy(cache.get(id));
+    }
+
+    /**
+     * Returns the DTOs of several properties, loading all the misses in one query.
+     *
+     * @param ids the IDs of the properties
+     * @return copies of the property DTOs by ID; missing properties are absent
+     */
+    public Map<UUID, PropertyDTO> getAll(Iterable<UUID> ids) {
+        Map<UUID, PropertyDTO> properties = new HashMap<>();
+        cache.getAll(ids).forEach((id, property) -> properties.put(id, copy(property)));
+        return properties;
+    }
+
+    /**
+     * Drops the cached DTO of a property after it was changed.
+     *
+     * @param id the ID of the property
+     */
+    public void invalidate(UUID id) {
+        if (id != null) {
+            cache.invalidate(id);
+        }
+    }
+
+    private static PropertyDTO copy(PropertyDTO property) {
+        if (property == null) {
+            return null;
+        }
+        ContractDTO contract = property.getRentalContract();
+        OfferDTO offer = property.getPriceOffer();
+        return PropertyDTO.builder()
+                .id(property.getId())
+                .location(property.getLocation())
+                .latitude(property.getLatitude())
+                .longitude(property.getLongitude())
+                .roomsNumber(property.getRoomsNumber())
+                .initialPrice(property.getInitialPrice())
+                .priceAfterOffer(property.getPriceAfterOffer())
+                .isRented(property.isRented())
+                .isOfferApplied(property.isOfferApplied())
+                .propertyType(property.getPropertyType())
+                .propertyStatus(property.getPropertyStatus())
+                .imageUrl(property.getImageUrl())
+                .rentalContract(contract == null ? null : ContractDTO.builder()
+                        .id(contract.getId())
+                        .startDate(contract.getStartDate())
+                        .duration(contract.getDuration())
+                        .details(contract.getDetails())
+                        .user_id(contract.getUser_id())
+                        .property_id(contract.getProperty_id())
+                        .build())
+                .priceOffer(offer == null ? null : OfferDTO.builder()
+                        .id(offer.getId())
+                        .offerProcent(offer.getOfferProcent())
+                        .property_id(offer.getProperty_id())
+                        .build())
+                .build();
+    }
+
+    private static final class PropertyLoader implements CacheLoader<UUID, PropertyDTO> {
+        private final PropertyRepository propertyRepository;
+
+        private PropertyLoader(PropertyRepository propertyRepository) {
+            this.propertyRepository = propertyRepository;
+        }
+
+        @Override
+        public PropertyDTO load(UUID id) {
+            return propertyRepository.findWithRelationsById(id)
+                    .map(PropertyBuilder::toPropertyDTO)
+                    .orElse(null);
+        }
+
+        @Override
+        public Map<UUID, PropertyDTO> loadAll(Set<? extends UUID> ids) {
+            return propertyRepository.findAllById(List.copyOf(ids)).stream()
+                    .collect(Collectors.toMap(Property::getId, PropertyBuilder::toPropertyDTO));
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.projectps.buildingmanagement.config;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.core.functions.CheckedSupplier;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+
+/**
+ * Guards every outbound call with a bulkhead and a circuit breaker named after the target host.
+ * The circuit breaker is checked first, so calls fail fast with {@code CallNotPermittedException}
+ * while the downstream is unhealthy; the bulkhead then caps concurrent calls to the host and
+ * rejects the overflow with {@code BulkheadFullException} instead of queueing request threads.
+ */
+public class ResilientHttpRequestInterceptor implements ClientHttpRequestInterceptor {
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+
+    public ResilientHttpRequestInterceptor(CircuitBreakerRegistry circuitBreakerRegistry, BulkheadRegistry bulkheadRegistry) {
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.bulkheadRegistry = bulkheadRegistry;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        String name = request.getURI().getAuthority();
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(name);
+        Bulkhead bulkhead = bulkheadRegistry.bulkhead(name);
+
+        CheckedSupplier<ClientHttpResponse> call = () -> execution.execute(request, body);
+        CheckedSupplier<ClientHttpResponse> guarded =
+                CircuitBreaker.decorateCheckedSupplier(circuitBreaker, Bulkhead.decorateCheckedSupplier(bulkhead, call));
+        try {
+            return guarded.get();
+        } catch (IOException | RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IOException(e);
+        }
+    }
+}
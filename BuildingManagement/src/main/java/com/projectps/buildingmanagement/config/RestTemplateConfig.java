@@ -1,14 +1,129 @@
 package com.projectps.buildingmanagement.config;
 
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Outbound HTTP client: a bounded keep-alive connection pool with connect, response and pool-wait
+ * timeouts, guarded per host by a bulkhead and a circuit breaker. Pool usage, circuit breaker and
+ * bulkhead state are published as metrics, and call latency as {@code http.client.requests}.
+ */
 @Configuration
 public class RestTemplateConfig {
 
+    private static final String CLIENT_NAME = "rest-template";
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager httpClientConnectionManager(
+            @Value("${http-client.max-connections}") int maxConnections,
+            @Value("${http-client.max-connections-per-route}") int maxConnectionsPerRoute,
+            @Value("${http-client.connect-timeout}") Duration connectTimeout,
+            @Value("${http-client.response-timeout}") Duration responseTimeout,
+            MeterRegistry meterRegistry) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setSocketTimeout(Timeout.of(responseTimeout))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, CLIENT_NAME).bindTo(meterRegistry);
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient httpClient(PoolingHttpClientConnectionManager httpClientConnectionManager,
+                                          @Value("${http-client.pool-timeout}") Duration poolTimeout,
+                                          @Value("${http-client.response-timeout}") Duration responseTimeout) {
+        return HttpClients.custom()
+                .setConnectionManager(httpClientConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(poolTimeout))
+                        .setResponseTimeout(Timeout.of(responseTimeout))
+                        .build())
+                // Callers own retries (the email outbox backs off per message); client retries would hide failures from the circuit breaker
+                .disableAutomaticRetries()
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofSeconds(30))
+                .build();
+    }
+
+    @Bean
+    public CircuitBreakerRegistry circuitBreakerRegistry(
+            @Value("${http-client.circuit-breaker.failure-rate-threshold}") float failureRateThreshold,
+            @Value("${http-client.circuit-breaker.sliding-window-size}") int slidingWindowSize,
+            @Value("${http-client.circuit-breaker.minimum-number-of-calls}") int minimumNumberOfCalls,
+            @Value("${http-client.circuit-breaker.wait-in-open-state}") Duration waitInOpenState,
+            MeterRegistry meterRegistry) {
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumNumberOfCalls)
+                .waitDurationInOpenState(waitInOpenState)
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                .recordResult(RestTemplateConfig::isServerError)
+                .ignoreExceptions(BulkheadFullException.class)
+                .build());
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+        return registry;
+    }
+
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public BulkheadRegistry bulkheadRegistry(
+            @Value("${http-client.bulkhead.max-concurrent-calls}") int maxConcurrentCalls,
+            @Value("${http-client.bulkhead.max-wait}") Duration maxWait,
+            MeterRegistry meterRegistry) {
+        BulkheadRegistry registry = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(maxWait)
+                .build());
+        TaggedBulkheadMetrics.ofBulkheadRegistry(registry).bindTo(meterRegistry);
+        return registry;
+    }
+
+    @Bean
+    public RestTemplate restTemplate(RestTemplateBuilder restTemplateBuilder,
+                                     CloseableHttpClient httpClient,
+                                     CircuitBreakerRegistry circuitBreakerRegistry,
+                                     BulkheadRegistry bulkheadRegistry) {
+        return restTemplateBuilder
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(httpClient))
+                .additionalInterceptors(new ResilientHttpRequestInterceptor(circuitBreakerRegistry, bulkheadRegistry))
+                .build();
+    }
+
+    private static boolean isServerError(Object result) {
+        try {
+            return result instanceof ClientHttpResponse response && response.getStatusCode().is5xxServerError();
+        } catch (IOException e) {
+            return true;
+        }
     }
 }
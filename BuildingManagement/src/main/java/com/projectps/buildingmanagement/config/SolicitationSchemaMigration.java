@@ -0,0 +1,53 @@
+package com.projectps.buildingmanagement.config;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Brings the solicitations table of existing databases in line with the per-property waitlist.
+ * A solicitation used to be the one-to-one request of its property, and Hibernate created a unique constraint
+ * on {@code solicitations.property_id} for it. {@code ddl-auto=update} only adds constraints and never drops one,
+ * so that constraint would still limit every waitlist to a single request; it is dropped here once the schema
+ * update has run. Fresh databases never have it, and the step does nothing on them.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class SolicitationSchemaMigration {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SolicitationSchemaMigration.class);
+
+    // Unique constraints of the solicitations table whose only column is property_id.
+    private static final String FIND_PROPERTY_UNIQUE_CONSTRAINTS =
+            "select tc.constraint_name from information_schema.table_constraints tc " +
+            "join information_schema.key_column_usage kcu on kcu.constraint_schema = tc.constraint_schema " +
+            "and kcu.constraint_name = tc.constraint_name " +
+            "where lower(tc.table_name) = 'solicitations' and tc.table_schema = current_schema " +
+            "and tc.constraint_type = 'UNIQUE' " +
+            "group by tc.constraint_name " +
+            "having count(*) = 1 and max(lower(kcu.column_name)) = 'property_id'";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public SolicitationSchemaMigration(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Drops the unique constraint on the property of a solicitation, if the database still has it.
+     */
+    @PostConstruct
+    public void dropPropertyUniqueConstraint() {
+        List<String> constraints = jdbcTemplate.queryForList(FIND_PROPERTY_UNIQUE_CONSTRAINTS, String.class);
+        for (String constraint : constraints) {
+            jdbcTemplate.execute("alter table solicitations drop constraint \"" + constraint + "\"");
+            LOGGER.info("Dropped unique constraint {} on solicitations.property_id", constraint);
+        }
+    }
+}
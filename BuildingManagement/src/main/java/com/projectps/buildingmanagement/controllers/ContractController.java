@@ -1,25 +1,36 @@
 
 package com.projectps.buildingmanagement.controllers;
 
+import com.projectps.buildingmanagement.auth.CurrentUserResolver;
+import com.projectps.buildingmanagement.cache.CachedDocument;
+import com.projectps.buildingmanagement.cache.DocumentCache;
 import com.projectps.buildingmanagement.dtos.ContractDTO;
+import com.projectps.buildingmanagement.dtos.SessionUserDTO;
 import com.projectps.buildingmanagement.dtos.UserDTO;
+import com.projectps.buildingmanagement.entities.enums.PropertyType;
+import com.projectps.buildingmanagement.entities.enums.UserType;
 import com.projectps.buildingmanagement.exceptions.ContractNotFoundException;
 import com.projectps.buildingmanagement.exceptions.PropertyNotFoundException;
 import com.projectps.buildingmanagement.exceptions.UserNotFoundException;
-import com.projectps.buildingmanagement.files.CsvFileGenerator;
-import com.projectps.buildingmanagement.files.TxtFileGenerator;
+import com.projectps.buildingmanagement.files.DocumentFormat;
+import com.projectps.buildingmanagement.services.ContractBundleService;
 import com.projectps.buildingmanagement.services.ContractService;
-import com.projectps.buildingmanagement.files.PdfFileGenerator;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import jakarta.servlet.http.HttpSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.servlet.ModelAndView;
 import org.springframework.http.HttpHeaders;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Locale;
 import java.util.UUID;
 
 /**
@@ -28,71 +39,73 @@ import java.util.UUID;
 @RestController
 @RequestMapping("/contracts")
 public class ContractController {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ContractController.class);
 
     private final ContractService contractService;
-    private final PdfFileGenerator pdfFileGenerator;
 
-    private final TxtFileGenerator txtFileGenerator;
+    private final DocumentCache documentCache;
 
-    private final CsvFileGenerator csvFileGenerator;
-    private final HttpSession session;
+    private final ContractBundleService contractBundleService;
+
+    private final CurrentUserResolver currentUserResolver;
 
     /**
-     * Constructs a new ContractController with the specified services and session.
+     * Constructs a new ContractController with the specified services.
      *
-     * @param contractService   The contract service to use.
-     * @param pdfFileGenerator The PDF file generator.
-     * @param txtFileGenerator The TXT file generator.
-     * @param csvFileGenerator The CSV file generator.
-     * @param session           The HTTP session.
+     * @param contractService       The contract service to use.
+     * @param documentCache         The cache of generated contract documents.
+     * @param contractBundleService The service writing multi-contract archives.
+     * @param currentUserResolver   The resolver of the logged-in user.
      */
     @Autowired
-    public ContractController(ContractService contractService, PdfFileGenerator pdfFileGenerator, TxtFileGenerator txtFileGenerator, CsvFileGenerator csvFileGenerator, HttpSession session) {
+    public ContractController(ContractService contractService, DocumentCache documentCache,
+                              ContractBundleService contractBundleService, CurrentUserResolver currentUserResolver) {
         this.contractService = contractService;
-        this.pdfFileGenerator = pdfFileGenerator;
-        this.txtFileGenerator = txtFileGenerator;
-        this.csvFileGenerator = csvFileGenerator;
-        this.session = session;
+        this.documentCache = documentCache;
+        this.contractBundleService = contractBundleService;
+        this.currentUserResolver = currentUserResolver;
     }
 
     /**
      * Handles the download of contract files based on the given contract ID and file type.
+     * Responses carry a strong ETag derived from the contract content; a matching If-None-Match is answered with 304.
+     * Administrators may download every contract, customers only their own; anonymous requests are refused.
+     * A document that is not cached yet is streamed while it is generated.
      *
      * @param contractId The ID of the contract.
      * @param fileType   The type of file to download (pdf, txt, csv).
+     * @param request    The HTTP request.
      * @param response   The HTTP response.
      */
-    @PostMapping("/downloadFile")
+    @RequestMapping(value = "/downloadFile", method = {RequestMethod.GET, RequestMethod.POST})
     public void downloadContractFile(@RequestParam("contractId") String contractId,
                                      @RequestParam("fileType") String fileType,
+                                     HttpServletRequest request,
                                      HttpServletResponse response) {
+        SessionUserDTO loggedInUser = currentUserResolver.getCurrentUser();
+        if (loggedInUser == null) {
+            response.setStatus(HttpServletResponse.SC_FORBIDDEN);
+            return;
+        }
         try {
             UUID uuid = UUID.fromString(contractId);
-            ContractDTO contractDTO = contractService.getContractById(uuid);
+            DocumentFormat format = DocumentFormat.valueOf(fileType.toUpperCase(Locale.ROOT));
+            ContractDTO contractDTO = loggedInUser.getUserRole() == UserType.ADMIN
+                    ? contractService.getContractById(uuid)
+                    : contractService.getContractByIdCustomer(uuid);
 
-            byte[] fileContent;
-            String contentType;
-            String filename;
-            if ("pdf".equals(fileType)) {
-                fileContent = pdfFileGenerator.generateFile(contractDTO);
-                contentType = "application/pdf";
-                filename = "contract_" + contractId + ".pdf";
-            } else if ("txt".equals(fileType)) {
-                fileContent = txtFileGenerator.generateFile(contractDTO);
-                contentType = "text/plain";
-                filename = "contract_" + contractId + ".txt";
-            } else if ("csv".equals(fileType)) {
-                fileContent = csvFileGenerator.generateFile(contractDTO);
-                contentType = "text/csv";
-                filename = "contract_" + contractId + ".csv";
+            if (new ServletWebRequest(request, response).checkNotModified(documentCache.getETag(contractDTO, format))) {
+                return;
+            }
+            response.setContentType(format.getContentType());
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"contract_" + contractId + "." + format.getExtension() + "\"");
+            CachedDocument document = documentCache.getIfPresent(contractDTO, format);
+            if (document != null) {
+                response.setContentLength(document.content().length);
+                response.getOutputStream().write(document.content());
             } else {
-                throw new IllegalArgumentException("Invalid file type");
+                documentCache.render(contractDTO, format, response.getOutputStream());
             }
-
-            response.setContentType(contentType);
-            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"");
-            response.getOutputStream().write(fileContent);
-            response.getOutputStream().flush();
         } catch (ContractNotFoundException | IllegalArgumentException e) {
             response.setStatus(HttpServletResponse.SC_NOT_FOUND);
         } catch (Exception e) {
@@ -100,6 +113,50 @@ public class ContractController {
         }
     }
 
+    /**
+     * Streams the documents of every contract matching the filter as a ZIP archive.
+     * Only administrators may download bundles.
+     *
+     * @param userId       Only contracts of this user, if given.
+     * @param from         Only contracts starting at or after this time, if given.
+     * @param to           Only contracts starting before this time, if given.
+     * @param propertyType Only contracts for properties of this type, if given.
+     * @param fileType     The type of the documents (pdf, txt, csv).
+     * @param response     The HTTP response the archive is written to.
+     */
+    @GetMapping("/bundle")
+    public void downloadContractBundle(@RequestParam(required = false) UUID userId,
+                                       @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                       @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                       @RequestParam(required = false) PropertyType propertyType,
+                                       @RequestParam(defaultValue = "pdf") String fileType,
+                                       HttpServletResponse response) {
+        SessionUserDTO loggedInUser = currentUserResolver.getCurrentUser();
+        if (loggedInUser == null || loggedInUser.getUserRole() != UserType.ADMIN) {
+            response.setStatus(HttpServletResponse.SC_FORBIDDEN);
+            return;
+        }
+        DocumentFormat format;
+        try {
+            format = DocumentFormat.valueOf(fileType.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            return;
+        }
+
+        response.setContentType("application/zip");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"contracts.zip\"");
+        try {
+            contractBundleService.writeBundle(userId, from, to, propertyType, format, response.getOutputStream());
+        } catch (IOException e) {
+            LOGGER.error("Contract bundle was aborted: {}", e.getMessage());
+            if (!response.isCommitted()) {
+                response.reset();
+                response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            }
+        }
+    }
+
     /**
      * Retrieves all contracts and returns a ModelAndView containing the contracts list view.
      *
@@ -0,0 +1,124 @@
+package com.projectps.buildingmanagement.controllers;
+
+import com.projectps.buildingmanagement.dtos.DocumentJobDTO;
+import com.projectps.buildingmanagement.entities.enums.DocumentJobStatus;
+import com.projectps.buildingmanagement.exceptions.ContractNotFoundException;
+import com.projectps.buildingmanagement.exceptions.DocumentJobNotFoundException;
+import com.projectps.buildingmanagement.exceptions.RenderQueueFullException;
+import com.projectps.buildingmanagement.files.DocumentFormat;
+import com.projectps.buildingmanagement.services.DocumentRenderService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Controller class for rendering contract documents asynchronously.
+ * A client submits a job, polls or long-polls its status and downloads the document once it is done.
+ */
+@RestController
+@RequestMapping("/contracts/documents")
+public class DocumentJobController {
+
+    private final DocumentRenderService documentRenderService;
+    private final Duration maxWait;
+
+    @Autowired
+    public DocumentJobController(DocumentRenderService documentRenderService,
+                                 @Value("${document-render.max-wait}") Duration maxWait) {
+        this.documentRenderService = documentRenderService;
+        this.maxWait = maxWait;
+    }
+
+    /**
+     * Submits a contract document for rendering.
+     *
+     * @param contractId The ID of the contract.
+     * @param fileType   The type of file to render (pdf, txt, csv).
+     * @return 202 with the job and its location, 503 if the render queue is full.
+     */
+    @PostMapping
+    public ResponseEntity<DocumentJobDTO> submit(@RequestParam("contractId") String contractId,
+                                                 @RequestParam("fileType") String fileType) {
+        try {
+            DocumentJobDTO job = documentRenderService.submit(UUID.fromString(contractId),
+                    DocumentFormat.valueOf(fileType.toUpperCase(Locale.ROOT)));
+            return ResponseEntity.accepted()
+                    .location(URI.create("/contracts/documents/" + job.getId()))
+                    .body(job);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (ContractNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        } catch (RenderQueueFullException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").build();
+        }
+    }
+
+    /**
+     * Retrieves the status of a render job.
+     * With a wait time the response is held until the job finishes or the wait elapses, without blocking a request thread.
+     *
+     * @param jobId       The ID of the job.
+     * @param waitSeconds How long to wait for the job to finish, capped by the configured maximum.
+     * @return The job status.
+     */
+    @GetMapping("/{jobId}")
+    public CompletableFuture<ResponseEntity<DocumentJobDTO>> getJob(@PathVariable UUID jobId,
+                                                                    @RequestParam(defaultValue = "0") long waitSeconds) {
+        try {
+            if (waitSeconds <= 0) {
+                return CompletableFuture.completedFuture(ResponseEntity.ok(documentRenderService.getJob(jobId)));
+            }
+            Duration wait = Duration.ofSeconds(waitSeconds);
+            if (wait.compareTo(maxWait) > 0) {
+                wait = maxWait;
+            }
+            return documentRenderService.awaitJob(jobId, wait).thenApply(ResponseEntity::ok);
+        } catch (DocumentJobNotFoundException e) {
+            return CompletableFuture.completedFuture(ResponseEntity.notFound().build());
+        } catch (IllegalStateException e) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.FORBIDDEN).build());
+        }
+    }
+
+    /**
+     * Downloads the document rendered by a finished job.
+     *
+     * @param jobId The ID of the job.
+     * @return The document, or 409 if the job has not finished successfully.
+     */
+    @GetMapping("/{jobId}/file")
+    public ResponseEntity<byte[]> download(@PathVariable UUID jobId) {
+        try {
+            DocumentJobDTO job = documentRenderService.getJob(jobId);
+            if (job.getStatus() != DocumentJobStatus.DONE) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).build();
+            }
+            DocumentFormat format = job.getFormat();
+            String filename = "contract_" + job.getContractId() + "." + format.getExtension();
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType(format.getContentType()))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                    .body(documentRenderService.getDocument(jobId));
+        } catch (DocumentJobNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.projectps.buildingmanagement.controllers;
+
+import com.projectps.buildingmanagement.dtos.SessionUserDTO;
+import com.projectps.buildingmanagement.entities.enums.UserType;
+import com.projectps.buildingmanagement.files.ExportFormat;
+import com.projectps.buildingmanagement.services.ExportService;
+import com.projectps.buildingmanagement.services.UserService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Controller class for streaming full-table exports to administrators.
+ */
+@RestController
+@RequestMapping("/exports")
+public class ExportController {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExportController.class);
+
+    private final ExportService exportService;
+    private final UserService userService;
+
+    @Autowired
+    public ExportController(ExportService exportService, UserService userService) {
+        this.exportService = exportService;
+        this.userService = userService;
+    }
+
+    /**
+     * Streams a whole table as CSV or newline-delimited JSON.
+     *
+     * @param table    the table to export: contracts, properties, users or reviews
+     * @param format   the output format, csv (default) or ndjson
+     * @param response the HTTP response the rows are written to
+     */
+    @GetMapping("/{table}")
+    public void export(@PathVariable String table,
+                       @RequestParam(defaultValue = "csv") String format,
+                       HttpServletResponse response) {
+        SessionUserDTO loggedInUser = userService.getLoggedInUser();
+        if (loggedInUser == null || loggedInUser.getUserRole() != UserType.ADMIN) {
+            response.setStatus(HttpServletResponse.SC_FORBIDDEN);
+            return;
+        }
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            return;
+        }
+        if (!ExportService.TABLES.contains(table)) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + table + "." + exportFormat.getExtension() + "\"");
+        try {
+            exportService.export(table, exportFormat, response.getOutputStream());
+        } catch (IOException e) {
+            LOGGER.error("Export of {} was aborted: {}", table, e.getMessage());
+        }
+    }
+}
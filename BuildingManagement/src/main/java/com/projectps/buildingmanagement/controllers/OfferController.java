@@ -1,10 +1,19 @@
 package com.projectps.buildingmanagement.controllers;
 
+import com.projectps.buildingmanagement.auth.CurrentUserResolver;
+import com.projectps.buildingmanagement.dtos.OfferCampaignDTO;
 import com.projectps.buildingmanagement.dtos.OfferDTO;
+import com.projectps.buildingmanagement.dtos.SessionUserDTO;
+import com.projectps.buildingmanagement.entities.enums.UserType;
+import com.projectps.buildingmanagement.exceptions.OfferCampaignNotFoundException;
 import com.projectps.buildingmanagement.exceptions.OfferNotFoundException;
 import com.projectps.buildingmanagement.exceptions.PropertyNotFoundException;
+import com.projectps.buildingmanagement.services.OfferCampaignService;
 import com.projectps.buildingmanagement.services.OfferService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.ModelAndView;
 
@@ -19,15 +28,22 @@ import java.util.UUID;
 public class OfferController {
 
     private final OfferService offerService;
+    private final OfferCampaignService offerCampaignService;
+    private final CurrentUserResolver currentUserResolver;
 
     /**
-     * Constructs a new OfferController with the specified OfferService.
+     * Constructs a new OfferController with the specified services.
      *
-     * @param offerService the offer service to use
+     * @param offerService         the offer service to use
+     * @param offerCampaignService the offer campaign service to use
+     * @param currentUserResolver  the resolver of the logged-in user
      */
     @Autowired
-    public OfferController(OfferService offerService) {
+    public OfferController(OfferService offerService, OfferCampaignService offerCampaignService,
+                           CurrentUserResolver currentUserResolver) {
         this.offerService = offerService;
+        this.offerCampaignService = offerCampaignService;
+        this.currentUserResolver = currentUserResolver;
     }
 
     /**
@@ -181,4 +197,67 @@ public class OfferController {
             return modelAndView;
         }
     }
+
+    /**
+     * Retrieves all offer campaigns, newest first.
+     * Only administrators may see the campaigns.
+     *
+     * @return a ResponseEntity with the campaign DTOs
+     */
+    @GetMapping("/campaigns")
+    public ResponseEntity<List<OfferCampaignDTO>> getAllCampaigns() {
+        if (!isAdmin()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(offerCampaignService.getAllCampaigns());
+    }
+
+    /**
+     * Launches an offer campaign over every property matching the filter.
+     * Only administrators may launch campaigns.
+     *
+     * @param campaignDTO the percentage and the property filter
+     * @return a ResponseEntity with the created campaign, a bad request if the campaign is invalid,
+     * or a conflict if a matching property received an offer at the same time
+     */
+    @PostMapping("/campaigns")
+    public ResponseEntity<OfferCampaignDTO> launchCampaign(@RequestBody OfferCampaignDTO campaignDTO) {
+        if (!isAdmin()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(offerCampaignService.launchCampaign(campaignDTO));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (DataIntegrityViolationException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    /**
+     * Rolls an offer campaign back.
+     * Only administrators may roll campaigns back.
+     *
+     * @param id the ID of the campaign
+     * @return a ResponseEntity with the rolled back campaign, not found if it does not exist,
+     * or a conflict if it was already rolled back
+     */
+    @PostMapping("/campaigns/{id}/rollback")
+    public ResponseEntity<OfferCampaignDTO> rollbackCampaign(@PathVariable UUID id) {
+        if (!isAdmin()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        try {
+            return ResponseEntity.ok(offerCampaignService.rollbackCampaign(id));
+        } catch (OfferCampaignNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    private boolean isAdmin() {
+        SessionUserDTO loggedInUser = currentUserResolver.getCurrentUser();
+        return loggedInUser != null && loggedInUser.getUserRole() == UserType.ADMIN;
+    }
 }
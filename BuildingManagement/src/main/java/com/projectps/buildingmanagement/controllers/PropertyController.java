@@ -1,13 +1,31 @@
 package com.projectps.buildingmanagement.controllers;
 
+import com.projectps.buildingmanagement.auth.CurrentUserResolver;
+import com.projectps.buildingmanagement.dtos.ImportReportDTO;
 import com.projectps.buildingmanagement.dtos.PropertyDTO;
+import com.projectps.buildingmanagement.dtos.PropertyFacetsDTO;
+import com.projectps.buildingmanagement.dtos.PropertyPageDTO;
+import com.projectps.buildingmanagement.dtos.PropertySearchCriteria;
+import com.projectps.buildingmanagement.dtos.SessionUserDTO;
+import com.projectps.buildingmanagement.entities.enums.UserType;
 import com.projectps.buildingmanagement.exceptions.PropertyNotFoundException;
+import com.projectps.buildingmanagement.files.ExportFormat;
+import com.projectps.buildingmanagement.services.PropertyChangeFeed;
+import com.projectps.buildingmanagement.services.PropertyImportService;
 import com.projectps.buildingmanagement.services.PropertyService;
+import com.projectps.buildingmanagement.services.SolicitationService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Locale;
 import java.util.UUID;
 
 /**
@@ -18,43 +36,184 @@ import java.util.UUID;
 public class PropertyController {
 
     private final PropertyService propertyService;
+    private final PropertyImportService propertyImportService;
+    private final SolicitationService solicitationService;
+    private final PropertyChangeFeed propertyChangeFeed;
+    private final CurrentUserResolver currentUserResolver;
 
     /**
-     * Constructs a new PropertyController with the specified PropertyService.
+     * Constructs a new PropertyController with the specified services.
      *
-     * @param propertyService the property service to use
+     * @param propertyService       the property service to use
+     * @param propertyImportService the bulk property import service to use
+     * @param solicitationService   the solicitation service to use for waitlist lengths
+     * @param propertyChangeFeed    the feed of property changes
+     * @param currentUserResolver   the resolver of the logged-in user
      */
     @Autowired
-    public PropertyController(PropertyService propertyService) {
+    public PropertyController(PropertyService propertyService, PropertyImportService propertyImportService,
+                              SolicitationService solicitationService, PropertyChangeFeed propertyChangeFeed,
+                              CurrentUserResolver currentUserResolver) {
         this.propertyService = propertyService;
+        this.propertyImportService = propertyImportService;
+        this.solicitationService = solicitationService;
+        this.propertyChangeFeed = propertyChangeFeed;
+        this.currentUserResolver = currentUserResolver;
     }
 
     /**
-     * Retrieves all properties.
+     * Retrieves all properties, with the number of requests waiting for each of them.
      *
-     * @return a ModelAndView containing the view "propertiesList" and a list of property DTOs
+     * @return a ModelAndView containing the view "propertiesList", a list of property DTOs and the waitlist length by property ID
      */
     @GetMapping("/propertiesList")
     public ModelAndView getAllProperties() {
         List<PropertyDTO> dtos = propertyService.getAllProperties();
         ModelAndView modelAndView = new ModelAndView("propertiesList");
         modelAndView.addObject("property", dtos);
+        modelAndView.addObject("waitlist", solicitationService.getWaitlistLengths(
+                dtos.stream().map(PropertyDTO::getId).toList()));
         return modelAndView;
     }
 
     /**
-     * Retrieves all properties for customers.
+     * Retrieves the first page of available properties for customers.
+     * Further pages and filters are loaded through the search endpoint.
      *
-     * @return a ModelAndView containing the view "propertiesListCustomer" and a list of property DTOs
+     * @return a ModelAndView containing the view "propertiesListCustomer", the first page of property DTOs and the next cursor
      */
     @GetMapping("/propertiesListCustomer")
     public ModelAndView getAllPropertiesCustomer() {
-        List<PropertyDTO> dtos = propertyService.getAllPropertiesCustomer();
+        PropertyPageDTO page = propertyService.searchProperties(PropertySearchCriteria.builder()
+                .rented(false)
+                .build());
         ModelAndView modelAndView = new ModelAndView("propertiesListCustomer");
-        modelAndView.addObject("property", dtos);
+        modelAndView.addObject("property", page.getProperties());
+        modelAndView.addObject("nextCursor", page.getNextCursor());
         return modelAndView;
     }
 
+    /**
+     * Searches properties by type, status, rooms, price range and rental state, sorted by price.
+     *
+     * @param criteria the search filters, sort direction, cursor of the previous page and page size
+     * @return a ResponseEntity with the requested page, or a bad request if the criteria are invalid
+     */
+    @GetMapping("/search")
+    public ResponseEntity<PropertyPageDTO> searchProperties(@ModelAttribute PropertySearchCriteria criteria) {
+        try {
+            return ResponseEntity.ok(propertyService.searchProperties(criteria));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Retrieves the properties within a radius of a point, nearest first.
+     *
+     * @param latitude  the latitude of the center
+     * @param longitude the longitude of the center
+     * @param radiusKm  the search radius in kilometers
+     * @param limit     the maximum number of properties to return
+     * @return a ResponseEntity with the matching property DTOs, or a bad request if the parameters are invalid
+     */
+    @GetMapping("/nearby")
+    public ResponseEntity<List<PropertyDTO>> getPropertiesNearby(@RequestParam double latitude,
+                                                                 @RequestParam double longitude,
+                                                                 @RequestParam double radiusKm,
+                                                                 @RequestParam(defaultValue = "50") int limit) {
+        try {
+            return ResponseEntity.ok(propertyService.getPropertiesNearby(latitude, longitude, radiusKm, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Retrieves the properties inside a map viewport.
+     *
+     * @param south the southern latitude of the viewport
+     * @param west  the western longitude of the viewport
+     * @param north the northern latitude of the viewport
+     * @param east  the eastern longitude of the viewport
+     * @param limit the maximum number of properties to return
+     * @return a ResponseEntity with the matching property DTOs, or a bad request if the parameters are invalid
+     */
+    @GetMapping("/withinBounds")
+    public ResponseEntity<List<PropertyDTO>> getPropertiesWithinBounds(@RequestParam double south,
+                                                                       @RequestParam double west,
+                                                                       @RequestParam double north,
+                                                                       @RequestParam double east,
+                                                                       @RequestParam(defaultValue = "50") int limit) {
+        try {
+            return ResponseEntity.ok(propertyService.getPropertiesWithinBounds(south, west, north, east, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Searches properties by location.
+     *
+     * @param query  the searched location text
+     * @param rented if present, only properties with this rental state are returned
+     * @param limit  the maximum number of properties to return
+     * @return a ResponseEntity with the matching property DTOs, or a bad request if the parameters are invalid
+     */
+    @GetMapping("/searchLocation")
+    public ResponseEntity<List<PropertyDTO>> searchPropertiesByLocation(@RequestParam String query,
+                                                                        @RequestParam(required = false) Boolean rented,
+                                                                        @RequestParam(defaultValue = "20") int limit) {
+        try {
+            return ResponseEntity.ok(propertyService.searchPropertiesByLocation(query, rented, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Suggests locations for a typed prefix.
+     *
+     * @param prefix the typed prefix
+     * @param limit  the maximum number of suggestions
+     * @return a ResponseEntity with the suggested locations, or a bad request if the parameters are invalid
+     */
+    @GetMapping("/autocompleteLocation")
+    public ResponseEntity<List<String>> autocompleteLocation(@RequestParam String prefix,
+                                                             @RequestParam(defaultValue = "10") int limit) {
+        try {
+            return ResponseEntity.ok(propertyService.autocompleteLocation(prefix, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Retrieves the facet counts and the price histogram of the available properties.
+     *
+     * @return a ResponseEntity with the current facet counts
+     */
+    @GetMapping("/facets")
+    public ResponseEntity<PropertyFacetsDTO> getPropertyFacets() {
+        return ResponseEntity.ok(propertyService.getPropertyFacets());
+    }
+
+    /**
+     * Subscribes to the changes of the properties as Server-Sent Events.
+     * Each "changes" event carries a JSON array of changes; a "resync" event asks the client to reload the list
+     * because it fell too far behind.
+     *
+     * @return a ResponseEntity with the event stream, or service unavailable if the feed is full
+     */
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> subscribeToChanges() {
+        try {
+            return ResponseEntity.ok(propertyChangeFeed.subscribe());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
     /**
      * Retrieves a property by its ID.
      *
@@ -107,6 +266,29 @@ public class PropertyController {
         return modelAndView;
     }
 
+    /**
+     * Imports properties in bulk from the request body.
+     * Only administrators may import properties.
+     *
+     * @param format  the format of the body, csv (default) or ndjson
+     * @param request the HTTP request whose body holds the properties
+     * @return the import report with the number of imported properties and the errors of the rejected rows
+     */
+    @PostMapping("/import")
+    public ResponseEntity<ImportReportDTO> importProperties(@RequestParam(defaultValue = "csv") String format,
+                                                            HttpServletRequest request) {
+        SessionUserDTO loggedInUser = currentUserResolver.getCurrentUser();
+        if (loggedInUser == null || loggedInUser.getUserRole() != UserType.ADMIN) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        try {
+            ExportFormat importFormat = ExportFormat.valueOf(format.toUpperCase(Locale.ROOT));
+            return ResponseEntity.ok(propertyImportService.importProperties(request.getInputStream(), importFormat));
+        } catch (IllegalArgumentException | IOException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     /**
      * Retrieves a property for updating by its ID.
      *
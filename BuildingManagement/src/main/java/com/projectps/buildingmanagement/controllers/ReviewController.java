@@ -3,7 +3,6 @@ package com.projectps.buildingmanagement.controllers;
 import com.projectps.buildingmanagement.dtos.ReviewDTO;
 import com.projectps.buildingmanagement.exceptions.ReviewNotFoundException;
 import com.projectps.buildingmanagement.services.ReviewService;
-import jakarta.servlet.http.HttpSession;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.ModelAndView;
@@ -21,20 +20,15 @@ public class ReviewController {
 
     private final ReviewService reviewService;
 
-    @Autowired
-    private HttpSession session;
-
     /**
-     * Constructs a new ReviewController with the specified ReviewService and HttpSession.
+     * Constructs a new ReviewController with the specified ReviewService.
      *
      * @param reviewService the review service to use
-     * @param session       the HTTP session
      */
     @Autowired
-    public ReviewController(ReviewService reviewService, HttpSession session) {
+    public ReviewController(ReviewService reviewService) {
 
         this.reviewService = reviewService;
-        this.session = session;
     }
 
     /**
@@ -1,19 +1,28 @@
 package com.projectps.buildingmanagement.controllers;
 
+import com.projectps.buildingmanagement.auth.CurrentUserResolver;
+import com.projectps.buildingmanagement.dtos.SessionUserDTO;
+import com.projectps.buildingmanagement.dtos.SolicitationApprovalDTO;
+import com.projectps.buildingmanagement.dtos.SolicitationApprovalReportDTO;
 import com.projectps.buildingmanagement.dtos.SolicitationDTO;
-import com.projectps.buildingmanagement.dtos.UserDTO;
+import com.projectps.buildingmanagement.dtos.WaitlistDTO;
+import com.projectps.buildingmanagement.entities.enums.UserType;
+import com.projectps.buildingmanagement.exceptions.PropertyNotFoundException;
 import com.projectps.buildingmanagement.exceptions.SolicitationNotFoundException;
+import com.projectps.buildingmanagement.exceptions.UserNotFoundException;
+import com.projectps.buildingmanagement.services.SolicitationApprovalService;
 import com.projectps.buildingmanagement.services.SolicitationService;
-import jakarta.servlet.http.HttpSession;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.ModelAndView;
 
-import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 /**
  * This controller class handles HTTP requests related to property solicitation management.
@@ -24,32 +33,46 @@ public class SolicitationController {
 
     private final SolicitationService solicitationService;
 
-    @Autowired
-    private HttpSession session;
+    private final SolicitationApprovalService solicitationApprovalService;
+
+    private final CurrentUserResolver currentUserResolver;
 
     /**
-     * Constructs a new SolicitationController with the specified SolicitationService and HttpSession.
+     * Constructs a new SolicitationController with the specified services and principal resolver.
      *
-     * @param solicitationService the solicitation service to use
-     * @param session             the HTTP session
+     * @param solicitationService         the solicitation service to use
+     * @param solicitationApprovalService the batch approval service to use
+     * @param currentUserResolver         the resolver of the logged-in user
      */
     @Autowired
-    public SolicitationController(SolicitationService solicitationService, HttpSession session) {
+    public SolicitationController(SolicitationService solicitationService,
+                                  SolicitationApprovalService solicitationApprovalService,
+                                  CurrentUserResolver currentUserResolver) {
 
         this.solicitationService = solicitationService;
-        this.session = session;
+        this.solicitationApprovalService = solicitationApprovalService;
+        this.currentUserResolver = currentUserResolver;
     }
 
     /**
-     * Retrieves all property solicitations for administrators.
+     * Retrieves all property solicitations for administrators, with the waitlist depth of each requested property
+     * and the solicitations that are served next.
      *
-     * @return a ModelAndView containing the view "requests_admin" and a list of solicitation DTOs
+     * @return a ModelAndView containing the view "requests_admin", a list of solicitation DTOs,
+     * the waitlist length by property ID and the IDs of the solicitations heading their waitlist
      */
     @GetMapping("/solicitationsAdmin")
     public ModelAndView getAllSolicitationsAdmin() {
         List<SolicitationDTO> dtos = solicitationService.getAllSolicitations();
+        Set<UUID> propertyIds = dtos.stream().map(SolicitationDTO::getProperty_id).collect(Collectors.toSet());
+        Set<UUID> heads = dtos.stream()
+                .map(SolicitationDTO::getId)
+                .filter(solicitationService::isWaitlistHead)
+                .collect(Collectors.toSet());
         ModelAndView modelAndView = new ModelAndView("requests_admin");
         modelAndView.addObject("request", dtos);
+        modelAndView.addObject("queueDepth", solicitationService.getWaitlistLengths(propertyIds));
+        modelAndView.addObject("queueHeads", heads);
         return modelAndView;
     }
 
@@ -68,6 +91,7 @@ public class SolicitationController {
 
     /**
      * Creates a new solicitation for a property by a customer.
+     * Repeated requests are idempotent and answered with a notice instead of a second solicitation.
      *
      * @param propertyId the ID of the property being solicited
      * @return a ResponseEntity with a success message or an error message
@@ -75,28 +99,83 @@ public class SolicitationController {
     @PostMapping("/requestProperty")
     public ResponseEntity<String> requestProperty(@RequestParam UUID propertyId) {
         try {
-            UserDTO loggedUser = (UserDTO) session.getAttribute("logged_user");
+            SessionUserDTO loggedUser = currentUserResolver.getCurrentUser();
             if (loggedUser == null || loggedUser.getId() == null) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("User not logged in");
             }
 
-            SolicitationDTO solicitationDTO = new SolicitationDTO();
-            solicitationDTO.setProperty_id(propertyId);
-            solicitationDTO.setUser_id(loggedUser.getId());
-            solicitationDTO.setDate(LocalDateTime.now());
-
-            solicitationService.createSolicitationCustomer(solicitationDTO);
-            return ResponseEntity.ok("Solicitation created successfully!");
-        } catch (IllegalStateException e) {
-            if (e.getMessage().contains("You have already requested this property")) {
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+            if (solicitationService.requestProperty(loggedUser.getId(), propertyId)) {
+                return ResponseEntity.ok("Solicitation created successfully!");
             }
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Failed to create solicitation");
+            return ResponseEntity.ok("You have already requested this property.");
+        } catch (PropertyNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Property not found");
+        } catch (UserNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not found");
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Failed to create solicitation");
         }
     }
 
+    /**
+     * Retrieves the waitlist of a property: its length and the solicitation served next.
+     * Only administrators may see the waitlists.
+     *
+     * @param propertyId the ID of the property
+     * @return a ResponseEntity with the waitlist DTO
+     */
+    @GetMapping("/waitlist/{propertyId}")
+    public ResponseEntity<WaitlistDTO> getWaitlist(@PathVariable UUID propertyId) {
+        if (!isAdmin()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(solicitationService.getWaitlist(propertyId));
+    }
+
+    /**
+     * Changes the priority of a solicitation in the waitlist of its property.
+     * Only administrators may change priorities.
+     *
+     * @param id       the ID of the solicitation
+     * @param priority the new priority; higher priorities are served first
+     * @return a ResponseEntity with the updated solicitation, or not found if it does not exist
+     */
+    @PostMapping("/{id}/priority")
+    public ResponseEntity<SolicitationDTO> updatePriority(@PathVariable UUID id, @RequestParam int priority) {
+        if (!isAdmin()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        try {
+            return ResponseEntity.ok(solicitationService.updatePriority(id, priority));
+        } catch (SolicitationNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Approves a batch of solicitations in one transaction, turning each into a contract with the given terms.
+     * Only administrators may approve solicitations.
+     *
+     * @param approvalDTO the IDs of the solicitations and the terms of the contracts
+     * @return a ResponseEntity with one result per solicitation, a bad request if the batch is invalid,
+     * or a conflict if the batch could not be committed
+     */
+    @PostMapping("/approve")
+    public ResponseEntity<SolicitationApprovalReportDTO> approveSolicitations(@RequestBody SolicitationApprovalDTO approvalDTO) {
+        if (!isAdmin()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        try {
+            return ResponseEntity.ok(solicitationApprovalService.approveSolicitations(approvalDTO));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (DataIntegrityViolationException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
     /**
      * Deletes a solicitation by ID for administrators.
      *
@@ -143,4 +222,8 @@ public class SolicitationController {
         }
     }
 
+    private boolean isAdmin() {
+        SessionUserDTO loggedInUser = currentUserResolver.getCurrentUser();
+        return loggedInUser != null && loggedInUser.getUserRole() == UserType.ADMIN;
+    }
 }
@@ -1,17 +1,25 @@
 package com.projectps.buildingmanagement.controllers;
 
+import com.projectps.buildingmanagement.dtos.ImportReportDTO;
+import com.projectps.buildingmanagement.dtos.SessionUserDTO;
 import com.projectps.buildingmanagement.dtos.UserDTO;
-import com.projectps.buildingmanagement.exceptions.EmailSendingException;
+import com.projectps.buildingmanagement.entities.enums.UserType;
 import com.projectps.buildingmanagement.exceptions.UserNotFoundException;
+import com.projectps.buildingmanagement.files.ExportFormat;
+import com.projectps.buildingmanagement.services.UserImportService;
 import com.projectps.buildingmanagement.services.UserService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.ModelAndView;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Locale;
 import java.util.UUID;
 
 /**
@@ -24,11 +32,8 @@ public class UserController {
     @Autowired
     private UserService userService;
 
-    @Value("${authorization.token1}")
-    private String authorizationToken1;
-
-    @Value("${authorization.token2}")
-    private String authorizationToken2;
+    @Autowired
+    private UserImportService userImportService;
 
     /**
      * Retrieves all users.
@@ -91,14 +96,10 @@ public class UserController {
     public ModelAndView createUser(@ModelAttribute UserDTO userDTO) {
         ModelAndView modelAndView = new ModelAndView("insertUser");
         try {
-            UserDTO createdUser = userService.createUser(userDTO);
-
-            userService.sendEmailToUser(createdUser, "Welcome to our platform", "Dear " + createdUser.getFirstName() + ",\n\nWelcome to our platform! We are excited to have you as a member.\n\nBest regards,\nThe Building Management Team", authorizationToken1, authorizationToken2);
+            UserDTO createdUser = userService.createUser(userDTO, "Welcome to our platform", "Dear " + userDTO.getFirstName() + ",\n\nWelcome to our platform! We are excited to have you as a member.\n\nBest regards,\nThe Building Management Team");
 
             modelAndView.addObject("created_user", createdUser);
             modelAndView.addObject("success_message", "User created successfully!");
-        } catch (EmailSendingException e) {
-            modelAndView.addObject("error", "Failed to send email");
         } catch (IllegalArgumentException e) {
             modelAndView.addObject("error", e.getMessage());
         } catch (Exception e) {
@@ -107,6 +108,29 @@ public class UserController {
         return modelAndView;
     }
 
+    /**
+     * Imports users in bulk from the request body.
+     * Only administrators may import users.
+     *
+     * @param format  the format of the body, csv (default) or ndjson
+     * @param request the HTTP request whose body holds the users
+     * @return the import report with the number of imported users and the errors of the rejected rows
+     */
+    @PostMapping("/import")
+    public ResponseEntity<ImportReportDTO> importUsers(@RequestParam(defaultValue = "csv") String format,
+                                                           HttpServletRequest request) {
+        SessionUserDTO loggedInUser = userService.getLoggedInUser();
+        if (loggedInUser == null || loggedInUser.getUserRole() != UserType.ADMIN) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        try {
+            ExportFormat importFormat = ExportFormat.valueOf(format.toUpperCase(Locale.ROOT));
+            return ResponseEntity.ok(userImportService.importUsers(request.getInputStream(), importFormat));
+        } catch (IllegalArgumentException | IOException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     /**
      * Displays the update user page.
      *
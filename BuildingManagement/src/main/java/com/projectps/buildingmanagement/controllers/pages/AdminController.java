@@ -1,6 +1,6 @@
 package com.projectps.buildingmanagement.controllers.pages;
 
-import com.projectps.buildingmanagement.dtos.UserDTO;
+import com.projectps.buildingmanagement.dtos.SessionUserDTO;
 import com.projectps.buildingmanagement.entities.enums.UserType;
 import com.projectps.buildingmanagement.services.UserService;
 import jakarta.servlet.http.HttpSession;
@@ -35,7 +35,7 @@ public class AdminController {
      * @param loggedInUser The logged-in user DTO.
      * @return A redirection to the home page if the user is not an admin, otherwise null.
      */
-    private String redirectToHomePageIfNotAdmin(UserDTO loggedInUser) {
+    private String redirectToHomePageIfNotAdmin(SessionUserDTO loggedInUser) {
         if (loggedInUser == null || loggedInUser.getUserRole() != UserType.ADMIN) {
             return "redirect:/customer";
         }
@@ -49,7 +49,7 @@ public class AdminController {
      */
     @GetMapping("/users")
     public String showUsersPage() {
-        UserDTO loggedInUser = userService.getLoggedInUser();
+        SessionUserDTO loggedInUser = userService.getLoggedInUser();
         String redirectPage = redirectToHomePageIfNotAdmin(loggedInUser);
         if (redirectPage != null) {
             return redirectPage;
@@ -64,7 +64,7 @@ public class AdminController {
      */
     @GetMapping("/properties")
     public String showPropertiesPage() {
-        UserDTO loggedInUser = userService.getLoggedInUser();
+        SessionUserDTO loggedInUser = userService.getLoggedInUser();
         String redirectPage = redirectToHomePageIfNotAdmin(loggedInUser);
         if (redirectPage != null) {
             return redirectPage;
@@ -79,7 +79,7 @@ public class AdminController {
      */
     @GetMapping("/contracts")
     public String showContractsPage() {
-        UserDTO loggedInUser = userService.getLoggedInUser();
+        SessionUserDTO loggedInUser = userService.getLoggedInUser();
         String redirectPage = redirectToHomePageIfNotAdmin(loggedInUser);
         if (redirectPage != null) {
             return redirectPage;
@@ -94,7 +94,7 @@ public class AdminController {
      */
     @GetMapping("/offers")
     public String showOffersPage() {
-        UserDTO loggedInUser = userService.getLoggedInUser();
+        SessionUserDTO loggedInUser = userService.getLoggedInUser();
         String redirectPage = redirectToHomePageIfNotAdmin(loggedInUser);
         if (redirectPage != null) {
             return redirectPage;
@@ -109,7 +109,7 @@ public class AdminController {
      */
     @GetMapping("/reviews")
     public String showReviewsPage() {
-        UserDTO loggedInUser = userService.getLoggedInUser();
+        SessionUserDTO loggedInUser = userService.getLoggedInUser();
         String redirectPage = redirectToHomePageIfNotAdmin(loggedInUser);
         if (redirectPage != null) {
             return redirectPage;
@@ -124,7 +124,7 @@ public class AdminController {
      */
     @GetMapping("/solicitations")
     public String showSolicitationsPage() {
-        UserDTO loggedInUser = userService.getLoggedInUser();
+        SessionUserDTO loggedInUser = userService.getLoggedInUser();
         String redirectPage = redirectToHomePageIfNotAdmin(loggedInUser);
         if (redirectPage != null) {
             return redirectPage;
@@ -139,7 +139,7 @@ public class AdminController {
      */
     @GetMapping("/users/usersList")
     public String showUsersList() {
-        UserDTO loggedInUser = userService.getLoggedInUser();
+        SessionUserDTO loggedInUser = userService.getLoggedInUser();
         String redirectPage = redirectToHomePageIfNotAdmin(loggedInUser);
         if (redirectPage != null) {
             return redirectPage;
@@ -154,7 +154,7 @@ public class AdminController {
      */
     @GetMapping("/properties/propertiesList")
     public String showPropertiesList() {
-        UserDTO loggedInUser = userService.getLoggedInUser();
+        SessionUserDTO loggedInUser = userService.getLoggedInUser();
         String redirectPage = redirectToHomePageIfNotAdmin(loggedInUser);
         if (redirectPage != null) {
             return redirectPage;
@@ -169,7 +169,7 @@ public class AdminController {
      */
     @GetMapping("/contracts/contractsList")
     public String showContractsList() {
-        UserDTO loggedInUser = userService.getLoggedInUser();
+        SessionUserDTO loggedInUser = userService.getLoggedInUser();
         String redirectPage = redirectToHomePageIfNotAdmin(loggedInUser);
         if (redirectPage != null) {
             return redirectPage;
@@ -184,7 +184,7 @@ public class AdminController {
      */
     @GetMapping("/offers/offersList")
     public String showOffersList() {
-        UserDTO loggedInUser = userService.getLoggedInUser();
+        SessionUserDTO loggedInUser = userService.getLoggedInUser();
         String redirectPage = redirectToHomePageIfNotAdmin(loggedInUser);
         if (redirectPage != null) {
             return redirectPage;
@@ -199,7 +199,7 @@ public class AdminController {
      */
     @GetMapping("/reviews/reviewsList")
     public String showReviewsList() {
-        UserDTO loggedInUser = userService.getLoggedInUser();
+        SessionUserDTO loggedInUser = userService.getLoggedInUser();
         String redirectPage = redirectToHomePageIfNotAdmin(loggedInUser);
         if (redirectPage != null) {
             return redirectPage;
@@ -214,7 +214,7 @@ public class AdminController {
      */
     @GetMapping("/users/searchUser")
     public String showSearchUserPage() {
-        UserDTO loggedInUser = userService.getLoggedInUser();
+        SessionUserDTO loggedInUser = userService.getLoggedInUser();
         String redirectPage = redirectToHomePageIfNotAdmin(loggedInUser);
         if (redirectPage != null) {
             return redirectPage;
@@ -229,7 +229,7 @@ public class AdminController {
      */
     @GetMapping("/properties/searchProperty")
     public String showSearchPropertyPage() {
-        UserDTO loggedInUser = userService.getLoggedInUser();
+        SessionUserDTO loggedInUser = userService.getLoggedInUser();
         String redirectPage = redirectToHomePageIfNotAdmin(loggedInUser);
         if (redirectPage != null) {
             return redirectPage;
@@ -244,7 +244,7 @@ public class AdminController {
      */
     @GetMapping("/contracts/searchContract")
     public String showSearchContractPage() {
-        UserDTO loggedInUser = userService.getLoggedInUser();
+        SessionUserDTO loggedInUser = userService.getLoggedInUser();
         String redirectPage = redirectToHomePageIfNotAdmin(loggedInUser);
         if (redirectPage != null) {
             return redirectPage;
@@ -259,7 +259,7 @@ public class AdminController {
      */
     @GetMapping("/offers/searchOffer")
     public String showSearchOfferPage() {
-        UserDTO loggedInUser = userService.getLoggedInUser();
+        SessionUserDTO loggedInUser = userService.getLoggedInUser();
         String redirectPage = redirectToHomePageIfNotAdmin(loggedInUser);
         if (redirectPage != null) {
             return redirectPage;
@@ -274,7 +274,7 @@ public class AdminController {
      */
     @GetMapping("/reviews/searchReview")
     public String showSearchReviewPage() {
-        UserDTO loggedInUser = userService.getLoggedInUser();
+        SessionUserDTO loggedInUser = userService.getLoggedInUser();
         String redirectPage = redirectToHomePageIfNotAdmin(loggedInUser);
         if (redirectPage != null) {
             return redirectPage;
@@ -289,7 +289,7 @@ public class AdminController {
      */
     @GetMapping("/users/insertUser")
     public String showInsertUserPage() {
-        UserDTO loggedInUser = userService.getLoggedInUser();
+        SessionUserDTO loggedInUser = userService.getLoggedInUser();
         String redirectPage = redirectToHomePageIfNotAdmin(loggedInUser);
         if (redirectPage != null) {
             return redirectPage;
@@ -304,7 +304,7 @@ public class AdminController {
      */
     @GetMapping("/properties/insertProperty")
     public String showInsertPropertyPage() {
-        UserDTO loggedInUser = userService.getLoggedInUser();
+        SessionUserDTO loggedInUser = userService.getLoggedInUser();
         String redirectPage = redirectToHomePageIfNotAdmin(loggedInUser);
         if (redirectPage != null) {
             return redirectPage;
@@ -319,7 +319,7 @@ public class AdminController {
      */
     @GetMapping("/contracts/insertContract")
     public String showInsertContractPage() {
-        UserDTO loggedInUser = userService.getLoggedInUser();
+        SessionUserDTO loggedInUser = userService.getLoggedInUser();
         String redirectPage = redirectToHomePageIfNotAdmin(loggedInUser);
         if (redirectPage != null) {
             return redirectPage;
@@ -334,7 +334,7 @@ public class AdminController {
      */
     @GetMapping("/offers/insertOffer")
     public String showInsertOfferPage() {
-        UserDTO loggedInUser = userService.getLoggedInUser();
+        SessionUserDTO loggedInUser = userService.getLoggedInUser();
         String redirectPage = redirectToHomePageIfNotAdmin(loggedInUser);
         if (redirectPage != null) {
             return redirectPage;
@@ -349,7 +349,7 @@ public class AdminController {
      */
     @GetMapping("/users/deleteUser")
     public String showDeleteUserPage() {
-        UserDTO loggedInUser = userService.getLoggedInUser();
+        SessionUserDTO loggedInUser = userService.getLoggedInUser();
         String redirectPage = redirectToHomePageIfNotAdmin(loggedInUser);
         if (redirectPage != null) {
             return redirectPage;
@@ -364,7 +364,7 @@ public class AdminController {
      */
     @GetMapping("/properties/deleteProperty")
     public String showDeletePropertyPage() {
-        UserDTO loggedInUser = userService.getLoggedInUser();
+        SessionUserDTO loggedInUser = userService.getLoggedInUser();
         String redirectPage = redirectToHomePageIfNotAdmin(loggedInUser);
         if (redirectPage != null) {
             return redirectPage;
@@ -379,7 +379,7 @@ public class AdminController {
      */
     @GetMapping("/contracts/deleteContract")
     public String showDeleteContractPage() {
-        UserDTO loggedInUser = userService.getLoggedInUser();
+        SessionUserDTO loggedInUser = userService.getLoggedInUser();
         String redirectPage = redirectToHomePageIfNotAdmin(loggedInUser);
         if (redirectPage != null) {
             return redirectPage;
@@ -394,7 +394,7 @@ public class AdminController {
      */
     @GetMapping("/offers/deleteOffer")
     public String showDeleteOfferPage() {
-        UserDTO loggedInUser = userService.getLoggedInUser();
+        SessionUserDTO loggedInUser = userService.getLoggedInUser();
         String redirectPage = redirectToHomePageIfNotAdmin(loggedInUser);
         if (redirectPage != null) {
             return redirectPage;
@@ -409,7 +409,7 @@ public class AdminController {
      */
     @GetMapping("/users/updateUser")
     public String showUpdateUserPage() {
-        UserDTO loggedInUser = userService.getLoggedInUser();
+        SessionUserDTO loggedInUser = userService.getLoggedInUser();
         String redirectPage = redirectToHomePageIfNotAdmin(loggedInUser);
         if (redirectPage != null) {
             return redirectPage;
@@ -424,7 +424,7 @@ public class AdminController {
      */
     @GetMapping("/properties/updateProperty")
     public String showUpdatePropertyPage() {
-        UserDTO loggedInUser = userService.getLoggedInUser();
+        SessionUserDTO loggedInUser = userService.getLoggedInUser();
         String redirectPage = redirectToHomePageIfNotAdmin(loggedInUser);
         if (redirectPage != null) {
             return redirectPage;
@@ -439,7 +439,7 @@ public class AdminController {
      */
     @GetMapping("/contracts/updateContract")
     public String showUpdateContractPage() {
-        UserDTO loggedInUser = userService.getLoggedInUser();
+        SessionUserDTO loggedInUser = userService.getLoggedInUser();
         String redirectPage = redirectToHomePageIfNotAdmin(loggedInUser);
         if (redirectPage != null) {
             return redirectPage;
@@ -454,7 +454,7 @@ public class AdminController {
      */
     @GetMapping("/offers/updateOffer")
     public String showUpdateOfferPage() {
-        UserDTO loggedInUser = userService.getLoggedInUser();
+        SessionUserDTO loggedInUser = userService.getLoggedInUser();
         String redirectPage = redirectToHomePageIfNotAdmin(loggedInUser);
         if (redirectPage != null) {
             return redirectPage;
@@ -1,6 +1,6 @@
 package com.projectps.buildingmanagement.controllers.pages;
 
-import com.projectps.buildingmanagement.dtos.UserDTO;
+import com.projectps.buildingmanagement.dtos.SessionUserDTO;
 import com.projectps.buildingmanagement.entities.enums.UserType;
 import com.projectps.buildingmanagement.services.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -34,7 +34,7 @@ public class CustomerController {
      * @param loggedInUser The logged-in user DTO.
      * @return A redirection to the home page if the user is not a customer, otherwise null.
      */
-    private String redirectToHomePageIfNotCustomer(UserDTO loggedInUser) {
+    private String redirectToHomePageIfNotCustomer(SessionUserDTO loggedInUser) {
         if (loggedInUser == null || loggedInUser.getUserRole() != UserType.CUSTOMER) {
             return "redirect:/admin";
         }
@@ -48,7 +48,7 @@ public class CustomerController {
      */
     @GetMapping("/properties")
     public String showPropertiesPage() {
-        UserDTO loggedInUser = userService.getLoggedInUser();
+        SessionUserDTO loggedInUser = userService.getLoggedInUser();
         String redirectPage = redirectToHomePageIfNotCustomer(loggedInUser);
         if (redirectPage != null) {
             return redirectPage;
@@ -63,7 +63,7 @@ public class CustomerController {
      */
     @GetMapping("/contracts")
     public String showContractsPage() {
-        UserDTO loggedInUser = userService.getLoggedInUser();
+        SessionUserDTO loggedInUser = userService.getLoggedInUser();
         String redirectPage = redirectToHomePageIfNotCustomer(loggedInUser);
         if (redirectPage != null) {
             return redirectPage;
@@ -78,7 +78,7 @@ public class CustomerController {
      */
     @GetMapping("/reviews")
     public String showReviewsPage() {
-        UserDTO loggedInUser = userService.getLoggedInUser();
+        SessionUserDTO loggedInUser = userService.getLoggedInUser();
         String redirectPage = redirectToHomePageIfNotCustomer(loggedInUser);
         if (redirectPage != null) {
             return redirectPage;
@@ -93,7 +93,7 @@ public class CustomerController {
      */
     @GetMapping("/solicitations")
     public String showSolicitationsPage() {
-        UserDTO loggedInUser = userService.getLoggedInUser();
+        SessionUserDTO loggedInUser = userService.getLoggedInUser();
         String redirectPage = redirectToHomePageIfNotCustomer(loggedInUser);
         if (redirectPage != null) {
             return redirectPage;
@@ -108,7 +108,7 @@ public class CustomerController {
      */
     @GetMapping("/properties/propertiesListCustomer")
     public String showPropertiesList() {
-        UserDTO loggedInUser = userService.getLoggedInUser();
+        SessionUserDTO loggedInUser = userService.getLoggedInUser();
         String redirectPage = redirectToHomePageIfNotCustomer(loggedInUser);
         if (redirectPage != null) {
             return redirectPage;
@@ -123,7 +123,7 @@ public class CustomerController {
      */
     @GetMapping("/contracts/contractsListCustomer")
     public String showContractsList() {
-        UserDTO loggedInUser = userService.getLoggedInUser();
+        SessionUserDTO loggedInUser = userService.getLoggedInUser();
         String redirectPage = redirectToHomePageIfNotCustomer(loggedInUser);
         if (redirectPage != null) {
             return redirectPage;
@@ -138,7 +138,7 @@ public class CustomerController {
      */
     @GetMapping("/contracts/searchContractCustomer")
     public String showSearchContractPage() {
-        UserDTO loggedInUser = userService.getLoggedInUser();
+        SessionUserDTO loggedInUser = userService.getLoggedInUser();
         String redirectPage = redirectToHomePageIfNotCustomer(loggedInUser);
         if (redirectPage != null) {
             return redirectPage;
@@ -153,7 +153,7 @@ public class CustomerController {
      */
     @GetMapping("/reviews/reviewsListCustomer")
     public String showReviewsList() {
-        UserDTO loggedInUser = userService.getLoggedInUser();
+        SessionUserDTO loggedInUser = userService.getLoggedInUser();
         String redirectPage = redirectToHomePageIfNotCustomer(loggedInUser);
         if (redirectPage != null) {
             return redirectPage;
@@ -168,7 +168,7 @@ public class CustomerController {
      */
     @GetMapping("/reviews/searchReviewCustomer")
     public String showSearchReviewPage() {
-        UserDTO loggedInUser = userService.getLoggedInUser();
+        SessionUserDTO loggedInUser = userService.getLoggedInUser();
         String redirectPage = redirectToHomePageIfNotCustomer(loggedInUser);
         if (redirectPage != null) {
             return redirectPage;
@@ -183,7 +183,7 @@ public class CustomerController {
      */
     @GetMapping("/reviews/insertReviewCustomer")
     public String showInsertReviewPage() {
-        UserDTO loggedInUser = userService.getLoggedInUser();
+        SessionUserDTO loggedInUser = userService.getLoggedInUser();
         String redirectPage = redirectToHomePageIfNotCustomer(loggedInUser);
         if (redirectPage != null) {
             return redirectPage;
@@ -198,7 +198,7 @@ public class CustomerController {
      */
     @GetMapping("/reviews/deleteReviewCustomer")
     public String showDeleteReviewPage() {
-        UserDTO loggedInUser = userService.getLoggedInUser();
+        SessionUserDTO loggedInUser = userService.getLoggedInUser();
         String redirectPage = redirectToHomePageIfNotCustomer(loggedInUser);
         if (redirectPage != null) {
             return redirectPage;
@@ -213,7 +213,7 @@ public class CustomerController {
      */
     @GetMapping("/reviews/updateReviewCustomer")
     public String showUpdateReviewPage() {
-        UserDTO loggedInUser = userService.getLoggedInUser();
+        SessionUserDTO loggedInUser = userService.getLoggedInUser();
         String redirectPage = redirectToHomePageIfNotCustomer(loggedInUser);
         if (redirectPage != null) {
             return redirectPage;
@@ -1,10 +1,10 @@
 package com.projectps.buildingmanagement.controllers.pages;
 
+import com.projectps.buildingmanagement.dtos.SessionUserDTO;
 import com.projectps.buildingmanagement.dtos.UserDTO;
 import com.projectps.buildingmanagement.entities.enums.UserType;
 import com.projectps.buildingmanagement.exceptions.UserNotFoundException;
 import com.projectps.buildingmanagement.services.UserService;
-import jakarta.servlet.http.HttpSession;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -22,9 +22,6 @@ public class HomeController {
     @Autowired
     private UserService userService;
 
-    @Autowired
-    private HttpSession session;
-
     /**
      * Displays the home page.
      *
@@ -43,7 +40,7 @@ public class HomeController {
      */
     @GetMapping("/admin")
     public String adminPage() {
-        UserDTO loggedInUser = userService.getLoggedInUser();
+        SessionUserDTO loggedInUser = userService.getLoggedInUser();
         if (loggedInUser != null && loggedInUser.getUserRole() == UserType.ADMIN) {
             return "admin";
         } else {
@@ -59,7 +56,7 @@ public class HomeController {
      */
     @GetMapping("/customer")
     public String customerPage() {
-        UserDTO loggedInUser = userService.getLoggedInUser();
+        SessionUserDTO loggedInUser = userService.getLoggedInUser();
         if (loggedInUser != null && loggedInUser.getUserRole() == UserType.CUSTOMER) {
             return "customer";
         } else {
@@ -78,8 +75,7 @@ public class HomeController {
     public ModelAndView login(@RequestParam String username, @RequestParam String password) {
         ModelAndView modelAndView = new ModelAndView("home");
         try {
-            UserDTO user = userService.login(username, password);
-            session.setAttribute("user_id", user);
+            SessionUserDTO user = userService.login(username, password);
             if (user.getUserRole() == UserType.ADMIN) {
                 modelAndView.setViewName("redirect:/admin");
             } else {
@@ -102,18 +98,18 @@ public class HomeController {
     @GetMapping("/logout")
     public ModelAndView logout() {
         userService.logout();
-        session.removeAttribute("user_id");
         return new ModelAndView("redirect:/");
     }
 
     /**
-     * Retrieves the logged-in user.
+     * Retrieves the logged-in user, loading their details on demand.
      *
      * @return The logged-in user.
+     * @throws UserNotFoundException if the logged-in user no longer exists.
      */
     @GetMapping("/loggedin")
-    public UserDTO getLoggedInUser() {
-        return userService.getLoggedInUser();
+    public UserDTO getLoggedInUser() throws UserNotFoundException {
+        return userService.getLoggedInUserDetails();
     }
 
     /**
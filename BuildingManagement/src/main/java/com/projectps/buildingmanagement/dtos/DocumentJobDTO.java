@@ -0,0 +1,24 @@
+package com.projectps.buildingmanagement.dtos;
+
+import com.projectps.buildingmanagement.entities.enums.DocumentJobStatus;
+import com.projectps.buildingmanagement.files.DocumentFormat;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class DocumentJobDTO {
+
+    private UUID id;
+    private UUID contractId;
+    private DocumentFormat format;
+    private DocumentJobStatus status;
+    private LocalDateTime submittedAt;
+    private LocalDateTime completedAt;
+    private Integer size;
+}
@@ -0,0 +1,14 @@
+package com.projectps.buildingmanagement.dtos;
+
+import lombok.*;
+
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class ImportErrorDTO {
+
+    private long row;
+    private String message;
+}
@@ -0,0 +1,20 @@
+package com.projectps.buildingmanagement.dtos;
+
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class ImportReportDTO {
+
+    private int total;
+    private int imported;
+    private int failed;
+    @Builder.Default
+    private List<ImportErrorDTO> errors = new ArrayList<>();
+}
@@ -0,0 +1,25 @@
+package com.projectps.buildingmanagement.dtos;
+
+import com.projectps.buildingmanagement.entities.enums.PropertyType;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class OfferCampaignDTO {
+
+    private UUID id;
+    private float offerProcent;
+    private PropertyType propertyType;
+    private String location;
+    private Float minPrice;
+    private Float maxPrice;
+    private int propertiesCount;
+    private LocalDateTime createdAt;
+    private LocalDateTime rolledBackAt;
+}
@@ -0,0 +1,15 @@
+package com.projectps.buildingmanagement.dtos;
+
+import lombok.*;
+
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class PriceBucketDTO {
+
+    private float from;
+    private Float to;
+    private long count;
+}
@@ -0,0 +1,19 @@
+package com.projectps.buildingmanagement.dtos;
+
+import com.projectps.buildingmanagement.entities.enums.PropertyChangeType;
+import lombok.*;
+
+import java.util.UUID;
+
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class PropertyChangeDTO {
+
+    private UUID propertyId;
+    private PropertyChangeType type;
+    private boolean rented;
+    private float priceAfterOffer;
+}
@@ -0,0 +1,34 @@
+package com.projectps.buildingmanagement.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque keyset position in the property search, made of the sort key and the id of the last returned row.
+ */
+@Getter
+@AllArgsConstructor
+public class PropertyCursor {
+
+    private final float price;
+    private final UUID id;
+
+    public String encode() {
+        String raw = price + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PropertyCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            return new PropertyCursor(Float.parseFloat(raw.substring(0, separator)), UUID.fromString(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid search cursor.");
+        }
+    }
+}
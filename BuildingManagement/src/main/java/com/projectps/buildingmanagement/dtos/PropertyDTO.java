@@ -27,5 +27,4 @@ public class PropertyDTO {
     private String imageUrl;
     private ContractDTO rentalContract;
     private OfferDTO priceOffer;
-    private SolicitationDTO propertySolicited;
 }
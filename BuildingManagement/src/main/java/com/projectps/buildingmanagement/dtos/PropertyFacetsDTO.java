@@ -0,0 +1,22 @@
+package com.projectps.buildingmanagement.dtos;
+
+import com.projectps.buildingmanagement.entities.enums.PropertyStatus;
+import com.projectps.buildingmanagement.entities.enums.PropertyType;
+import lombok.*;
+
+import java.util.List;
+import java.util.Map;
+
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class PropertyFacetsDTO {
+
+    private long total;
+    private Map<PropertyType, Long> propertyTypes;
+    private Map<PropertyStatus, Long> propertyStatuses;
+    private Map<Integer, Long> roomsNumbers;
+    private List<PriceBucketDTO> priceHistogram;
+}
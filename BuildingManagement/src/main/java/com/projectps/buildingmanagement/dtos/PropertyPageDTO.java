@@ -0,0 +1,17 @@
+package com.projectps.buildingmanagement.dtos;
+
+import lombok.*;
+
+import java.util.List;
+
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class PropertyPageDTO {
+
+    private List<PropertyDTO> properties;
+    private String nextCursor;
+    private boolean hasNext;
+}
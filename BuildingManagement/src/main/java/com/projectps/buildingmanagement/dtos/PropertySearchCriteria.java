@@ -0,0 +1,25 @@
+package com.projectps.buildingmanagement.dtos;
+
+import com.projectps.buildingmanagement.entities.enums.PropertyStatus;
+import com.projectps.buildingmanagement.entities.enums.PropertyType;
+import lombok.*;
+import org.springframework.data.domain.Sort;
+
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class PropertySearchCriteria {
+
+    private PropertyType propertyType;
+    private PropertyStatus propertyStatus;
+    private Integer minRooms;
+    private Integer maxRooms;
+    private Float minPrice;
+    private Float maxPrice;
+    private Boolean rented;
+    private Sort.Direction sort;
+    private String cursor;
+    private Integer size;
+}
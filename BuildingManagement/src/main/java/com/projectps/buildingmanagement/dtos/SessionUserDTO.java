@@ -0,0 +1,23 @@
+package com.projectps.buildingmanagement.dtos;
+
+import com.projectps.buildingmanagement.entities.enums.UserType;
+import lombok.Value;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * Immutable principal kept in the HTTP session for the logged-in user.
+ * Only identifies the user; profile data and history are loaded on demand.
+ */
+@Value
+public class SessionUserDTO implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    UUID id;
+    String username;
+    UserType userRole;
+}
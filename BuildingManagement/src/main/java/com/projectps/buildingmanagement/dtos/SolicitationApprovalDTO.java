@@ -0,0 +1,20 @@
+package com.projectps.buildingmanagement.dtos;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class SolicitationApprovalDTO {
+
+    private List<UUID> solicitationIds;
+    private LocalDateTime startDate;
+    private int duration;
+    private String details;
+}
@@ -0,0 +1,20 @@
+package com.projectps.buildingmanagement.dtos;
+
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class SolicitationApprovalReportDTO {
+
+    private int total;
+    private int approved;
+    private int rejected;
+    @Builder.Default
+    private List<SolicitationApprovalResultDTO> results = new ArrayList<>();
+}
@@ -0,0 +1,19 @@
+package com.projectps.buildingmanagement.dtos;
+
+import lombok.*;
+
+import java.util.UUID;
+
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class SolicitationApprovalResultDTO {
+
+    private UUID solicitationId;
+    private UUID propertyId;
+    private boolean approved;
+    private UUID contractId;
+    private String message;
+}
@@ -16,4 +16,5 @@ public class SolicitationDTO {
     private LocalDateTime date;
     private UUID user_id;
     private UUID property_id;
+    private int priority;
 }
@@ -0,0 +1,17 @@
+package com.projectps.buildingmanagement.dtos;
+
+import lombok.*;
+
+import java.util.UUID;
+
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class WaitlistDTO {
+
+    private UUID propertyId;
+    private int length;
+    private SolicitationDTO head;
+}
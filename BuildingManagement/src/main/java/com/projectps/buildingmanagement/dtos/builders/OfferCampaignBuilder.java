@@ -0,0 +1,32 @@
+package com.projectps.buildingmanagement.dtos.builders;
+
+import com.projectps.buildingmanagement.dtos.OfferCampaignDTO;
+import com.projectps.buildingmanagement.entities.OfferCampaign;
+
+public class OfferCampaignBuilder {
+
+    public static OfferCampaignDTO toOfferCampaignDTO(OfferCampaign campaign) {
+        return OfferCampaignDTO.builder()
+                .id(campaign.getId())
+                .offerProcent(campaign.getOfferProcent())
+                .propertyType(campaign.getPropertyType())
+                .location(campaign.getLocation())
+                .minPrice(campaign.getMinPrice())
+                .maxPrice(campaign.getMaxPrice())
+                .propertiesCount(campaign.getPropertiesCount())
+                .createdAt(campaign.getCreatedAt())
+                .rolledBackAt(campaign.getRolledBackAt())
+                .build();
+    }
+
+    public static OfferCampaign toEntity(OfferCampaignDTO campaignDTO) {
+        return OfferCampaign.builder()
+                .id(campaignDTO.getId())
+                .offerProcent(campaignDTO.getOfferProcent())
+                .propertyType(campaignDTO.getPropertyType())
+                .location(campaignDTO.getLocation())
+                .minPrice(campaignDTO.getMinPrice())
+                .maxPrice(campaignDTO.getMaxPrice())
+                .build();
+    }
+}
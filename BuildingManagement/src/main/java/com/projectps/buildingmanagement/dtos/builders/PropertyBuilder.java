@@ -26,9 +26,6 @@ public class PropertyBuilder {
         if(property.getPriceOffer() != null) {
             builder.priceOffer(OfferBuider.toOfferDTO(property.getPriceOffer()));
         }
-        if(property.getPropertySolicited() != null) {
-            builder.propertySolicited(SolicitationBuilder.toSolicitationDTO(property.getPropertySolicited()));
-        }
 
         return builder.build();
     }
@@ -13,6 +13,7 @@ public class SolicitationBuilder {
                 .date(solicitation.getDate())
                 .user_id(solicitation.getUser().getId())
                 .property_id(solicitation.getProperty().getId())
+                .priority(solicitation.getPriority())
                 .build();
     }
 
@@ -26,6 +27,7 @@ public class SolicitationBuilder {
                 .property(Property.builder()
                         .id(solicitationDTO.getProperty_id())
                         .build())
+                .priority(solicitationDTO.getPriority())
                 .build();
     }
 }
@@ -2,6 +2,7 @@ package com.projectps.buildingmanagement.dtos.builders;
 
 import com.projectps.buildingmanagement.dtos.ContractDTO;
 import com.projectps.buildingmanagement.dtos.ReviewDTO;
+import com.projectps.buildingmanagement.dtos.SessionUserDTO;
 import com.projectps.buildingmanagement.dtos.SolicitationDTO;
 import com.projectps.buildingmanagement.dtos.UserDTO;
 import com.projectps.buildingmanagement.entities.Contract;
@@ -24,6 +25,10 @@ public class UserBuilder {
         List<SolicitationDTO> solicitationDTOs = user.getSolicitations().stream()
                 .map(SolicitationBuilder::toSolicitationDTO)
                 .collect(Collectors.toList());
+        return toUserDTO(user, contractDTOs, reviewDTOS, solicitationDTOs);
+    }
+
+    public static UserDTO toUserDTO(User user, List<ContractDTO> contractDTOs, List<ReviewDTO> reviewDTOS, List<SolicitationDTO> solicitationDTOs) {
         return UserDTO.builder()
                 .id(user.getId())
                 .firstName(user.getFirstName())
@@ -39,6 +44,10 @@ public class UserBuilder {
                 .build();
     }
 
+    public static SessionUserDTO toSessionUserDTO(User user) {
+        return new SessionUserDTO(user.getId(), user.getUsername(), user.getUserRole());
+    }
+
     public static User toEntity(UserDTO userDTO) {
         List<Contract> contractsEntity = userDTO.getContracts().stream()
                 .map(ContractBuilder::toEntity)
@@ -11,7 +11,9 @@ import java.util.UUID;
 @AllArgsConstructor
 @Getter
 @Setter
-@Table(name = "offers")
+@Table(name = "offers", indexes = {
+        @Index(name = "idx_offers_campaign", columnList = "campaign_id")
+})
 public class Offer {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
@@ -23,4 +25,8 @@ public class Offer {
     @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "property_id")
     private Property property;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "campaign_id")
+    private OfferCampaign campaign;
 }
@@ -0,0 +1,45 @@
+package com.projectps.buildingmanagement.entities;
+
+import com.projectps.buildingmanagement.entities.enums.PropertyType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Table(name = "offer_campaigns")
+public class OfferCampaign {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "offer_procent", nullable = false)
+    private float offerProcent;
+
+    @Column(name = "property_type")
+    private PropertyType propertyType;
+
+    @Column(name = "location")
+    private String location;
+
+    @Column(name = "min_price")
+    private Float minPrice;
+
+    @Column(name = "max_price")
+    private Float maxPrice;
+
+    @Column(name = "properties_count", nullable = false)
+    private int propertiesCount;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "rolled_back_at")
+    private LocalDateTime rolledBackAt;
+}
@@ -4,6 +4,7 @@ import com.projectps.buildingmanagement.entities.enums.PropertyType;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.util.List;
 import java.util.UUID;
 
 @Entity
@@ -12,7 +13,9 @@ import java.util.UUID;
 @AllArgsConstructor
 @Getter
 @Setter
-@Table(name = "properties")
+@Table(name = "properties", indexes = {
+        @Index(name = "idx_properties_rented_price", columnList = "is_rented, price_after_offer, id")
+})
 public class Property {
 
     @Id
@@ -52,12 +55,15 @@ public class Property {
     @Column(name = "image_url")
     private String imageUrl;
 
-    @OneToOne(mappedBy = "property", cascade = CascadeType.ALL)
+    // Inverse one-to-ones cannot be proxied; bytecode enhancement makes them lazy.
+    // Both sit in the default lazy group, so reading either one loads the two together in a single select.
+    @OneToOne(mappedBy = "property", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private Contract rentalContract;
 
-    @OneToOne(mappedBy = "property", cascade = CascadeType.ALL)
+    @OneToOne(mappedBy = "property", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private Offer priceOffer;
 
-    @OneToOne(mappedBy = "property", cascade = CascadeType.ALL)
-    private Solicitation propertySolicited;
+    @OneToMany(mappedBy = "property", cascade = CascadeType.ALL)
+    @OrderBy("priority desc, date asc, id asc")
+    private List<Solicitation> solicitations;
 }
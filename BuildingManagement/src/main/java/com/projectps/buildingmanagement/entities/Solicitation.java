@@ -2,6 +2,7 @@ package com.projectps.buildingmanagement.entities;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -12,8 +13,16 @@ import java.util.UUID;
 @AllArgsConstructor
 @Getter
 @Setter
-@Table(name = "solicitations")
+@Table(name = "solicitations", uniqueConstraints = {
+        @UniqueConstraint(name = Solicitation.USER_PROPERTY_CONSTRAINT, columnNames = {"user_id", "property_id"})
+}, indexes = {
+        @Index(name = "idx_solicitations_waitlist", columnList = "property_id, priority desc, date, id")
+})
 public class Solicitation {
+    /**
+     * The unique constraint allowing one solicitation per user and property.
+     */
+    public static final String USER_PROPERTY_CONSTRAINT = "uk_solicitations_user_property";
 
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
@@ -22,11 +31,17 @@ public class Solicitation {
     @Column(name = "date", nullable = false)
     private LocalDateTime date;
 
+    // Higher priorities are served first; requests of equal priority are served in the order they were made.
+    // The default lets the schema update add the column to a table that already has rows.
+    @Column(name = "priority", nullable = false)
+    @ColumnDefault("0")
+    private int priority;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
 
-    @OneToOne(fetch = FetchType.LAZY)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "property_id")
     private Property property;
 }
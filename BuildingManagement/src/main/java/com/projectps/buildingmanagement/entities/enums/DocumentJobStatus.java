@@ -0,0 +1,8 @@
+package com.projectps.buildingmanagement.entities.enums;
+
+public enum DocumentJobStatus {
+    QUEUED,
+    RUNNING,
+    DONE,
+    FAILED
+}
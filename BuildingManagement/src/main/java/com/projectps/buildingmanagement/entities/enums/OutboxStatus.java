@@ -0,0 +1,7 @@
+package com.projectps.buildingmanagement.entities.enums;
+
+public enum OutboxStatus {
+    PENDING,
+    SENT,
+    DEAD
+}
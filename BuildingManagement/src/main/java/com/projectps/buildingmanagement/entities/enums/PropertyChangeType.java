@@ -0,0 +1,9 @@
+package com.projectps.buildingmanagement.entities.enums;
+
+public enum PropertyChangeType {
+    RENTED,
+    AVAILABLE,
+    PRICE_CHANGED,
+    UPDATED,
+    REMOVED
+}
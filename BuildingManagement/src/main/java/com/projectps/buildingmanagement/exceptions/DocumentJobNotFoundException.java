@@ -0,0 +1,7 @@
+package com.projectps.buildingmanagement.exceptions;
+
+public class DocumentJobNotFoundException extends RuntimeException {
+    public DocumentJobNotFoundException(String message) {
+        super(message);
+    }
+}
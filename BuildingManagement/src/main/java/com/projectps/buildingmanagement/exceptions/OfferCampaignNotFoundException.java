@@ -0,0 +1,7 @@
+package com.projectps.buildingmanagement.exceptions;
+
+public class OfferCampaignNotFoundException extends RuntimeException {
+    public OfferCampaignNotFoundException(String message) {
+        super(message);
+    }
+}
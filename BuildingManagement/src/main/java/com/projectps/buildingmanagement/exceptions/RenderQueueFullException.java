@@ -0,0 +1,7 @@
+package com.projectps.buildingmanagement.exceptions;
+
+public class RenderQueueFullException extends RuntimeException {
+    public RenderQueueFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,121 @@
+package com.projectps.buildingmanagement.files;
+
+import com.projectps.buildingmanagement.dtos.ContractDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A contract document template parsed once into literal and field segments.
+ * Placeholders have the form {@code {{field}}}; the available fields are id, startDate, duration, details,
+ * userId and propertyId. Line breaks in the source are normalised to the separator chosen at compile time.
+ * Rendering only appends the precomputed segments, so a template is never re-parsed per contract.
+ */
+public final class ContractTemplate {
+
+    private static final Map<String, Function<ContractDTO, Object>> FIELDS = Map.of(
+            "id", ContractDTO::getId,
+            "startDate", ContractDTO::getStartDate,
+            "duration", ContractDTO::getDuration,
+            "details", ContractDTO::getDetails,
+            "userId", ContractDTO::getUser_id,
+            "propertyId", ContractDTO::getProperty_id);
+
+    private final Segment[] segments;
+    private final int literalLength;
+
+    private ContractTemplate(Segment[] segments, int literalLength) {
+        this.segments = segments;
+        this.literalLength = literalLength;
+    }
+
+    /**
+     * Parses a template.
+     *
+     * @param source        the template text
+     * @param lineSeparator the line separator written for every line break in the source
+     * @param escaper       turns a field value into the text written for it
+     * @return the compiled template
+     * @throws IllegalArgumentException if a placeholder is unknown or not closed
+     */
+    public static ContractTemplate compile(String source, String lineSeparator, Function<Object, String> escaper) {
+        String text = source.replace("\r\n", "\n").replace("\n", lineSeparator);
+        List<Segment> segments = new ArrayList<>();
+        int literalLength = 0;
+        int position = 0;
+        while (position < text.length()) {
+            int start = text.indexOf("{{", position);
+            if (start < 0) {
+                start = text.length();
+            }
+            if (start > position) {
+                String literal = text.substring(position, start);
+                segments.add(new Literal(literal));
+                literalLength += literal.length();
+            }
+            if (start == text.length()) {
+                break;
+            }
+            int end = text.indexOf("}}", start);
+            if (end < 0) {
+                throw new IllegalArgumentException("Unclosed placeholder at offset " + start);
+            }
+            String name = text.substring(start + 2, end).trim();
+            Function<ContractDTO, Object> field = FIELDS.get(name);
+            if (field == null) {
+                throw new IllegalArgumentException("Unknown placeholder {{" + name + "}}");
+            }
+            segments.add(new Field(field, escaper));
+            position = end + 2;
+        }
+        return new ContractTemplate(segments.toArray(new Segment[0]), literalLength);
+    }
+
+    /**
+     * Parses a template into one compiled template per line.
+     *
+     * @param source  the template text
+     * @param escaper turns a field value into the text written for it
+     * @return the compiled lines, without line separators
+     * @throws IllegalArgumentException if a placeholder is unknown or not closed
+     */
+    public static List<ContractTemplate> compileLines(String source, Function<Object, String> escaper) {
+        return source.lines()
+                .map(line -> compile(line, "", escaper))
+                .toList();
+    }
+
+    /**
+     * Renders the template for a contract.
+     *
+     * @param contract the contract
+     * @return the rendered text
+     */
+    public String render(ContractDTO contract) {
+        StringBuilder builder = new StringBuilder(literalLength + 32 * segments.length);
+        for (Segment segment : segments) {
+            segment.appendTo(builder, contract);
+        }
+        return builder.toString();
+    }
+
+    private sealed interface Segment permits Literal, Field {
+        void appendTo(StringBuilder builder, ContractDTO contract);
+    }
+
+    private record Literal(String text) implements Segment {
+        @Override
+        public void appendTo(StringBuilder builder, ContractDTO contract) {
+            builder.append(text);
+        }
+    }
+
+    private record Field(Function<ContractDTO, Object> getter, Function<Object, String> escaper) implements Segment {
+        @Override
+        public void appendTo(StringBuilder builder, ContractDTO contract) {
+            builder.append(escaper.apply(getter.apply(contract)));
+        }
+    }
+}
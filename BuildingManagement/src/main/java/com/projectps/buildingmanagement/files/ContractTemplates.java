@@ -0,0 +1,86 @@
+package com.projectps.buildingmanagement.files;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Loads the source of contract document templates from a configurable location.
+ * The default location is on the classpath; pointing contract-templates.location at a directory
+ * ({@code file:/etc/building-management/templates/}) lets the layout change without a release.
+ * Every loaded source is remembered by name, so documents can be told apart by the layout they were rendered with.
+ */
+@Component
+public class ContractTemplates {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ContractTemplates.class);
+
+    private final ResourceLoader resourceLoader;
+    private final String location;
+    private final Map<String, String> sources = new ConcurrentSkipListMap<>();
+
+    @Autowired
+    public ContractTemplates(ResourceLoader resourceLoader,
+                             @Value("${contract-templates.location}") String location) {
+        this.resourceLoader = resourceLoader;
+        this.location = location.endsWith("/") ? location : location + "/";
+    }
+
+    /**
+     * Reads the source of a template.
+     *
+     * @param name the file name of the template
+     * @return the template text
+     * @throws IllegalStateException if the template cannot be read
+     */
+    public String load(String name) {
+        Resource resource = resourceLoader.getResource(location + name);
+        try (InputStream inputStream = resource.getInputStream()) {
+            String source = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+            sources.put(name, source);
+            return source;
+        } catch (IOException e) {
+            LOGGER.error("Contract template {} could not be read from {}", name, location);
+            throw new IllegalStateException("Contract template " + name + " could not be read", e);
+        }
+    }
+
+    /**
+     * Hashes the name and source of every template loaded so far.
+     * Generators load their templates when they are created, so once they exist the hash identifies
+     * the layouts documents are rendered with until the application restarts.
+     *
+     * @return hex SHA-256 of the loaded template sources
+     */
+    public String getSourceHash() {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (DataOutputStream data = new DataOutputStream(bytes)) {
+                for (Map.Entry<String, String> source : sources.entrySet()) {
+                    byte[] text = source.getValue().getBytes(StandardCharsets.UTF_8);
+                    data.writeUTF(source.getKey());
+                    data.writeInt(text.length);
+                    data.write(text);
+                }
+            }
+            return HexFormat.of().formatHex(digest.digest(bytes.toByteArray()));
+        } catch (NoSuchAlgorithmException | IOException e) {
+            throw new IllegalStateException("Could not hash the contract templates", e);
+        }
+    }
+}
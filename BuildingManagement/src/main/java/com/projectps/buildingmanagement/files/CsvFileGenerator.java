@@ -2,36 +2,26 @@ package com.projectps.buildingmanagement.files;
 
 
 import com.projectps.buildingmanagement.dtos.ContractDTO;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.OutputStreamWriter;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 
 @Component
 public class CsvFileGenerator implements FileGeneratorStrategy {
 
-    @Override
-    public byte[] generateFile(ContractDTO contract) {
-        try {
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            OutputStreamWriter writer = new OutputStreamWriter(outputStream);
-
-            writer.write("Contract ID,Start Date,Duration,Details,User ID,Property ID\n");
-            writer.write(contract.getId() + "," +
-                    contract.getStartDate() + "," +
-                    contract.getDuration() + "," +
-                    contract.getDetails() + "," +
-                    contract.getUser_id() + "," +
-                    contract.getProperty_id() + "\n");
+    private final ContractTemplate template;
 
-            writer.flush();
-            writer.close();
+    @Autowired
+    public CsvFileGenerator(ContractTemplates contractTemplates) {
+        this.template = ContractTemplate.compile(contractTemplates.load("contract.csv"), "\r\n", Csv::escape);
+    }
 
-            return outputStream.toByteArray();
-        } catch (IOException e) {
-            e.printStackTrace();
-            return null;
-        }
+    @Override
+    public void generateFile(ContractDTO contract, OutputStream outputStream) throws IOException {
+        outputStream.write(template.render(contract).getBytes(StandardCharsets.UTF_8));
+        outputStream.flush();
     }
 }
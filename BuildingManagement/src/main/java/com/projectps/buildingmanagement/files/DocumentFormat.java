@@ -0,0 +1,23 @@
+package com.projectps.buildingmanagement.files;
+
+public enum DocumentFormat {
+    PDF("application/pdf", "pdf"),
+    TXT("text/plain", "txt"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    DocumentFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
@@ -2,6 +2,13 @@ package com.projectps.buildingmanagement.files;
 
 import com.projectps.buildingmanagement.dtos.ContractDTO;
 
+import java.io.IOException;
+import java.io.OutputStream;
+
 public interface FileGeneratorStrategy {
-    byte[] generateFile(ContractDTO contract);
+    /**
+     * Writes the contract document to the given stream, which is flushed but left open.
+     * Channels can be adapted with {@link java.nio.channels.Channels#newOutputStream}.
+     */
+    void generateFile(ContractDTO contract, OutputStream outputStream) throws IOException;
 }
@@ -1,37 +1,43 @@
 package com.projectps.buildingmanagement.files;
 
 import com.itextpdf.text.Document;
+import com.itextpdf.text.DocumentException;
 import com.itextpdf.text.Paragraph;
 import com.itextpdf.text.pdf.PdfWriter;
 import com.projectps.buildingmanagement.dtos.ContractDTO;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
 
 @Component
 public class PdfFileGenerator implements FileGeneratorStrategy {
 
+    private final List<ContractTemplate> paragraphs;
+
+    @Autowired
+    public PdfFileGenerator(ContractTemplates contractTemplates) {
+        this.paragraphs = ContractTemplate.compileLines(contractTemplates.load("contract.pdf.txt"), String::valueOf);
+    }
+
     @Override
-    public byte[] generateFile(ContractDTO contract) {
+    public void generateFile(ContractDTO contract, OutputStream outputStream) throws IOException {
         try {
             Document document = new Document();
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            PdfWriter.getInstance(document, outputStream);
+            PdfWriter writer = PdfWriter.getInstance(document, outputStream);
+            writer.setCloseStream(false);
             document.open();
 
-            document.add(new Paragraph("Contract ID: " + contract.getId()));
-            document.add(new Paragraph("Start Date: " + contract.getStartDate()));
-            document.add(new Paragraph("Duration: " + contract.getDuration()));
-            document.add(new Paragraph("Details: " + contract.getDetails()));
-            document.add(new Paragraph("User ID: " + contract.getUser_id()));
-            document.add(new Paragraph("Property ID: " + contract.getProperty_id()));
+            for (ContractTemplate paragraph : paragraphs) {
+                document.add(new Paragraph(paragraph.render(contract)));
+            }
 
             document.close();
-
-            return outputStream.toByteArray();
-        } catch (Exception e) {
-            e.printStackTrace();
-            return null;
+            outputStream.flush();
+        } catch (DocumentException e) {
+            throw new IOException("Failed to generate PDF for contract " + contract.getId(), e);
         }
     }
 }
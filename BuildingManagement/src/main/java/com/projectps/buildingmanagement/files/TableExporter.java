@@ -0,0 +1,90 @@
+package com.projectps.buildingmanagement.files;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Writes a stream of rows as CSV or newline-delimited JSON, one row at a time,
+ * so memory use does not depend on the number of rows.
+ *
+ * @param <T> the row type
+ */
+public class TableExporter<T> {
+
+    private final Map<String, Function<T, Object>> columns = new LinkedHashMap<>();
+
+    /**
+     * Adds a column, written in the order columns are added.
+     *
+     * @param name      the CSV header and JSON field name
+     * @param extractor reads the column value from a row
+     * @return this exporter
+     */
+    public TableExporter<T> column(String name, Function<T, Object> extractor) {
+        columns.put(name, extractor);
+        return this;
+    }
+
+    /**
+     * Writes all rows to the output stream; the stream is flushed but not closed.
+     *
+     * @param rows         the rows to write, consumed once
+     * @param format       the output format
+     * @param outputStream the destination
+     * @param objectMapper the mapper used to serialise values as JSON
+     * @throws IOException if writing fails
+     */
+    public void write(Stream<T> rows, ExportFormat format, OutputStream outputStream, ObjectMapper objectMapper) throws IOException {
+        if (format == ExportFormat.CSV) {
+            writeCsv(rows, outputStream);
+        } else {
+            writeNdjson(rows, outputStream, objectMapper);
+        }
+    }
+
+    private void writeCsv(Stream<T> rows, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        Csv.writeRow(writer, new ArrayList<>(columns.keySet()));
+        List<Object> values = new ArrayList<>(columns.size());
+        for (Iterator<T> iterator = rows.iterator(); iterator.hasNext(); ) {
+            T row = iterator.next();
+            values.clear();
+            for (Function<T, Object> extractor : columns.values()) {
+                values.add(extractor.apply(row));
+            }
+            Csv.writeRow(writer, values);
+        }
+        writer.flush();
+    }
+
+    private void writeNdjson(Stream<T> rows, OutputStream outputStream, ObjectMapper objectMapper) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+        for (Iterator<T> iterator = rows.iterator(); iterator.hasNext(); ) {
+            T row = iterator.next();
+            generator.writeStartObject();
+            for (Map.Entry<String, Function<T, Object>> column : columns.entrySet()) {
+                generator.writeFieldName(column.getKey());
+                generator.writeObject(column.getValue().apply(row));
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+        generator.flush();
+    }
+}
@@ -0,0 +1,158 @@
+package com.projectps.buildingmanagement.files;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Reads rows from CSV or newline-delimited JSON one at a time, the counterpart of {@link TableExporter}.
+ * CSV columns are matched by header name and may appear in any order; NDJSON lines are bound with Jackson.
+ * A row that cannot be read is returned with an error instead of ending the input.
+ *
+ * @param <T> the row type
+ */
+public class TableImporter<T> {
+
+    private final Class<T> type;
+    private final Supplier<T> factory;
+    private final Map<String, Column<T>> columns = new LinkedHashMap<>();
+
+    /**
+     * @param type    the row type, used to bind NDJSON lines
+     * @param factory creates an empty row for a CSV line
+     */
+    public TableImporter(Class<T> type, Supplier<T> factory) {
+        this.type = type;
+        this.factory = factory;
+    }
+
+    /**
+     * Adds a CSV column. Blank values of optional columns are skipped, leaving the row's default.
+     *
+     * @param name     the CSV header
+     * @param required whether the header must contain the column
+     * @param setter   parses the text and stores it in the row; an IllegalArgumentException rejects the row
+     * @return this importer
+     */
+    public TableImporter<T> column(String name, boolean required, BiConsumer<T, String> setter) {
+        columns.put(name, new Column<>(required, setter));
+        return this;
+    }
+
+    /**
+     * Starts reading rows.
+     *
+     * @param reader       the buffered source, read to the end but not closed
+     * @param format       the input format
+     * @param objectMapper the mapper used to bind JSON lines
+     * @return the source of rows
+     * @throws IOException              if reading the CSV header fails
+     * @throws IllegalArgumentException if the CSV header lacks a required column
+     */
+    public RowReader<T> open(BufferedReader reader, ExportFormat format, ObjectMapper objectMapper) throws IOException {
+        return format == ExportFormat.CSV ? openCsv(reader) : openNdjson(reader, objectMapper);
+    }
+
+    private RowReader<T> openCsv(BufferedReader reader) throws IOException {
+        List<String> header = Csv.readRow(reader);
+        if (header == null) {
+            return () -> null;
+        }
+        Map<String, Integer> positions = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            positions.put(header.get(i).trim(), i);
+        }
+        List<Map.Entry<Integer, Map.Entry<String, Column<T>>>> bound = new ArrayList<>();
+        for (Map.Entry<String, Column<T>> column : columns.entrySet()) {
+            Integer position = positions.get(column.getKey());
+            if (position == null) {
+                if (column.getValue().required()) {
+                    throw new IllegalArgumentException("Missing column " + column.getKey());
+                }
+                continue;
+            }
+            bound.add(Map.entry(position, column));
+        }
+        long[] number = {0};
+        return () -> {
+            List<String> fields;
+            do {
+                fields = Csv.readRow(reader);
+            } while (fields != null && fields.size() == 1 && fields.get(0).isBlank());
+            if (fields == null) {
+                return null;
+            }
+            long rowNumber = ++number[0];
+            if (fields.size() != header.size()) {
+                return new Row<>(rowNumber, null, "Expected " + header.size() + " fields but found " + fields.size());
+            }
+            T value = factory.get();
+            for (Map.Entry<Integer, Map.Entry<String, Column<T>>> column : bound) {
+                String text = fields.get(column.getKey());
+                if (text.isBlank() && !column.getValue().getValue().required()) {
+                    continue;
+                }
+                try {
+                    column.getValue().getValue().setter().accept(value, text);
+                } catch (IllegalArgumentException e) {
+                    return new Row<>(rowNumber, null, "Invalid " + column.getValue().getKey() + ": " + text);
+                }
+            }
+            return new Row<>(rowNumber, value, null);
+        };
+    }
+
+    private RowReader<T> openNdjson(BufferedReader reader, ObjectMapper objectMapper) {
+        long[] number = {0};
+        return () -> {
+            String line;
+            do {
+                line = reader.readLine();
+            } while (line != null && line.isBlank());
+            if (line == null) {
+                return null;
+            }
+            long rowNumber = ++number[0];
+            try {
+                return new Row<>(rowNumber, objectMapper.readValue(line, type), null);
+            } catch (JsonProcessingException e) {
+                return new Row<>(rowNumber, null, "Malformed JSON: " + e.getOriginalMessage());
+            }
+        };
+    }
+
+    /**
+     * A source of rows.
+     *
+     * @param <T> the row type
+     */
+    public interface RowReader<T> {
+        /**
+         * @return the next row, or null at the end of the input
+         * @throws IOException if reading fails
+         */
+        Row<T> next() throws IOException;
+    }
+
+    /**
+     * One row of the input.
+     *
+     * @param number the 1-based position among the data rows
+     * @param value  the row, or null if it could not be read
+     * @param error  why the row could not be read, or null
+     */
+    public record Row<T>(long number, T value, String error) {
+    }
+
+    private record Column<T>(boolean required, BiConsumer<T, String> setter) {
+    }
+}
@@ -1,20 +1,26 @@
 package com.projectps.buildingmanagement.files;
 
 import com.projectps.buildingmanagement.dtos.ContractDTO;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
 @Component
 public class TxtFileGenerator implements FileGeneratorStrategy {
-    @Override
-    public byte[] generateFile(ContractDTO contract) {
 
-        StringBuilder content = new StringBuilder();
-        content.append("Contract ID: ").append(contract.getId()).append("\n");
-        content.append("Start Date: ").append(contract.getStartDate()).append("\n");
-        content.append("Duration: ").append(contract.getDuration()).append("\n");
-        content.append("Details: ").append(contract.getDetails()).append("\n");
-        content.append("User ID: ").append(contract.getUser_id()).append("\n");
-        content.append("Property ID: ").append(contract.getProperty_id()).append("\n");
-        return content.toString().getBytes();
+    private final ContractTemplate template;
+
+    @Autowired
+    public TxtFileGenerator(ContractTemplates contractTemplates) {
+        this.template = ContractTemplate.compile(contractTemplates.load("contract.txt"), "\n", String::valueOf);
+    }
+
+    @Override
+    public void generateFile(ContractDTO contract, OutputStream outputStream) throws IOException {
+        outputStream.write(template.render(contract).getBytes(StandardCharsets.UTF_8));
+        outputStream.flush();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,180 @@
+package com.projectps.buildingmanagement.index;
+
+import com.projectps.buildingmanagement.dtos.PriceBucketDTO;
+import com.projectps.buildingmanagement.dtos.PropertyFacetsDTO;
+import com.projectps.buildingmanagement.entities.Property;
+import com.projectps.buildingmanagement.entities.enums.PropertyStatus;
+import com.projectps.buildingmanagement.entities.enums.PropertyType;
+import com.projectps.buildingmanagement.repositories.PropertyFacetView;
+import com.projectps.buildingmanagement.repositories.PropertyRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Facet counters of the available (not rented) properties in the catalogue.
+ * Counters are adjusted by the difference between the old and new state of a property on every
+ * write, so reading the facets never depends on the size of the catalogue.
+ */
+@Component
+public class FacetIndex {
+    private static final Logger LOGGER = LoggerFactory.getLogger(FacetIndex.class);
+
+    private static final float[] PRICE_BUCKET_BOUNDS = {
+            0, 250, 500, 1000, 2500, 5000, 10000, 25000, 50000, 100000, 250000, 500000, 1000000
+    };
+
+    private final Map<UUID, FacetEntry> entries = new HashMap<>();
+    private final Map<PropertyType, Long> propertyTypes = new EnumMap<>(PropertyType.class);
+    private final Map<PropertyStatus, Long> propertyStatuses = new EnumMap<>(PropertyStatus.class);
+    private final Map<Integer, Long> roomsNumbers = new TreeMap<>();
+    private final long[] priceBuckets = new long[PRICE_BUCKET_BOUNDS.length];
+    private long total;
+
+    private final PropertyRepository propertyRepository;
+
+    @Autowired
+    public FacetIndex(PropertyRepository propertyRepository) {
+        this.propertyRepository = propertyRepository;
+    }
+
+    /**
+     * Counts every property once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        for (PropertyFacetView view : propertyRepository.findAllFacets()) {
+            put(view);
+        }
+        LOGGER.info("Facet index loaded with {} available properties", total);
+    }
+
+    /**
+     * Records the current state of a property.
+     *
+     * @param property the created or updated property
+     */
+    public void put(Property property) {
+        put(property.getId(), new FacetEntry(property.getPropertyType(), property.getPropertyStatus(),
+                property.getRoomsNumber(), property.getPriceAfterOffer(), property.isRented()));
+    }
+
+    /**
+     * Records the current state of a property changed by a bulk update.
+     *
+     * @param view the facet attributes of the property
+     */
+    public void put(PropertyFacetView view) {
+        put(view.getId(), new FacetEntry(view.getPropertyType(), view.getPropertyStatus(),
+                view.getRoomsNumber(), view.getPriceAfterOffer(), view.isRented()));
+    }
+
+    /**
+     * Removes a deleted property from the counters.
+     *
+     * @param id the ID of the property
+     */
+    public synchronized void remove(UUID id) {
+        FacetEntry previous = entries.remove(id);
+        if (previous != null) {
+            count(previous, -1);
+        }
+    }
+
+    /**
+     * Looks up the rental state of a property.
+     *
+     * @param id the ID of the property
+     * @return true if the property is rented, false if it is available, or null if the property is unknown
+     */
+    public synchronized Boolean isRented(UUID id) {
+        FacetEntry entry = entries.get(id);
+        return entry == null ? null : entry.rented;
+    }
+
+    /**
+     * Returns a copy of the current counters.
+     *
+     * @return the facet counts and the price histogram
+     */
+    public synchronized PropertyFacetsDTO snapshot() {
+        List<PriceBucketDTO> histogram = new ArrayList<>(priceBuckets.length);
+        for (int i = 0; i < priceBuckets.length; i++) {
+            histogram.add(PriceBucketDTO.builder()
+                    .from(PRICE_BUCKET_BOUNDS[i])
+                    .to(i + 1 < PRICE_BUCKET_BOUNDS.length ? PRICE_BUCKET_BOUNDS[i + 1] : null)
+                    .count(priceBuckets[i])
+                    .build());
+        }
+        return PropertyFacetsDTO.builder()
+                .total(total)
+                .propertyTypes(new EnumMap<>(propertyTypes))
+                .propertyStatuses(new EnumMap<>(propertyStatuses))
+                .roomsNumbers(new TreeMap<>(roomsNumbers))
+                .priceHistogram(histogram)
+                .build();
+    }
+
+    private synchronized void put(UUID id, FacetEntry entry) {
+        FacetEntry previous = entries.put(id, entry);
+        if (previous != null) {
+            count(previous, -1);
+        }
+        count(entry, 1);
+    }
+
+    private void count(FacetEntry entry, long delta) {
+        if (entry.rented) {
+            return;
+        }
+        total += delta;
+        if (entry.propertyType != null) {
+            adjust(propertyTypes, entry.propertyType, delta);
+        }
+        if (entry.propertyStatus != null) {
+            adjust(propertyStatuses, entry.propertyStatus, delta);
+        }
+        adjust(roomsNumbers, entry.roomsNumber, delta);
+        priceBuckets[priceBucket(entry.price)] += delta;
+    }
+
+    private static <K> void adjust(Map<K, Long> counters, K key, long delta) {
+        counters.merge(key, delta, (current, change) -> current + change == 0 ? null : current + change);
+    }
+
+    private static int priceBucket(float price) {
+        for (int i = PRICE_BUCKET_BOUNDS.length - 1; i > 0; i--) {
+            if (price >= PRICE_BUCKET_BOUNDS[i]) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    private static final class FacetEntry {
+        private final PropertyType propertyType;
+        private final PropertyStatus propertyStatus;
+        private final int roomsNumber;
+        private final float price;
+        private final boolean rented;
+
+        private FacetEntry(PropertyType propertyType, PropertyStatus propertyStatus, int roomsNumber, float price, boolean rented) {
+            this.propertyType = propertyType;
+            this.propertyStatus = propertyStatus;
+            this.roomsNumber = roomsNumber;
+            this.price = price;
+            this.rented = rented;
+        }
+    }
+}
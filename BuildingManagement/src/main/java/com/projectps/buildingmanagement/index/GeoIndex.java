@@ -0,0 +1,267 @@
+package com.projectps.buildingmanagement.index;
+
+import com.projectps.buildingmanagement.repositories.PropertyLocationView;
+import com.projectps.buildingmanagement.repositories.PropertyRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory spatial index of property coordinates.
+ * Points are bucketed in a fixed latitude/longitude grid, so radius and bounding-box
+ * queries only visit the cells overlapping the searched area instead of every property.
+ */
+@Component
+public class GeoIndex {
+    private static final Logger LOGGER = LoggerFactory.getLogger(GeoIndex.class);
+
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE = EARTH_RADIUS_KM * Math.PI / 180;
+    private static final double CELL_SIZE_DEGREES = 0.05;
+    private static final int ROWS = (int) Math.ceil(180 / CELL_SIZE_DEGREES);
+    private static final int COLUMNS = (int) Math.ceil(360 / CELL_SIZE_DEGREES);
+
+    private final Map<Integer, Map<UUID, GeoPoint>> cells = new ConcurrentHashMap<>();
+    private final Map<UUID, GeoPoint> points = new ConcurrentHashMap<>();
+
+    private final PropertyRepository propertyRepository;
+
+    @Autowired
+    public GeoIndex(PropertyRepository propertyRepository) {
+        this.propertyRepository = propertyRepository;
+    }
+
+    /**
+     * Loads the coordinates of every property once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<PropertyLocationView> locations = propertyRepository.findAllLocations();
+        for (PropertyLocationView location : locations) {
+            put(location.getId(), location.getLatitude(), location.getLongitude());
+        }
+        LOGGER.info("Geo index loaded with {} properties", points.size());
+    }
+
+    /**
+     * Adds a property to the index or moves it to its new coordinates.
+     *
+     * @param id        the ID of the property
+     * @param latitude  the latitude of the property
+     * @param longitude the longitude of the property
+     */
+    public void put(UUID id, double latitude, double longitude) {
+        GeoPoint point = new GeoPoint(id, latitude, longitude, cellOf(latitude, longitude));
+        GeoPoint previous = points.put(id, point);
+        if (previous != null && previous.cell != point.cell) {
+            removeFromCell(previous);
+        }
+        cells.compute(point.cell, (cell, members) -> {
+            Map<UUID, GeoPoint> updated = members == null ? new ConcurrentHashMap<>() : members;
+            updated.put(id, point);
+            return updated;
+        });
+    }
+
+    /**
+     * Removes a property from the index.
+     *
+     * @param id the ID of the property
+     */
+    public void remove(UUID id) {
+        GeoPoint previous = points.remove(id);
+        if (previous != null) {
+            removeFromCell(previous);
+        }
+    }
+
+    /**
+     * Finds the properties within the given distance of a point, nearest first.
+     *
+     * @param latitude  the latitude of the center
+     * @param longitude the longitude of the center
+     * @param radiusKm  the search radius in kilometers
+     * @param limit     the maximum number of results
+     * @return the IDs of the matching properties ordered by distance
+     */
+    public List<UUID> findWithinRadius(double latitude, double longitude, double radiusKm, int limit) {
+        double latitudeDelta = radiusKm / KM_PER_DEGREE;
+        double south = Math.max(-90, latitude - latitudeDelta);
+        double north = Math.min(90, latitude + latitudeDelta);
+        double widestLatitude = Math.max(Math.abs(south), Math.abs(north));
+        double west = -180;
+        double east = 180;
+        if (widestLatitude < 90) {
+            double longitudeDelta = latitudeDelta / Math.cos(Math.toRadians(widestLatitude));
+            if (longitudeDelta < 180) {
+                west = wrapLongitude(longitude - longitudeDelta);
+                east = wrapLongitude(longitude + longitudeDelta);
+            }
+        }
+
+        List<Neighbour> neighbours = new ArrayList<>();
+        for (GeoPoint point : collect(south, west, north, east)) {
+            double distance = distanceKm(latitude, longitude, point.latitude, point.longitude);
+            if (distance <= radiusKm) {
+                neighbours.add(new Neighbour(point.id, distance));
+            }
+        }
+        return neighbours.stream()
+                .sorted(Comparator.comparingDouble(neighbour -> neighbour.distanceKm))
+                .limit(limit)
+                .map(neighbour -> neighbour.id)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Finds the properties inside a bounding box. A west edge greater than the east edge
+     * denotes a box crossing the antimeridian.
+     *
+     * @param south the southern latitude
+     * @param west  the western longitude
+     * @param north the northern latitude
+     * @param east  the eastern longitude
+     * @param limit the maximum number of results
+     * @return the IDs of the matching properties
+     */
+    public List<UUID> findWithinBounds(double south, double west, double north, double east, int limit) {
+        return collect(south, west, north, east).stream()
+                .limit(limit)
+                .map(point -> point.id)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the number of indexed properties.
+     *
+     * @return the index size
+     */
+    public int size() {
+        return points.size();
+    }
+
+    private List<GeoPoint> collect(double south, double west, double north, double east) {
+        boolean wraps = west > east;
+        int minRow = row(south);
+        int maxRow = row(north);
+        int minColumn = column(west);
+        int maxColumn = column(east);
+        long columnCount = wraps ? (COLUMNS - minColumn) + maxColumn + 1 : maxColumn - minColumn + 1;
+        long cellCount = (long) (maxRow - minRow + 1) * columnCount;
+
+        List<GeoPoint> result = new ArrayList<>();
+        if (cellCount > cells.size()) {
+            // The area spans more cells than are occupied, so scanning the occupied ones is cheaper.
+            for (Map.Entry<Integer, Map<UUID, GeoPoint>> entry : cells.entrySet()) {
+                int row = entry.getKey() / COLUMNS;
+                int column = entry.getKey() % COLUMNS;
+                boolean columnInRange = wraps
+                        ? column >= minColumn || column <= maxColumn
+                        : column >= minColumn && column <= maxColumn;
+                if (row >= minRow && row <= maxRow && columnInRange) {
+                    addInside(entry.getValue(), south, west, north, east, result);
+                }
+            }
+            return result;
+        }
+
+        for (int row = minRow; row <= maxRow; row++) {
+            for (long offset = 0; offset < columnCount; offset++) {
+                int column = (int) ((minColumn + offset) % COLUMNS);
+                Map<UUID, GeoPoint> cell = cells.get(row * COLUMNS + column);
+                if (cell != null) {
+                    addInside(cell, south, west, north, east, result);
+                }
+            }
+        }
+        return result;
+    }
+
+    private void addInside(Map<UUID, GeoPoint> cell, double south, double west, double north, double east, List<GeoPoint> result) {
+        boolean wraps = west > east;
+        for (GeoPoint point : cell.values()) {
+            boolean longitudeInside = wraps
+                    ? point.longitude >= west || point.longitude <= east
+                    : point.longitude >= west && point.longitude <= east;
+            if (point.latitude >= south && point.latitude <= north && longitudeInside) {
+                result.add(point);
+            }
+        }
+    }
+
+    private void removeFromCell(GeoPoint point) {
+        cells.computeIfPresent(point.cell, (cell, members) -> {
+            members.remove(point.id);
+            return members.isEmpty() ? null : members;
+        });
+    }
+
+    private static int cellOf(double latitude, double longitude) {
+        return row(latitude) * COLUMNS + column(longitude);
+    }
+
+    private static int row(double latitude) {
+        return Math.min(ROWS - 1, (int) ((latitude + 90) / CELL_SIZE_DEGREES));
+    }
+
+    private static int column(double longitude) {
+        return Math.min(COLUMNS - 1, (int) ((longitude + 180) / CELL_SIZE_DEGREES));
+    }
+
+    private static double wrapLongitude(double longitude) {
+        if (longitude < -180) {
+            return longitude + 360;
+        }
+        if (longitude > 180) {
+            return longitude - 360;
+        }
+        return longitude;
+    }
+
+    /**
+     * Computes the great-circle distance between two points with the haversine formula.
+     */
+    static double distanceKm(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double latitudeDelta = Math.toRadians(latitude2 - latitude1);
+        double longitudeDelta = Math.toRadians(longitude2 - longitude1);
+        double a = Math.sin(latitudeDelta / 2) * Math.sin(latitudeDelta / 2)
+                + Math.cos(Math.toRadians(latitude1)) * Math.cos(Math.toRadians(latitude2))
+                * Math.sin(longitudeDelta / 2) * Math.sin(longitudeDelta / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private static final class GeoPoint {
+        private final UUID id;
+        private final double latitude;
+        private final double longitude;
+        private final int cell;
+
+        private GeoPoint(UUID id, double latitude, double longitude, int cell) {
+            this.id = id;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.cell = cell;
+        }
+    }
+
+    private static final class Neighbour {
+        private final UUID id;
+        private final double distanceKm;
+
+        private Neighbour(UUID id, double distanceKm) {
+            this.id = id;
+            this.distanceKm = distanceKm;
+        }
+    }
+}
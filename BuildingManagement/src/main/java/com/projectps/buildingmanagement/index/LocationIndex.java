@@ -0,0 +1,270 @@
+package com.projectps.buildingmanagement.index;
+
+import com.projectps.buildingmanagement.repositories.PropertyLocationView;
+import com.projectps.buildingmanagement.repositories.PropertyRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory trigram index over property locations.
+ * Locations are folded to lower case ASCII (so "Brașov" and "Brasov" match) and split into word
+ * trigrams, which gives substring and typo-tolerant search. A sorted map of word suffixes
+ * serves prefix autocomplete. Every property write updates the index in place.
+ */
+@Component
+public class LocationIndex {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LocationIndex.class);
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^a-z0-9]+");
+    private static final double MIN_SCORE = 0.4;
+    private static final char KEY_SEPARATOR = '\u0000';
+
+    private final Map<String, Set<UUID>> postings = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<String, UUID> prefixes = new ConcurrentSkipListMap<>();
+    private final Map<UUID, IndexedLocation> locations = new ConcurrentHashMap<>();
+
+    private final PropertyRepository propertyRepository;
+
+    @Autowired
+    public LocationIndex(PropertyRepository propertyRepository) {
+        this.propertyRepository = propertyRepository;
+    }
+
+    /**
+     * Indexes the location of every property once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        for (PropertyLocationView location : propertyRepository.findAllLocations()) {
+            put(location.getId(), location.getLocation());
+        }
+        LOGGER.info("Location index loaded with {} properties", locations.size());
+    }
+
+    /**
+     * Indexes the location of a property, replacing its previous location if any.
+     *
+     * @param id       the ID of the property
+     * @param location the location of the property
+     */
+    public synchronized void put(UUID id, String location) {
+        remove(id);
+        if (location == null) {
+            return;
+        }
+        String normalized = normalize(location);
+        Set<String> trigrams = trigrams(normalized);
+        IndexedLocation indexed = new IndexedLocation(location, normalized, trigrams);
+        locations.put(id, indexed);
+        for (String trigram : trigrams) {
+            postings.computeIfAbsent(trigram, key -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+        for (String key : prefixKeys(id, normalized)) {
+            prefixes.put(key, id);
+        }
+    }
+
+    /**
+     * Removes a property from the index.
+     *
+     * @param id the ID of the property
+     */
+    public synchronized void remove(UUID id) {
+        IndexedLocation previous = locations.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (String trigram : previous.trigrams) {
+            postings.computeIfPresent(trigram, (key, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+        for (String key : prefixKeys(id, previous.normalized)) {
+            prefixes.remove(key);
+        }
+    }
+
+    /**
+     * Finds the best matching properties for a location query.
+     * Locations containing the query rank first, then locations sharing the most trigrams
+     * with it, which tolerates typos. Shorter locations win ties.
+     *
+     * @param query the searched text
+     * @param limit the maximum number of results
+     * @return the IDs of the matching properties, best first
+     */
+    public List<UUID> search(String query, int limit) {
+        return search(query, limit, id -> true);
+    }
+
+    /**
+     * Finds the best matching properties for a location query among the properties accepted by a filter.
+     * The filter is applied while ranking, so up to {@code limit} accepted matches are returned
+     * even when better matches are filtered out.
+     *
+     * @param query  the searched text
+     * @param limit  the maximum number of results
+     * @param filter accepts the IDs of the properties that may be returned
+     * @return the IDs of the matching properties, best first
+     */
+    public List<UUID> search(String query, int limit, Predicate<UUID> filter) {
+        String normalizedQuery = normalize(query);
+        Set<String> queryTrigrams = trigrams(normalizedQuery);
+        if (queryTrigrams.isEmpty()) {
+            return List.of();
+        }
+
+        Map<UUID, Integer> sharedTrigrams = new HashMap<>();
+        for (String trigram : queryTrigrams) {
+            Set<UUID> ids = postings.get(trigram);
+            if (ids != null) {
+                for (UUID id : ids) {
+                    sharedTrigrams.merge(id, 1, Integer::sum);
+                }
+            }
+        }
+
+        Comparator<Match> ranking = Comparator.comparingDouble((Match match) -> match.score)
+                .thenComparing(match -> -match.length);
+        PriorityQueue<Match> best = new PriorityQueue<>(ranking);
+        for (Map.Entry<UUID, Integer> entry : sharedTrigrams.entrySet()) {
+            IndexedLocation location = locations.get(entry.getKey());
+            if (location == null) {
+                continue;
+            }
+            double score = (double) entry.getValue() / queryTrigrams.size();
+            if (location.normalized.contains(normalizedQuery)) {
+                score += 1;
+            }
+            if (score < MIN_SCORE || !filter.test(entry.getKey())) {
+                continue;
+            }
+            best.add(new Match(entry.getKey(), score, location.normalized.length()));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+
+        List<UUID> result = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            result.add(0, best.poll().id);
+        }
+        return result;
+    }
+
+    /**
+     * Suggests locations containing a word that starts with the given prefix.
+     *
+     * @param prefix the typed prefix
+     * @param limit  the maximum number of suggestions
+     * @return the matching locations as stored, in alphabetical order of the matched word
+     */
+    public List<String> autocomplete(String prefix, int limit) {
+        String normalizedPrefix = normalize(prefix);
+        if (normalizedPrefix.isEmpty()) {
+            return List.of();
+        }
+        Set<UUID> ids = new LinkedHashSet<>();
+        for (UUID id : prefixes.subMap(normalizedPrefix, true, normalizedPrefix + Character.MAX_VALUE, true).values()) {
+            ids.add(id);
+            if (ids.size() >= limit) {
+                break;
+            }
+        }
+        List<String> suggestions = new ArrayList<>(ids.size());
+        for (UUID id : ids) {
+            IndexedLocation location = locations.get(id);
+            if (location != null) {
+                suggestions.add(location.original);
+            }
+        }
+        return suggestions;
+    }
+
+    /**
+     * Folds a text to lower case ASCII words separated by single spaces.
+     * Both the comma-below (ș, ț) and the legacy cedilla (ş, ţ) Romanian letters decompose
+     * into a base letter and a combining mark, so both spellings fold the same way.
+     *
+     * @param text the text to normalize
+     * @return the normalized text
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        String folded = DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+        return WORD_SEPARATOR.matcher(folded).replaceAll(" ").trim();
+    }
+
+    private static Set<String> trigrams(String normalized) {
+        Set<String> trigrams = new LinkedHashSet<>();
+        if (normalized.isEmpty()) {
+            return trigrams;
+        }
+        for (String word : normalized.split(" ")) {
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                trigrams.add(padded.substring(i, i + 3));
+            }
+        }
+        return trigrams;
+    }
+
+    private static List<String> prefixKeys(UUID id, String normalized) {
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < normalized.length(); i++) {
+            if (i == 0 || normalized.charAt(i - 1) == ' ') {
+                keys.add(normalized.substring(i) + KEY_SEPARATOR + id);
+            }
+        }
+        return keys;
+    }
+
+    private static final class IndexedLocation {
+        private final String original;
+        private final String normalized;
+        private final Set<String> trigrams;
+
+        private IndexedLocation(String original, String normalized, Set<String> trigrams) {
+            this.original = original;
+            this.normalized = normalized;
+            this.trigrams = trigrams;
+        }
+    }
+
+    private static final class Match {
+        private final UUID id;
+        private final double score;
+        private final int length;
+
+        private Match(UUID id, double score, int length) {
+            this.id = id;
+            this.score = score;
+            this.length = length;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.projectps.buildingmanagement.index;
+
+import com.projectps.buildingmanagement.dtos.SolicitationDTO;
+import com.projectps.buildingmanagement.repositories.SolicitationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Waitlist of every property, built from its solicitations.
+ * Each property keeps its requests in a sorted set ordered by priority (highest first), then by request date,
+ * so the head of a queue is found in O(log n) and its length in O(1) without reading the solicitations table.
+ * Every solicitation write updates the index in place.
+ */
+@Component
+public class WaitlistIndex {
+    private static final Logger LOGGER = LoggerFactory.getLogger(WaitlistIndex.class);
+
+    /**
+     * The order in which the solicitations of a property are served.
+     */
+    public static final Comparator<SolicitationDTO> QUEUE_ORDER =
+            Comparator.comparingInt((SolicitationDTO solicitation) -> -solicitation.getPriority())
+                    .thenComparing(SolicitationDTO::getDate)
+                    .thenComparing(SolicitationDTO::getId);
+
+    private final Map<UUID, TreeSet<SolicitationDTO>> queues = new HashMap<>();
+    private final Map<UUID, SolicitationDTO> solicitations = new HashMap<>();
+
+    private final SolicitationRepository solicitationRepository;
+
+    @Autowired
+    public WaitlistIndex(SolicitationRepository solicitationRepository) {
+        this.solicitationRepository = solicitationRepository;
+    }
+
+    /**
+     * Queues every solicitation once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        for (SolicitationDTO solicitation : solicitationRepository.findAllSolicitationDTOs()) {
+            put(solicitation);
+        }
+        LOGGER.info("Waitlist index loaded with {} solicitations on {} properties", solicitations.size(), queues.size());
+    }
+
+    /**
+     * Queues a solicitation, moving it if its priority changed.
+     *
+     * @param solicitation the created or updated solicitation
+     */
+    public synchronized void put(SolicitationDTO solicitation) {
+        remove(solicitation.getId());
+        SolicitationDTO entry = copy(solicitation);
+        solicitations.put(entry.getId(), entry);
+        queues.computeIfAbsent(entry.getProperty_id(), id -> new TreeSet<>(QUEUE_ORDER)).add(entry);
+    }
+
+    /**
+     * Removes a solicitation from the waitlist of its property.
+     *
+     * @param solicitationId the ID of the solicitation
+     */
+    public synchronized void remove(UUID solicitationId) {
+        SolicitationDTO previous = solicitations.remove(solicitationId);
+        if (previous == null) {
+            return;
+        }
+        TreeSet<SolicitationDTO> queue = queues.get(previous.getProperty_id());
+        queue.remove(previous);
+        if (queue.isEmpty()) {
+            queues.remove(previous.getProperty_id());
+        }
+    }
+
+    /**
+     * Drops the whole waitlist of a property.
+     *
+     * @param propertyId the ID of the property
+     */
+    public synchronized void removeProperty(UUID propertyId) {
+        TreeSet<SolicitationDTO> queue = queues.remove(propertyId);
+        if (queue != null) {
+            for (SolicitationDTO solicitation : queue) {
+                solicitations.remove(solicitation.getId());
+            }
+        }
+    }
+
+    /**
+     * Finds the solicitation that is served next for a property.
+     *
+     * @param propertyId the ID of the property
+     * @return a copy of the first solicitation in the waitlist, or null if nobody requested the property
+     */
+    public synchronized SolicitationDTO head(UUID propertyId) {
+        TreeSet<SolicitationDTO> queue = queues.get(propertyId);
+        return queue == null ? null : copy(queue.first());
+    }
+
+    /**
+     * Counts the solicitations waiting for a property.
+     *
+     * @param propertyId the ID of the property
+     * @return the length of the waitlist
+     */
+    public synchronized int length(UUID propertyId) {
+        TreeSet<SolicitationDTO> queue = queues.get(propertyId);
+        return queue == null ? 0 : queue.size();
+    }
+
+    /**
+     * Counts the solicitations waiting for each of the given properties.
+     *
+     * @param propertyIds the IDs of the properties
+     * @return the length of the waitlist of each property; properties nobody requested are left out
+     */
+    public synchronized Map<UUID, Integer> lengths(Collection<UUID> propertyIds) {
+        Map<UUID, Integer> lengths = new HashMap<>();
+        for (UUID propertyId : propertyIds) {
+            TreeSet<SolicitationDTO> queue = queues.get(propertyId);
+            if (queue != null) {
+                lengths.put(propertyId, queue.size());
+            }
+        }
+        return lengths;
+    }
+
+    /**
+     * Tells whether a solicitation is the next one served for its property.
+     *
+     * @param solicitationId the ID of the solicitation
+     * @return true if the solicitation heads the waitlist of its property
+     */
+    public synchronized boolean isHead(UUID solicitationId) {
+        SolicitationDTO solicitation = solicitations.get(solicitationId);
+        return solicitation != null && queues.get(solicitation.getProperty_id()).first() == solicitation;
+    }
+
+    private static SolicitationDTO copy(SolicitationDTO solicitation) {
+        return SolicitationDTO.builder()
+                .id(solicitation.getId())
+                .date(solicitation.getDate())
+                .user_id(solicitation.getUser_id())
+                .property_id(solicitation.getProperty_id())
+                .priority(solicitation.getPriority())
+                .build();
+    }
+}
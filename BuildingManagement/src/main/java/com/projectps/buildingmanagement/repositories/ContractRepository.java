@@ -1,15 +1,45 @@
 package com.projectps.buildingmanagement.repositories;
 
+import com.projectps.buildingmanagement.dtos.ContractDTO;
 import com.projectps.buildingmanagement.entities.Contract;
+import com.projectps.buildingmanagement.entities.enums.PropertyType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface ContractRepository extends JpaRepository<Contract, UUID> {
     List<Contract> findByUserId(UUID userId);
     Optional<Contract> findByIdAndUserId(UUID id, UUID userId);
+
+    @Query("select new com.projectps.buildingmanagement.dtos.ContractDTO(c.id, c.startDate, c.duration, c.details, c.user.id, c.property.id) from Contract c")
+    List<ContractDTO> findAllContractDTOs();
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.projectps.buildingmanagement.dtos.ContractDTO(c.id, c.startDate, c.duration, c.details, c.user.id, c.property.id) from Contract c")
+    Stream<ContractDTO> streamAllContractDTOs();
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.projectps.buildingmanagement.dtos.ContractDTO(c.id, c.startDate, c.duration, c.details, c.user.id, p.id) " +
+            "from Contract c left join c.property p " +
+            "where (:userId is null or c.user.id = :userId) " +
+            "and (:from is null or c.startDate >= :from) " +
+            "and (:to is null or c.startDate < :to) " +
+            "and (:propertyType is null or p.propertyType = :propertyType) " +
+            "order by c.startDate, c.id")
+    Stream<ContractDTO> streamContractDTOsMatching(@Param("userId") UUID userId,
+                                                   @Param("from") LocalDateTime from,
+                                                   @Param("to") LocalDateTime to,
+                                                   @Param("propertyType") PropertyType propertyType);
 }
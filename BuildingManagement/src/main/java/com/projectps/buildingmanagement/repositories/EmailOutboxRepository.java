@@ -0,0 +1,36 @@
+package com.projectps.buildingmanagement.repositories;
+
+import com.projectps.buildingmanagement.entities.EmailOutbox;
+import com.projectps.buildingmanagement.entities.enums.OutboxStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, UUID> {
+
+    /**
+     * Locks the oldest pending messages that are due, skipping rows already locked by another node.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select e from EmailOutbox e where e.status = :status and e.nextAttemptAt <= :now order by e.nextAttemptAt")
+    List<EmailOutbox> findDueForUpdate(OutboxStatus status, LocalDateTime now, Pageable pageable);
+
+    @Modifying
+    @Query("update EmailOutbox e set e.status = :status, e.sentAt = :sentAt where e.id in :ids")
+    int markSent(Collection<UUID> ids, OutboxStatus status, LocalDateTime sentAt);
+
+    @Modifying
+    @Query("update EmailOutbox e set e.nextAttemptAt = :nextAttemptAt where e.id in :ids")
+    int reschedule(Collection<UUID> ids, LocalDateTime nextAttemptAt);
+
+    long countByStatus(OutboxStatus status);
+}
@@ -0,0 +1,14 @@
+package com.projectps.buildingmanagement.repositories;
+
+import com.projectps.buildingmanagement.entities.OfferCampaign;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface OfferCampaignRepository extends JpaRepository<OfferCampaign, UUID> {
+
+    List<OfferCampaign> findAllByOrderByCreatedAtDesc();
+}
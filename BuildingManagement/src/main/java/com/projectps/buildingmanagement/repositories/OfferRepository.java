@@ -1,12 +1,23 @@
 package com.projectps.buildingmanagement.repositories;
 
+import com.projectps.buildingmanagement.dtos.OfferDTO;
 import com.projectps.buildingmanagement.entities.Offer;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface OfferRepository extends JpaRepository<Offer, UUID>  {
 
+    @Query("select new com.projectps.buildingmanagement.dtos.OfferDTO(o.id, o.offerProcent, o.property.id) from Offer o")
+    List<OfferDTO> findAllOfferDTOs();
+
+    @Modifying
+    @Query("delete from Offer o where o.campaign.id = :campaignId")
+    int deleteCampaignOffers(@Param("campaignId") UUID campaignId);
 }
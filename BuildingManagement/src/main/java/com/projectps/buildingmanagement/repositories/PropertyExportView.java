@@ -0,0 +1,24 @@
+package com.projectps.buildingmanagement.repositories;
+
+import com.projectps.buildingmanagement.entities.enums.PropertyStatus;
+import com.projectps.buildingmanagement.entities.enums.PropertyType;
+
+import java.util.UUID;
+
+/**
+ * Flat projection of the property columns written by the bulk export.
+ */
+public interface PropertyExportView {
+    UUID getId();
+    String getLocation();
+    double getLatitude();
+    double getLongitude();
+    int getRoomsNumber();
+    float getInitialPrice();
+    float getPriceAfterOffer();
+    boolean isRented();
+    boolean isOfferApplied();
+    PropertyType getPropertyType();
+    PropertyStatus getPropertyStatus();
+    String getImageUrl();
+}
@@ -0,0 +1,18 @@
+package com.projectps.buildingmanagement.repositories;
+
+import com.projectps.buildingmanagement.entities.enums.PropertyStatus;
+import com.projectps.buildingmanagement.entities.enums.PropertyType;
+
+import java.util.UUID;
+
+/**
+ * Lightweight projection of the property attributes counted by the catalogue facets.
+ */
+public interface PropertyFacetView {
+    UUID getId();
+    PropertyType getPropertyType();
+    PropertyStatus getPropertyStatus();
+    int getRoomsNumber();
+    float getPriceAfterOffer();
+    boolean isRented();
+}
@@ -0,0 +1,13 @@
+package com.projectps.buildingmanagement.repositories;
+
+import java.util.UUID;
+
+/**
+ * Lightweight projection of a property used to build the in-memory indexes.
+ */
+public interface PropertyLocationView {
+    UUID getId();
+    String getLocation();
+    double getLatitude();
+    double getLongitude();
+}
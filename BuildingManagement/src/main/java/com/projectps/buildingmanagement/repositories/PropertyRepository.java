@@ -1,11 +1,107 @@
 package com.projectps.buildingmanagement.repositories;
 
 import com.projectps.buildingmanagement.entities.Property;
+import com.projectps.buildingmanagement.entities.enums.PropertyType;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
-public interface PropertyRepository extends JpaRepository<Property, UUID> {
+public interface PropertyRepository extends JpaRepository<Property, UUID>, JpaSpecificationExecutor<Property> {
+    /**
+     * Associations read by PropertyBuilder, fetched together with the property to avoid one select per row.
+     */
+    String[] DTO_GRAPH = {"rentalContract", "priceOffer"};
+
+    @Override
+    @EntityGraph(attributePaths = {"rentalContract", "priceOffer"})
+    List<Property> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = {"rentalContract", "priceOffer"})
+    List<Property> findAllById(Iterable<UUID> ids);
+
+    @EntityGraph(attributePaths = {"rentalContract", "priceOffer"})
+    Optional<Property> findWithRelationsById(UUID id);
+
+    @Query("select p.id as id, p.location as location, p.latitude as latitude, p.longitude as longitude from Property p")
+    List<PropertyLocationView> findAllLocations();
+
+    @Query("select p.id as id, p.propertyType as propertyType, p.propertyStatus as propertyStatus, " +
+            "p.roomsNumber as roomsNumber, p.priceAfterOffer as priceAfterOffer, p.isRented as rented from Property p")
+    List<PropertyFacetView> findAllFacets();
+
+    @Query("select p.id as id, p.propertyType as propertyType, p.propertyStatus as propertyStatus, " +
+            "p.roomsNumber as roomsNumber, p.priceAfterOffer as priceAfterOffer, p.isRented as rented from Property p " +
+            "where p.id = :id")
+    Optional<PropertyFacetView> findFacetById(@Param("id") UUID id);
+
+    /**
+     * Marks a property as rented if it is still available.
+     *
+     * @return 1 if the property was claimed, 0 if it is rented or does not exist
+     */
+    @Modifying
+    @Query("update Property p set p.isRented = true where p.id = :id and p.isRented = false")
+    int claimProperty(@Param("id") UUID id);
+
+    /**
+     * Locks the given properties that are still available, in ID order so that concurrent callers
+     * cannot deadlock on each other.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from Property p where p.id in :ids and p.isRented = false order by p.id")
+    List<Property> findAvailableForUpdate(@Param("ids") Collection<UUID> ids);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("select p.id as id, p.location as location, p.latitude as latitude, p.longitude as longitude, " +
+            "p.roomsNumber as roomsNumber, p.initialPrice as initialPrice, p.priceAfterOffer as priceAfterOffer, " +
+            "p.isRented as rented, p.isOfferApplied as offerApplied, p.propertyType as propertyType, " +
+            "p.propertyStatus as propertyStatus, p.imageUrl as imageUrl from Property p")
+    Stream<PropertyExportView> streamAllForExport();
+
+    @Query("select p.id from Property p where p.isOfferApplied = false " +
+            "and not exists (select 1 from Offer o where o.property = p) " +
+            "and (:propertyType is null or p.propertyType = :propertyType) " +
+            "and (:location is null or lower(p.location) like :location) " +
+            "and (:minPrice is null or p.initialPrice >= :minPrice) " +
+            "and (:maxPrice is null or p.initialPrice <= :maxPrice)")
+    List<UUID> findCampaignCandidateIds(@Param("propertyType") PropertyType propertyType,
+                                        @Param("location") String location,
+                                        @Param("minPrice") Float minPrice,
+                                        @Param("maxPrice") Float maxPrice);
+
+    @Modifying
+    @Query("update Property p set p.priceAfterOffer = p.initialPrice - p.initialPrice * (:offerProcent / 100.0), " +
+            "p.isOfferApplied = true where p.id in (select o.property.id from Offer o where o.campaign.id = :campaignId)")
+    int applyCampaignPrices(@Param("campaignId") UUID campaignId, @Param("offerProcent") float offerProcent);
+
+    @Modifying
+    @Query("update Property p set p.priceAfterOffer = p.initialPrice, p.isOfferApplied = false " +
+            "where p.id in (select o.property.id from Offer o where o.campaign.id = :campaignId)")
+    int revertCampaignPrices(@Param("campaignId") UUID campaignId);
+
+    @Query("select p.id as id, p.propertyType as propertyType, p.propertyStatus as propertyStatus, " +
+            "p.roomsNumber as roomsNumber, p.priceAfterOffer as priceAfterOffer, p.isRented as rented " +
+            "from Offer o join o.property p where o.campaign.id = :campaignId")
+    List<PropertyFacetView> findCampaignFacets(@Param("campaignId") UUID campaignId);
+
+    @Query("select p.location from Property p where p.location in :locations")
+    List<String> findExistingLocations(@Param("locations") Collection<String> locations);
 }
@@ -0,0 +1,79 @@
+package com.projectps.buildingmanagement.repositories;
+
+import com.projectps.buildingmanagement.dtos.PropertyCursor;
+import com.projectps.buildingmanagement.dtos.PropertySearchCriteria;
+import com.projectps.buildingmanagement.entities.Property;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Query building blocks for searching the property catalogue.
+ */
+public class PropertySpecifications {
+
+    private PropertySpecifications() {
+    }
+
+    /**
+     * Builds a specification matching every filter set on the given criteria.
+     * Filters left null are ignored.
+     *
+     * @param criteria the search criteria
+     * @return the combined specification
+     */
+    public static Specification<Property> matching(PropertySearchCriteria criteria) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (criteria.getPropertyType() != null) {
+                predicates.add(cb.equal(root.get("propertyType"), criteria.getPropertyType()));
+            }
+            if (criteria.getPropertyStatus() != null) {
+                predicates.add(cb.equal(root.get("propertyStatus"), criteria.getPropertyStatus()));
+            }
+            if (criteria.getMinRooms() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("roomsNumber"), criteria.getMinRooms()));
+            }
+            if (criteria.getMaxRooms() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("roomsNumber"), criteria.getMaxRooms()));
+            }
+            if (criteria.getMinPrice() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("priceAfterOffer"), criteria.getMinPrice()));
+            }
+            if (criteria.getMaxPrice() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("priceAfterOffer"), criteria.getMaxPrice()));
+            }
+            if (criteria.getRented() != null) {
+                predicates.add(cb.equal(root.get("isRented"), criteria.getRented()));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Builds the keyset predicate selecting the rows that come after the cursor
+     * in (priceAfterOffer, id) order, so the database can seek on the index
+     * instead of skipping an offset.
+     *
+     * @param cursor    the position of the last row of the previous page
+     * @param direction the sort direction of the search
+     * @return the seek specification
+     */
+    public static Specification<Property> after(PropertyCursor cursor, Sort.Direction direction) {
+        return (root, query, cb) -> {
+            if (direction == Sort.Direction.DESC) {
+                return cb.or(
+                        cb.lessThan(root.get("priceAfterOffer"), cursor.getPrice()),
+                        cb.and(cb.equal(root.get("priceAfterOffer"), cursor.getPrice()),
+                                cb.lessThan(root.get("id"), cursor.getId())));
+            }
+            return cb.or(
+                    cb.greaterThan(root.get("priceAfterOffer"), cursor.getPrice()),
+                    cb.and(cb.equal(root.get("priceAfterOffer"), cursor.getPrice()),
+                            cb.greaterThan(root.get("id"), cursor.getId())));
+        };
+    }
+}
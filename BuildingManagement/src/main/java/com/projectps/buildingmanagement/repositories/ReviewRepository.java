@@ -1,15 +1,29 @@
 package com.projectps.buildingmanagement.repositories;
 
+import com.projectps.buildingmanagement.dtos.ReviewDTO;
 import com.projectps.buildingmanagement.entities.Review;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface ReviewRepository extends JpaRepository<Review, UUID>  {
     List<Review> findByUserId(UUID userId);
     Optional<Review> findByIdAndUserId(UUID id, UUID userId);
+
+    @Query("select new com.projectps.buildingmanagement.dtos.ReviewDTO(r.id, r.message, r.date, r.user.id) from Review r")
+    List<ReviewDTO> findAllReviewDTOs();
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.projectps.buildingmanagement.dtos.ReviewDTO(r.id, r.message, r.date, r.user.id) from Review r")
+    Stream<ReviewDTO> streamAllReviewDTOs();
 }
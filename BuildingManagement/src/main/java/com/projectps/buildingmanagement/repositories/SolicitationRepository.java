@@ -1,8 +1,15 @@
 package com.projectps.buildingmanagement.repositories;
 
+import com.projectps.buildingmanagement.dtos.SolicitationDTO;
 import com.projectps.buildingmanagement.entities.Solicitation;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -12,5 +19,25 @@ public interface SolicitationRepository extends JpaRepository<Solicitation, UUID
     List<Solicitation> findByUserId(UUID userId);
     Optional<Solicitation> findByIdAndUserId(UUID id, UUID userId);
 
-    List<Solicitation> findByUserIdAndPropertyId(UUID userId, UUID propertyId);
+    /**
+     * Inserts a solicitation in one statement, unless the user already requested the property
+     * or the property is rented or missing.
+     *
+     * @return 1 if the solicitation was inserted, 0 otherwise
+     */
+    @Transactional
+    @Modifying
+    @Query("insert into Solicitation (id, date, priority, user, property) " +
+            "select :id, :date, 0, u, p from User u, Property p " +
+            "where u.id = :userId and p.id = :propertyId and p.isRented = false " +
+            "and not exists (select 1 from Solicitation s where s.user.id = :userId and s.property.id = :propertyId)")
+    int insertIfAbsent(@Param("id") UUID id, @Param("date") LocalDateTime date,
+                       @Param("userId") UUID userId, @Param("propertyId") UUID propertyId);
+
+    @Query("select new com.projectps.buildingmanagement.dtos.SolicitationDTO(s.id, s.date, s.user.id, s.property.id, s.priority) from Solicitation s")
+    List<SolicitationDTO> findAllSolicitationDTOs();
+
+    @Query("select new com.projectps.buildingmanagement.dtos.SolicitationDTO(s.id, s.date, s.user.id, s.property.id, s.priority) " +
+            "from Solicitation s where s.id in :ids")
+    List<SolicitationDTO> findSolicitationDTOsByIdIn(@Param("ids") Collection<UUID> ids);
 }
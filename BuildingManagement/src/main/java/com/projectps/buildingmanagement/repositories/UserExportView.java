@@ -0,0 +1,18 @@
+package com.projectps.buildingmanagement.repositories;
+
+import com.projectps.buildingmanagement.entities.enums.UserType;
+
+import java.util.UUID;
+
+/**
+ * Projection of the user columns written by the bulk export; passwords are deliberately left out.
+ */
+public interface UserExportView {
+    UUID getId();
+    String getFirstName();
+    String getLastName();
+    String getUsername();
+    String getEmail();
+    String getPhoneNumber();
+    UserType getUserRole();
+}
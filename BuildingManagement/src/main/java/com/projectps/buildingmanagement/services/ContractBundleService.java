@@ -0,0 +1,138 @@
+package com.projectps.buildingmanagement.services;
+
+import com.projectps.buildingmanagement.cache.CachedDocument;
+import com.projectps.buildingmanagement.cache.DocumentCache;
+import com.projectps.buildingmanagement.dtos.ContractDTO;
+import com.projectps.buildingmanagement.entities.enums.PropertyType;
+import com.projectps.buildingmanagement.files.DocumentFormat;
+import com.projectps.buildingmanagement.repositories.ContractRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * This service class streams many contract documents as one ZIP archive.
+ * Matching contracts are read through a forward-only cursor and rendered in parallel on a fork-join pool.
+ * At most a fixed window of documents is in flight; each is written to the archive as soon as it is done,
+ * so memory use does not depend on the number of contracts in the bundle.
+ */
+@Service
+public class ContractBundleService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ContractBundleService.class);
+
+    private final ContractRepository contractRepository;
+    private final DocumentCache documentCache;
+    private final ForkJoinPool pool;
+    private final int window;
+
+    @Autowired
+    public ContractBundleService(ContractRepository contractRepository,
+                                 DocumentCache documentCache,
+                                 @Value("${document-bundle.parallelism}") int parallelism) {
+        this.contractRepository = contractRepository;
+        this.documentCache = documentCache;
+        this.pool = new ForkJoinPool(parallelism);
+        this.window = 2 * parallelism;
+    }
+
+    /**
+     * Writes the documents of every contract matching the filter to a ZIP archive.
+     * Null filter values match everything.
+     *
+     * @param userId       only contracts of this user
+     * @param from         only contracts starting at or after this time
+     * @param to           only contracts starting before this time
+     * @param propertyType only contracts for properties of this type
+     * @param format       the format of the documents
+     * @param outputStream the destination, finished but not closed
+     * @return the number of documents written
+     * @throws IOException if a document cannot be generated or writing fails
+     */
+    @Transactional(readOnly = true)
+    public int writeBundle(UUID userId, LocalDateTime from, LocalDateTime to, PropertyType propertyType,
+                           DocumentFormat format, OutputStream outputStream) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(outputStream);
+        CompletionService<BundleEntry> completionService = new ExecutorCompletionService<>(pool);
+        List<Future<BundleEntry>> inFlight = new ArrayList<>();
+        int written = 0;
+        try (Stream<ContractDTO> contracts = contractRepository.streamContractDTOsMatching(userId, from, to, propertyType)) {
+            Iterator<ContractDTO> iterator = contracts.iterator();
+            while (iterator.hasNext()) {
+                ContractDTO contract = iterator.next();
+                inFlight.add(completionService.submit(() -> render(contract, format)));
+                if (inFlight.size() >= window) {
+                    writeEntry(zip, takeCompleted(completionService, inFlight));
+                    written++;
+                }
+            }
+            while (!inFlight.isEmpty()) {
+                writeEntry(zip, takeCompleted(completionService, inFlight));
+                written++;
+            }
+        } finally {
+            inFlight.forEach(future -> future.cancel(true));
+        }
+        zip.finish();
+        zip.flush();
+        LOGGER.info("Contract bundle with {} documents was written", written);
+        return written;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private BundleEntry render(ContractDTO contract, DocumentFormat format) {
+        try {
+            CachedDocument document = documentCache.getOrRender(contract, format);
+            return new BundleEntry("contract_" + contract.getId() + "." + format.getExtension(), document.content());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static BundleEntry takeCompleted(CompletionService<BundleEntry> completionService,
+                                             List<Future<BundleEntry>> inFlight) throws IOException {
+        try {
+            Future<BundleEntry> future = completionService.take();
+            inFlight.remove(future);
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while rendering the contract bundle", e);
+        } catch (ExecutionException e) {
+            LOGGER.error("Contract bundle could not be rendered: {}", e.getCause().getMessage());
+            if (e.getCause() instanceof UncheckedIOException unchecked) {
+                throw unchecked.getCause();
+            }
+            throw new IOException("Could not render the contract bundle", e.getCause());
+        }
+    }
+
+    private static void writeEntry(ZipOutputStream zip, BundleEntry entry) throws IOException {
+        zip.putNextEntry(new ZipEntry(entry.name()));
+        zip.write(entry.content());
+        zip.closeEntry();
+    }
+
+    private record BundleEntry(String name, byte[] content) {
+    }
+}
@@ -1,25 +1,30 @@
 
 package com.projectps.buildingmanagement.services;
 
+import com.projectps.buildingmanagement.auth.CurrentUserResolver;
+import com.projectps.buildingmanagement.cache.DocumentCache;
+import com.projectps.buildingmanagement.cache.PropertyCache;
 import com.projectps.buildingmanagement.dtos.ContractDTO;
-import com.projectps.buildingmanagement.dtos.UserDTO;
+import com.projectps.buildingmanagement.dtos.SessionUserDTO;
 import com.projectps.buildingmanagement.dtos.builders.ContractBuilder;
 import com.projectps.buildingmanagement.entities.Contract;
 import com.projectps.buildingmanagement.entities.Property;
 import com.projectps.buildingmanagement.entities.User;
+import com.projectps.buildingmanagement.entities.enums.PropertyChangeType;
 import com.projectps.buildingmanagement.entities.enums.UserType;
 import com.projectps.buildingmanagement.exceptions.ContractNotFoundException;
 import com.projectps.buildingmanagement.exceptions.PropertyNotFoundException;
 import com.projectps.buildingmanagement.exceptions.UserNotFoundException;
+import com.projectps.buildingmanagement.index.FacetIndex;
 import com.projectps.buildingmanagement.repositories.ContractRepository;
 import com.projectps.buildingmanagement.repositories.PropertyRepository;
 import com.projectps.buildingmanagement.repositories.UserRepository;
-import jakarta.servlet.http.HttpSession;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -34,7 +39,6 @@ import java.util.stream.Collectors;
 public class ContractService {
     private static final Logger LOGGER = LoggerFactory.getLogger(ContractService.class);
 
-    private static final String SESSION_USER_KEY = "logged_user";
     private ContractRepository contractsRepository;
 
     @Autowired
@@ -43,12 +47,30 @@ public class ContractService {
     @Autowired
     private PropertyRepository propertyRepository;
 
-    private final HttpSession session;
+    @Autowired
+    private FacetIndex facetIndex;
+
+    @Autowired
+    private PropertyCache propertyCache;
+
+    @Autowired
+    private DocumentCache documentCache;
+
+    @Autowired
+    private PropertyLocks propertyLocks;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private PropertyChangeFeed propertyChangeFeed;
+
+    private final CurrentUserResolver currentUserResolver;
 
     @Autowired
-    public ContractService(ContractRepository contractsRepository, HttpSession session) {
+    public ContractService(ContractRepository contractsRepository, CurrentUserResolver currentUserResolver) {
         this.contractsRepository = contractsRepository;
-        this.session = session;
+        this.currentUserResolver = currentUserResolver;
     }
 
     /**
@@ -57,10 +79,7 @@ public class ContractService {
      * @return a list of all contract DTOs
      */
     public List<ContractDTO> getAllContracts() {
-        List<Contract> contractList = contractsRepository.findAll();
-        return contractList.stream()
-                .map(ContractBuilder::toContractDTO)
-                .collect(Collectors.toList());
+        return contractsRepository.findAllContractDTOs();
     }
 
     /**
@@ -70,7 +89,7 @@ public class ContractService {
      * @throws IllegalStateException if the customer ID is not found in the session
      */
     public List<ContractDTO> getAllContractsCustomer() {
-        UserDTO loggedUser = (UserDTO) session.getAttribute("logged_user");
+        SessionUserDTO loggedUser = currentUserResolver.getCurrentUser();
         if (loggedUser.getId() == null) {
             LOGGER.error("Customer ID not found in session");
             throw new IllegalStateException("Customer ID not found in session");
@@ -107,7 +126,7 @@ public class ContractService {
      * @throws IllegalStateException     if the customer ID is not found in the session
      */
     public ContractDTO getContractByIdCustomer(UUID id) throws ContractNotFoundException {
-        UserDTO loggedUser = (UserDTO) session.getAttribute("logged_user");
+        SessionUserDTO loggedUser = currentUserResolver.getCurrentUser();
         if (loggedUser.getId() == null) {
             LOGGER.error("Customer ID not found in session");
             throw new IllegalStateException("Customer ID not found in session");
@@ -118,13 +137,15 @@ public class ContractService {
     }
 
     /**
-     * Creates a new contract.
+     * Creates a new contract, booking its property.
+     * The property is claimed with a conditional update in the same transaction as the contract insert,
+     * so concurrent bookings of one property cannot both succeed.
      *
      * @param contractDTO the contract DTO containing contract information
      * @return the created contract DTO
      * @throws PropertyNotFoundException if the property associated with the contract is not found
      * @throws UserNotFoundException     if the user associated with the contract is not found
-     * @throws IllegalArgumentException  if the start date is not valid or is in the past
+     * @throws IllegalArgumentException  if the start date is not valid or is in the past, or the property or user is missing
      */
     public ContractDTO createContract(ContractDTO contractDTO) {
         Contract contract = ContractBuilder.toEntity(contractDTO);
@@ -141,31 +162,44 @@ public class ContractService {
             throw new IllegalArgumentException("Start date cannot be in the past");
         }
 
-        Optional<User> userOptional = userRepository.findById(contractDTO.getUser_id());
-        if (!userOptional.isPresent()) {
-            LOGGER.error("User with ID {} not found", contractDTO.getUser_id());
-            throw new UserNotFoundException(User.class.getSimpleName() + " with ID: " + contractDTO.getUser_id());
+        UUID propertyId = contractDTO.getProperty_id();
+        if (propertyId == null) {
+            LOGGER.error("Property ID is missing");
+            throw new IllegalArgumentException("Property is required.");
+        }
+        if (contractDTO.getUser_id() == null) {
+            LOGGER.error("User ID is missing");
+            throw new IllegalArgumentException("User is required.");
         }
-        contract.setUser(userOptional.get());
 
-        Optional<Property> propertyOptional = propertyRepository.findById(contractDTO.getProperty_id());
-        if (propertyOptional.isPresent()) {
-            Property property = propertyOptional.get();
-            if (property.isRented()) {
-                LOGGER.error("Property with ID {} is already rented", contractDTO.getProperty_id());
+        Contract created = propertyLocks.withLock(propertyId, () -> transactionTemplate.execute(status -> {
+            Optional<User> userOptional = userRepository.findById(contractDTO.getUser_id());
+            if (!userOptional.isPresent()) {
+                LOGGER.error("User with ID {} not found", contractDTO.getUser_id());
+                throw new UserNotFoundException(User.class.getSimpleName() + " with ID: " + contractDTO.getUser_id());
+            }
+            contract.setUser(userOptional.get());
+
+            // The conditional update is the claim: of two concurrent bookings, only one sees an available row.
+            if (propertyRepository.claimProperty(propertyId) == 0) {
+                if (!propertyRepository.existsById(propertyId)) {
+                    LOGGER.error("Property with ID {} not found", propertyId);
+                    throw new PropertyNotFoundException(Property.class.getSimpleName() + " with ID: " + propertyId);
+                }
+                LOGGER.error("Property with ID {} is already rented", propertyId);
                 throw new IllegalArgumentException("Property is already rented!");
             }
-            property.setRented(true);
-            propertyRepository.save(property);
-        } else {
-            LOGGER.error("Property with ID {} not found", contractDTO.getProperty_id());
-            throw new PropertyNotFoundException(Property.class.getSimpleName() + " with ID: " + contractDTO.getProperty_id());
-        }
+            return contractsRepository.save(contract);
+        }));
 
-        contract = contractsRepository.save(contract);
-        LOGGER.debug("Contract with id {} was inserted in db", contract.getId());
+        propertyRepository.findFacetById(propertyId).ifPresent(view -> {
+            facetIndex.put(view);
+            propertyChangeFeed.publish(PropertyChangeType.RENTED, view);
+        });
+        propertyCache.invalidate(propertyId);
+        LOGGER.debug("Contract with id {} was inserted in db", created.getId());
         LOGGER.info("Contract created successfully");
-        return ContractBuilder.toContractDTO(contract);
+        return ContractBuilder.toContractDTO(created);
     }
 
     /**
@@ -197,12 +231,15 @@ public class ContractService {
         }
 
         Contract existingContract = contractOptional.get();
+        ContractDTO previousContract = ContractBuilder.toContractDTO(existingContract);
 
         existingContract.setStartDate(contractDTO.getStartDate());
         existingContract.setDuration(contractDTO.getDuration());
         existingContract.setDetails(contractDTO.getDetails());
 
         Contract updatedContract = contractsRepository.save(existingContract);
+        propertyCache.invalidate(existingContract.getProperty().getId());
+        documentCache.invalidate(previousContract);
 
         LOGGER.debug("Contract with id {} was updated successfully", id);
         LOGGER.info("Contract with id {} was updated successfully", id);
@@ -224,6 +261,7 @@ public class ContractService {
         }
         Contract contract = contractOptional.get();
         contractsRepository.deleteById(id);
+        documentCache.invalidate(ContractBuilder.toContractDTO(contract));
 
         LOGGER.info("Contract with id {} was deleted successfully", id);
 
@@ -232,6 +270,9 @@ public class ContractService {
             Property property = propertyOptional.get();
             property.setRented(false);
             propertyRepository.save(property);
+            facetIndex.put(property);
+            propertyChangeFeed.publish(PropertyChangeType.AVAILABLE, property);
         }
+        propertyCache.invalidate(contract.getProperty().getId());
     }
 }
@@ -0,0 +1,286 @@
+package com.projectps.buildingmanagement.services;
+
+import com.projectps.buildingmanagement.auth.CurrentUserResolver;
+import com.projectps.buildingmanagement.cache.DocumentCache;
+import com.projectps.buildingmanagement.dtos.ContractDTO;
+import com.projectps.buildingmanagement.dtos.DocumentJobDTO;
+import com.projectps.buildingmanagement.dtos.SessionUserDTO;
+import com.projectps.buildingmanagement.entities.enums.DocumentJobStatus;
+import com.projectps.buildingmanagement.entities.enums.UserType;
+import com.projectps.buildingmanagement.exceptions.ContractNotFoundException;
+import com.projectps.buildingmanagement.exceptions.DocumentJobNotFoundException;
+import com.projectps.buildingmanagement.exceptions.RenderQueueFullException;
+import com.projectps.buildingmanagement.files.DocumentFormat;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This service class renders contract documents in the background.
+ * Renders run on a fixed pool behind a bounded queue, so document generation never competes with request threads
+ * and a burst of downloads is turned away instead of piling up. Finished jobs are kept for a configurable
+ * time, up to a maximum number of jobs; submitting the same contract and format again while the contract is
+ * unchanged reuses the existing job. A job does not hold its document: the bytes stay in the document cache
+ * and are read from it again on download.
+ */
+@Service
+public class DocumentRenderService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DocumentRenderService.class);
+
+    private final ContractService contractService;
+    private final CurrentUserResolver currentUserResolver;
+    private final DocumentCache documentCache;
+    private final Duration resultTimeToLive;
+    private final int maxRetainedJobs;
+    private final ThreadPoolExecutor executor;
+    private final ConcurrentMap<UUID, RenderJob> jobs = new ConcurrentHashMap<>();
+    private final ConcurrentMap<JobKey, RenderJob> latestJobs = new ConcurrentHashMap<>();
+
+    @Autowired
+    public DocumentRenderService(ContractService contractService,
+                                 CurrentUserResolver currentUserResolver,
+                                 DocumentCache documentCache,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${document-render.concurrency}") int concurrency,
+                                 @Value("${document-render.queue-capacity}") int queueCapacity,
+                                 @Value("${document-render.result-time-to-live}") Duration resultTimeToLive,
+                                 @Value("${document-render.max-retained-jobs}") int maxRetainedJobs) {
+        this.contractService = contractService;
+        this.currentUserResolver = currentUserResolver;
+        this.documentCache = documentCache;
+        this.resultTimeToLive = resultTimeToLive;
+        this.maxRetainedJobs = maxRetainedJobs;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(concurrency, concurrency, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, "document-render-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        new ExecutorServiceMetrics(executor, "document-render", List.of()).bindTo(meterRegistry);
+    }
+
+    /**
+     * Submits a contract document for rendering.
+     * Customers may only render their own contracts.
+     *
+     * @param contractId the ID of the contract
+     * @param format     the document format
+     * @return the new job, or the existing one if the same document is already rendering or rendered
+     * @throws ContractNotFoundException if the contract is not found or not visible to the current user
+     * @throws RenderQueueFullException  if the render queue is full
+     * @throws IllegalStateException     if no user is logged in
+     */
+    public DocumentJobDTO submit(UUID contractId, DocumentFormat format) throws ContractNotFoundException {
+        SessionUserDTO loggedUser = requireLoggedUser();
+        ContractDTO contract = loggedUser.getUserRole() == UserType.ADMIN
+                ? contractService.getContractById(contractId)
+                : contractService.getContractByIdCustomer(contractId);
+
+        JobKey key = new JobKey(contractId, format);
+        RenderJob existing = latestJobs.get(key);
+        if (existing != null && existing.status != DocumentJobStatus.FAILED && !isExpired(existing)
+                && sameContent(existing.contract, contract)) {
+            return toDocumentJobDTO(existing);
+        }
+
+        RenderJob job = new RenderJob(contract, format);
+        jobs.put(job.id, job);
+        latestJobs.put(key, job);
+        try {
+            executor.execute(() -> render(job));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            latestJobs.remove(key, job);
+            LOGGER.error("Render queue is full, rejected {} document for contract {}", format, contractId);
+            throw new RenderQueueFullException("Render queue is full");
+        }
+        LOGGER.debug("Document job {} was queued for contract {}", job.id, contractId);
+        evictOldest();
+        return toDocumentJobDTO(job);
+    }
+
+    /**
+     * Retrieves the current state of a render job.
+     *
+     * @param jobId the ID of the job
+     * @return the job state
+     * @throws DocumentJobNotFoundException if the job does not exist, has expired or is not visible to the current user
+     */
+    public DocumentJobDTO getJob(UUID jobId) throws DocumentJobNotFoundException {
+        return toDocumentJobDTO(findVisibleJob(jobId));
+    }
+
+    /**
+     * Waits for a render job to finish without holding a request thread.
+     *
+     * @param jobId   the ID of the job
+     * @param timeout the longest time to wait
+     * @return a future completed with the job state once the job finishes or the timeout elapses
+     * @throws DocumentJobNotFoundException if the job does not exist, has expired or is not visible to the current user
+     */
+    public CompletableFuture<DocumentJobDTO> awaitJob(UUID jobId, Duration timeout) throws DocumentJobNotFoundException {
+        RenderJob job = findVisibleJob(jobId);
+        return job.result
+                .handle((done, error) -> job)
+                .completeOnTimeout(job, timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .thenApply(this::toDocumentJobDTO);
+    }
+
+    /**
+     * Retrieves the rendered document of a finished job.
+     *
+     * @param jobId the ID of the job
+     * @return the document bytes
+     * @throws DocumentJobNotFoundException if the job does not exist, has expired or is not visible to the current user
+     * @throws IllegalStateException        if the job has not finished successfully
+     * @throws IOException                  if the document left the cache and cannot be generated again
+     */
+    public byte[] getDocument(UUID jobId) throws DocumentJobNotFoundException, IOException {
+        RenderJob job = findVisibleJob(jobId);
+        if (job.status != DocumentJobStatus.DONE) {
+            LOGGER.error("Document job {} is {}", jobId, job.status);
+            throw new IllegalStateException("Document job " + jobId + " is " + job.status);
+        }
+        try {
+            return documentCache.get(job.contract, job.format).content();
+        } catch (IOException e) {
+            LOGGER.error("Document of job {} for contract {} could not be read: {}", jobId, job.contract.getId(), e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * Drops finished jobs whose retention period has passed.
+     */
+    @Scheduled(fixedDelayString = "${document-render.cleanup-interval-millis}")
+    public void evictExpired() {
+        jobs.values().removeIf(job -> {
+            if (!isExpired(job)) {
+                return false;
+            }
+            latestJobs.remove(new JobKey(job.contract.getId(), job.format), job);
+            return true;
+        });
+    }
+
+    /**
+     * Drops the finished jobs that completed first until at most the maximum number of jobs is retained.
+     * Queued and running jobs are never dropped; their number is already bounded by the render queue.
+     */
+    private void evictOldest() {
+        int excess = jobs.size() - maxRetainedJobs;
+        if (excess <= 0) {
+            return;
+        }
+        jobs.values().stream()
+                .filter(job -> job.completedAt != null)
+                .sorted(Comparator.comparing(job -> job.completedAt))
+                .limit(excess)
+                .forEach(job -> {
+                    jobs.remove(job.id, job);
+                    latestJobs.remove(new JobKey(job.contract.getId(), job.format), job);
+                });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void render(RenderJob job) {
+        job.status = DocumentJobStatus.RUNNING;
+        try {
+            job.size = documentCache.get(job.contract, job.format).content().length;
+            job.completedAt = LocalDateTime.now();
+            job.status = DocumentJobStatus.DONE;
+            job.result.complete(null);
+        } catch (Exception e) {
+            LOGGER.error("Document job {} for contract {} failed: {}", job.id, job.contract.getId(), e.getMessage());
+            job.completedAt = LocalDateTime.now();
+            job.status = DocumentJobStatus.FAILED;
+            job.result.completeExceptionally(e);
+        }
+    }
+
+    private RenderJob findVisibleJob(UUID jobId) {
+        SessionUserDTO loggedUser = requireLoggedUser();
+        RenderJob job = jobs.get(jobId);
+        if (job == null || isExpired(job)
+                || (loggedUser.getUserRole() != UserType.ADMIN && !loggedUser.getId().equals(job.contract.getUser_id()))) {
+            LOGGER.error("Document job with id {} was not found", jobId);
+            throw new DocumentJobNotFoundException("Document job with id: " + jobId);
+        }
+        return job;
+    }
+
+    private SessionUserDTO requireLoggedUser() {
+        SessionUserDTO loggedUser = currentUserResolver.getCurrentUser();
+        if (loggedUser == null) {
+            LOGGER.error("User not logged in");
+            throw new IllegalStateException("User not logged in");
+        }
+        return loggedUser;
+    }
+
+    private boolean isExpired(RenderJob job) {
+        LocalDateTime completedAt = job.completedAt;
+        return completedAt != null && completedAt.plus(resultTimeToLive).isBefore(LocalDateTime.now());
+    }
+
+    private static boolean sameContent(ContractDTO first, ContractDTO second) {
+        return Objects.equals(first.getStartDate(), second.getStartDate())
+                && first.getDuration() == second.getDuration()
+                && Objects.equals(first.getDetails(), second.getDetails())
+                && Objects.equals(first.getUser_id(), second.getUser_id())
+                && Objects.equals(first.getProperty_id(), second.getProperty_id());
+    }
+
+    private DocumentJobDTO toDocumentJobDTO(RenderJob job) {
+        return DocumentJobDTO.builder()
+                .id(job.id)
+                .contractId(job.contract.getId())
+                .format(job.format)
+                .status(job.status)
+                .submittedAt(job.submittedAt)
+                .completedAt(job.completedAt)
+                .size(job.size)
+                .build();
+    }
+
+    private record JobKey(UUID contractId, DocumentFormat format) {
+    }
+
+    private static final class RenderJob {
+        private final UUID id = UUID.randomUUID();
+        private final ContractDTO contract;
+        private final DocumentFormat format;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        // Completes when the job finishes; the document itself is kept by the document cache.
+        private final CompletableFuture<Void> result = new CompletableFuture<>();
+        private volatile DocumentJobStatus status = DocumentJobStatus.QUEUED;
+        private volatile LocalDateTime completedAt;
+        private volatile Integer size;
+
+        private RenderJob(ContractDTO contract, DocumentFormat format) {
+            this.contract = contract;
+            this.format = format;
+        }
+    }
+}
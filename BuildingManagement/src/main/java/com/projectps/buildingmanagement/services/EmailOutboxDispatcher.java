@@ -0,0 +1,231 @@
+package com.projectps.buildingmanagement.services;
+
+import com.projectps.buildingmanagement.dtos.RequestDto;
+import com.projectps.buildingmanagement.dtos.ResponseDto;
+import com.projectps.buildingmanagement.entities.EmailOutbox;
+import com.projectps.buildingmanagement.entities.enums.OutboxStatus;
+import com.projectps.buildingmanagement.exceptions.EmailSendingException;
+import com.projectps.buildingmanagement.repositories.EmailOutboxRepository;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.*;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Drains the email outbox in the background.
+ * Each round claims a batch of due messages by pushing their next attempt past a lease, sends them with
+ * bounded concurrency outside any transaction, then records the outcome. Failed messages are retried with
+ * exponential backoff and dead-lettered after the configured number of attempts. Calls rejected by the
+ * HTTP client's circuit breaker or bulkhead do not use up an attempt and end the round early. A node that
+ * dies mid-batch leaves its messages to be picked up again once their lease expires.
+ */
+@Component
+@ConditionalOnProperty(name = "email-outbox.dispatcher.enabled", havingValue = "true", matchIfMissing = true)
+public class EmailOutboxDispatcher {
+    private static final Logger LOGGER = LoggerFactory.getLogger(EmailOutboxDispatcher.class);
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final RestTemplate restTemplate;
+    private final String emailServiceUrl;
+    private final String authorizationToken;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration leaseTimeout;
+    private final ExecutorService executor;
+
+    @Autowired
+    public EmailOutboxDispatcher(EmailOutboxRepository emailOutboxRepository,
+                                 TransactionTemplate transactionTemplate,
+                                 RestTemplate restTemplate,
+                                 @Value("${email.service.url}") String emailServiceUrl,
+                                 @Value("${authorization.token1}") String authorizationToken1,
+                                 @Value("${authorization.token2}") String authorizationToken2,
+                                 @Value("${email-outbox.batch-size}") int batchSize,
+                                 @Value("${email-outbox.concurrency}") int concurrency,
+                                 @Value("${email-outbox.max-attempts}") int maxAttempts,
+                                 @Value("${email-outbox.initial-backoff}") Duration initialBackoff,
+                                 @Value("${email-outbox.max-backoff}") Duration maxBackoff,
+                                 @Value("${email-outbox.lease-timeout}") Duration leaseTimeout) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.restTemplate = restTemplate;
+        this.emailServiceUrl = emailServiceUrl;
+        this.authorizationToken = authorizationToken1 + authorizationToken2;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.leaseTimeout = leaseTimeout;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "email-outbox-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Sends every message that is currently due, one batch at a time.
+     */
+    @Scheduled(fixedDelayString = "${email-outbox.poll-interval-millis}")
+    public void dispatchPending() {
+        List<EmailOutbox> batch;
+        do {
+            batch = claimBatch();
+            if (!batch.isEmpty() && !deliver(batch)) {
+                return;
+            }
+        } while (batch.size() == batchSize);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private List<EmailOutbox> claimBatch() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<EmailOutbox> due = emailOutboxRepository.findDueForUpdate(OutboxStatus.PENDING, now, PageRequest.of(0, batchSize));
+            LocalDateTime leaseEnd = now.plus(leaseTimeout);
+            due.forEach(email -> email.setNextAttemptAt(leaseEnd));
+            return due;
+        });
+    }
+
+    private boolean deliver(List<EmailOutbox> batch) {
+        List<Callable<Void>> tasks = batch.stream()
+                .<Callable<Void>>map(email -> () -> {
+                    send(email);
+                    return null;
+                })
+                .toList();
+        List<Future<Void>> results;
+        try {
+            results = executor.invokeAll(tasks);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+
+        List<UUID> sentIds = new ArrayList<>();
+        List<UUID> rejectedIds = new ArrayList<>();
+        Map<UUID, String> failures = new HashMap<>();
+        for (int i = 0; i < batch.size(); i++) {
+            Throwable failure = failure(results.get(i));
+            UUID id = batch.get(i).getId();
+            if (failure == null) {
+                sentIds.add(id);
+            } else if (failure instanceof CallNotPermittedException || failure instanceof BulkheadFullException) {
+                rejectedIds.add(id);
+            } else {
+                failures.put(id, failure.getMessage() != null ? failure.getMessage() : failure.getClass().getSimpleName());
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            if (!sentIds.isEmpty()) {
+                emailOutboxRepository.markSent(sentIds, OutboxStatus.SENT, now);
+            }
+            if (!rejectedIds.isEmpty()) {
+                emailOutboxRepository.reschedule(rejectedIds, now.plus(initialBackoff));
+            }
+            for (EmailOutbox email : emailOutboxRepository.findAllById(failures.keySet())) {
+                recordFailure(email, failures.get(email.getId()), now);
+            }
+        });
+        if (!rejectedIds.isEmpty()) {
+            LOGGER.warn("Mail service is unavailable, {} emails were rescheduled without using an attempt", rejectedIds.size());
+            return false;
+        }
+        return true;
+    }
+
+    private Throwable failure(Future<Void> result) {
+        try {
+            result.get();
+            return null;
+        } catch (ExecutionException e) {
+            return e.getCause();
+        } catch (InterruptedException | CancellationException e) {
+            return e;
+        }
+    }
+
+    private void recordFailure(EmailOutbox email, String error, LocalDateTime now) {
+        int attempts = email.getAttempts() + 1;
+        email.setAttempts(attempts);
+        email.setLastError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+        if (attempts >= maxAttempts) {
+            email.setStatus(OutboxStatus.DEAD);
+            LOGGER.error("Email {} to {} was dead-lettered after {} attempts: {}", email.getId(), email.getEmailReceiver(), attempts, error);
+        } else {
+            email.setNextAttemptAt(now.plus(backoff(attempts)));
+            LOGGER.warn("Email {} to {} failed (attempt {}), retrying later: {}", email.getId(), email.getEmailReceiver(), attempts, error);
+        }
+    }
+
+    /**
+     * Doubles the delay with every attempt, up to the maximum, with up to 20% jitter so that
+     * messages failing together do not retry together.
+     */
+    private Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 30));
+        if (delay.compareTo(maxBackoff) > 0 || delay.isNegative()) {
+            delay = maxBackoff;
+        }
+        long jitterMillis = (long) (delay.toMillis() * 0.2 * ThreadLocalRandom.current().nextDouble());
+        return delay.plusMillis(jitterMillis);
+    }
+
+    /**
+     * Sends one message to the mail service.
+     *
+     * @throws EmailSendingException if the mail service does not accept the message
+     */
+    private void send(EmailOutbox email) {
+        RequestDto requestDto = new RequestDto();
+        requestDto.setId(email.getUserId());
+        requestDto.setFirstName(email.getFirstName());
+        requestDto.setLastName(email.getLastName());
+        requestDto.setEmailReceiver(email.getEmailReceiver());
+        requestDto.setEmailSubject(email.getEmailSubject());
+        requestDto.setEmailBody(email.getEmailBody());
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("Authorization", authorizationToken);
+
+        ResponseEntity<ResponseDto> responseEntity = restTemplate.exchange(
+                emailServiceUrl,
+                HttpMethod.POST,
+                new HttpEntity<>(requestDto, headers),
+                ResponseDto.class
+        );
+        if (!responseEntity.getStatusCode().is2xxSuccessful()) {
+            throw new EmailSendingException("Failed to send email with status code: " + responseEntity.getStatusCode());
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.projectps.buildingmanagement.services;
+
+import com.projectps.buildingmanagement.dtos.UserDTO;
+import com.projectps.buildingmanagement.entities.EmailOutbox;
+import com.projectps.buildingmanagement.entities.enums.OutboxStatus;
+import com.projectps.buildingmanagement.repositories.EmailOutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * This service class records outgoing emails in the outbox table.
+ * Messages are delivered later by {@link EmailOutboxDispatcher}, so callers never wait on the mail service.
+ */
+@Service
+public class EmailOutboxService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(EmailOutboxService.class);
+
+    private final EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    public EmailOutboxService(EmailOutboxRepository emailOutboxRepository) {
+        this.emailOutboxRepository = emailOutboxRepository;
+    }
+
+    /**
+     * Queues an email for the given user.
+     * Must run inside the caller's transaction, so the message is stored if and only if the caller's changes commit.
+     *
+     * @param userDTO      the user receiving the email
+     * @param emailSubject the subject of the email
+     * @param emailBody    the body of the email
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(UserDTO userDTO, String emailSubject, String emailBody) {
+        LocalDateTime now = LocalDateTime.now();
+        EmailOutbox email = emailOutboxRepository.save(EmailOutbox.builder()
+                .userId(userDTO.getId())
+                .firstName(userDTO.getFirstName())
+                .lastName(userDTO.getLastName())
+                .emailReceiver(userDTO.getEmail())
+                .emailSubject(emailSubject)
+                .emailBody(emailBody)
+                .status(OutboxStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build());
+        LOGGER.debug("Email {} for user {} was queued", email.getId(), userDTO.getId());
+    }
+}
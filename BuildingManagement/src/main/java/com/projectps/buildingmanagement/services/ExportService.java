@@ -0,0 +1,112 @@
+package com.projectps.buildingmanagement.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projectps.buildingmanagement.dtos.ContractDTO;
+import com.projectps.buildingmanagement.dtos.ReviewDTO;
+import com.projectps.buildingmanagement.files.ExportFormat;
+import com.projectps.buildingmanagement.files.TableExporter;
+import com.projectps.buildingmanagement.repositories.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * This service class streams whole tables to an output stream for bulk export.
+ * Rows are read as projections through a forward-only cursor and written one at a time,
+ * so memory use stays constant regardless of table size.
+ */
+@Service
+public class ExportService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExportService.class);
+
+    public static final Set<String> TABLES = Set.of("contracts", "properties", "users", "reviews");
+
+    private static final TableExporter<ContractDTO> CONTRACTS = new TableExporter<ContractDTO>()
+            .column("id", ContractDTO::getId)
+            .column("startDate", ContractDTO::getStartDate)
+            .column("duration", ContractDTO::getDuration)
+            .column("details", ContractDTO::getDetails)
+            .column("userId", ContractDTO::getUser_id)
+            .column("propertyId", ContractDTO::getProperty_id);
+
+    private static final TableExporter<PropertyExportView> PROPERTIES = new TableExporter<PropertyExportView>()
+            .column("id", PropertyExportView::getId)
+            .column("location", PropertyExportView::getLocation)
+            .column("latitude", PropertyExportView::getLatitude)
+            .column("longitude", PropertyExportView::getLongitude)
+            .column("roomsNumber", PropertyExportView::getRoomsNumber)
+            .column("initialPrice", PropertyExportView::getInitialPrice)
+            .column("priceAfterOffer", PropertyExportView::getPriceAfterOffer)
+            .column("rented", PropertyExportView::isRented)
+            .column("offerApplied", PropertyExportView::isOfferApplied)
+            .column("propertyType", PropertyExportView::getPropertyType)
+            .column("propertyStatus", PropertyExportView::getPropertyStatus)
+            .column("imageUrl", PropertyExportView::getImageUrl);
+
+    private static final TableExporter<UserExportView> USERS = new TableExporter<UserExportView>()
+            .column("id", UserExportView::getId)
+            .column("firstName", UserExportView::getFirstName)
+            .column("lastName", UserExportView::getLastName)
+            .column("username", UserExportView::getUsername)
+            .column("email", UserExportView::getEmail)
+            .column("phoneNumber", UserExportView::getPhoneNumber)
+            .column("userRole", UserExportView::getUserRole);
+
+    private static final TableExporter<ReviewDTO> REVIEWS = new TableExporter<ReviewDTO>()
+            .column("id", ReviewDTO::getId)
+            .column("message", ReviewDTO::getMessage)
+            .column("date", ReviewDTO::getDate)
+            .column("userId", ReviewDTO::getUser_id);
+
+    private final ContractRepository contractRepository;
+    private final PropertyRepository propertyRepository;
+    private final UserRepository userRepository;
+    private final ReviewRepository reviewRepository;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public ExportService(ContractRepository contractRepository, PropertyRepository propertyRepository,
+                         UserRepository userRepository, ReviewRepository reviewRepository, ObjectMapper objectMapper) {
+        this.contractRepository = contractRepository;
+        this.propertyRepository = propertyRepository;
+        this.userRepository = userRepository;
+        this.reviewRepository = reviewRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Writes every row of the given table to the output stream.
+     *
+     * @param table        one of {@link #TABLES}
+     * @param format       the output format
+     * @param outputStream the destination, flushed but not closed
+     * @throws IOException              if writing fails
+     * @throws IllegalArgumentException if the table cannot be exported
+     */
+    @Transactional(readOnly = true)
+    public void export(String table, ExportFormat format, OutputStream outputStream) throws IOException {
+        switch (table) {
+            case "contracts" -> write(CONTRACTS, contractRepository.streamAllContractDTOs(), format, outputStream);
+            case "properties" -> write(PROPERTIES, propertyRepository.streamAllForExport(), format, outputStream);
+            case "users" -> write(USERS, userRepository.streamAllForExport(), format, outputStream);
+            case "reviews" -> write(REVIEWS, reviewRepository.streamAllReviewDTOs(), format, outputStream);
+            default -> {
+                LOGGER.error("Table {} cannot be exported", table);
+                throw new IllegalArgumentException("Table " + table + " cannot be exported");
+            }
+        }
+    }
+
+    private <T> void write(TableExporter<T> exporter, Stream<T> rows, ExportFormat format, OutputStream outputStream) throws IOException {
+        try (rows) {
+            exporter.write(rows, format, outputStream, objectMapper);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.projectps.buildingmanagement.services;
+
+import com.projectps.buildingmanagement.cache.PropertyCache;
+import com.projectps.buildingmanagement.dtos.OfferCampaignDTO;
+import com.projectps.buildingmanagement.dtos.builders.OfferCampaignBuilder;
+import com.projectps.buildingmanagement.entities.Offer;
+import com.projectps.buildingmanagement.entities.OfferCampaign;
+import com.projectps.buildingmanagement.entities.Property;
+import com.projectps.buildingmanagement.entities.enums.PropertyChangeType;
+import com.projectps.buildingmanagement.exceptions.OfferCampaignNotFoundException;
+import com.projectps.buildingmanagement.index.FacetIndex;
+import com.projectps.buildingmanagement.repositories.OfferCampaignRepository;
+import com.projectps.buildingmanagement.repositories.OfferRepository;
+import com.projectps.buildingmanagement.repositories.PropertyFacetView;
+import com.projectps.buildingmanagement.repositories.PropertyRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * This service class applies an offer to every property matching a filter at once.
+ * A campaign costs a handful of statements whatever the number of properties it covers: the matching properties
+ * are selected by ID in one query, their offers are inserted in JDBC batches, and the prices are recomputed by a single
+ * update over the campaign's offers. Rolling back is one update and one delete.
+ */
+@Service
+public class OfferCampaignService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(OfferCampaignService.class);
+
+    private final OfferCampaignRepository offerCampaignRepository;
+    private final OfferRepository offerRepository;
+    private final PropertyRepository propertyRepository;
+    private final FacetIndex facetIndex;
+    private final PropertyCache propertyCache;
+    private final PropertyChangeFeed propertyChangeFeed;
+    private final TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public OfferCampaignService(OfferCampaignRepository offerCampaignRepository,
+                                OfferRepository offerRepository,
+                                PropertyRepository propertyRepository,
+                                FacetIndex facetIndex,
+                                PropertyCache propertyCache,
+                                PropertyChangeFeed propertyChangeFeed,
+                                TransactionTemplate transactionTemplate) {
+        this.offerCampaignRepository = offerCampaignRepository;
+        this.offerRepository = offerRepository;
+        this.propertyRepository = propertyRepository;
+        this.facetIndex = facetIndex;
+        this.propertyCache = propertyCache;
+        this.propertyChangeFeed = propertyChangeFeed;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Retrieves all campaigns, newest first.
+     *
+     * @return a list of all campaign DTOs
+     */
+    public List<OfferCampaignDTO> getAllCampaigns() {
+        return offerCampaignRepository.findAllByOrderByCreatedAtDesc().stream()
+                .map(OfferCampaignBuilder::toOfferCampaignDTO)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Launches a campaign, giving every matching property without an offer the campaign's percentage off its initial price.
+     * The filters are optional: the property type, a case-insensitive part of the location and an initial price range.
+     *
+     * @param campaignDTO the percentage and the property filter
+     * @return the created campaign DTO with the number of discounted properties
+     * @throws IllegalArgumentException if the percentage or the price range is invalid
+     */
+    public OfferCampaignDTO launchCampaign(OfferCampaignDTO campaignDTO) {
+        if (campaignDTO.getOfferProcent() <= 0 || campaignDTO.getOfferProcent() > 100) {
+            LOGGER.error("Invalid campaign percentage: {}", campaignDTO.getOfferProcent());
+            throw new IllegalArgumentException("Offer percentage must be greater than 0 and at most 100.");
+        }
+        if (campaignDTO.getMinPrice() != null && campaignDTO.getMaxPrice() != null
+                && campaignDTO.getMinPrice() > campaignDTO.getMaxPrice()) {
+            LOGGER.error("Invalid campaign price range: {} - {}", campaignDTO.getMinPrice(), campaignDTO.getMaxPrice());
+            throw new IllegalArgumentException("Minimum price must not exceed maximum price.");
+        }
+        String location = campaignDTO.getLocation() == null || campaignDTO.getLocation().isBlank()
+                ? null : campaignDTO.getLocation().trim();
+
+        CampaignResult result = transactionTemplate.execute(status -> {
+            List<UUID> propertyIds = propertyRepository.findCampaignCandidateIds(campaignDTO.getPropertyType(),
+                    location == null ? null : "%" + location.toLowerCase(Locale.ROOT) + "%",
+                    campaignDTO.getMinPrice(), campaignDTO.getMaxPrice());
+
+            OfferCampaign campaign = OfferCampaignBuilder.toEntity(campaignDTO);
+            campaign.setLocation(location);
+            campaign.setCreatedAt(LocalDateTime.now());
+            campaign.setPropertiesCount(propertyIds.size());
+            campaign = offerCampaignRepository.save(campaign);
+
+            OfferCampaign offerCampaign = campaign;
+            offerRepository.saveAllAndFlush(propertyIds.stream()
+                    .map(propertyId -> Offer.builder()
+                            .offerProcent(offerCampaign.getOfferProcent())
+                            .property(Property.builder().id(propertyId).build())
+                            .campaign(offerCampaign)
+                            .build())
+                    .toList());
+            entityManager.clear();
+            propertyRepository.applyCampaignPrices(campaign.getId(), campaign.getOfferProcent());
+            return new CampaignResult(campaign, propertyRepository.findCampaignFacets(campaign.getId()));
+        });
+
+        refreshIndexes(result.properties());
+        LOGGER.info("Offer campaign {} applied {}% to {} properties", result.campaign().getId(),
+                result.campaign().getOfferProcent(), result.campaign().getPropertiesCount());
+        return OfferCampaignBuilder.toOfferCampaignDTO(result.campaign());
+    }
+
+    /**
+     * Rolls a campaign back, deleting its remaining offers and restoring the initial price of their properties.
+     *
+     * @param id the ID of the campaign
+     * @return the rolled back campaign DTO
+     * @throws OfferCampaignNotFoundException if the campaign is not found
+     * @throws IllegalStateException          if the campaign was already rolled back
+     */
+    public OfferCampaignDTO rollbackCampaign(UUID id) throws OfferCampaignNotFoundException {
+        CampaignResult result = transactionTemplate.execute(status -> {
+            OfferCampaign campaign = offerCampaignRepository.findById(id).orElse(null);
+            if (campaign == null) {
+                LOGGER.error("Offer campaign with id {} was not found in db", id);
+                throw new OfferCampaignNotFoundException("Offer campaign with id " + id + " not found!");
+            }
+            if (campaign.getRolledBackAt() != null) {
+                LOGGER.error("Offer campaign with id {} was already rolled back", id);
+                throw new IllegalStateException("Offer campaign was already rolled back.");
+            }
+            propertyRepository.revertCampaignPrices(id);
+            List<PropertyFacetView> properties = propertyRepository.findCampaignFacets(id);
+            offerRepository.deleteCampaignOffers(id);
+            campaign.setRolledBackAt(LocalDateTime.now());
+            return new CampaignResult(campaign, properties);
+        });
+
+        refreshIndexes(result.properties());
+        LOGGER.info("Offer campaign {} rolled back on {} properties", id, result.properties().size());
+        return OfferCampaignBuilder.toOfferCampaignDTO(result.campaign());
+    }
+
+    private void refreshIndexes(List<PropertyFacetView> properties) {
+        for (PropertyFacetView property : properties) {
+            facetIndex.put(property);
+            propertyCache.invalidate(property.getId());
+            propertyChangeFeed.publish(PropertyChangeType.PRICE_CHANGED, property);
+        }
+    }
+
+    private record CampaignResult(OfferCampaign campaign, List<PropertyFacetView> properties) {
+    }
+}
@@ -1,13 +1,16 @@
 package com.projectps.buildingmanagement.services;
 
+import com.projectps.buildingmanagement.cache.PropertyCache;
 import com.projectps.buildingmanagement.dtos.OfferDTO;
 import com.projectps.buildingmanagement.dtos.builders.OfferBuider;
 import com.projectps.buildingmanagement.entities.Contract;
 import com.projectps.buildingmanagement.entities.Offer;
 import com.projectps.buildingmanagement.entities.Property;
+import com.projectps.buildingmanagement.entities.enums.PropertyChangeType;
 import com.projectps.buildingmanagement.exceptions.ContractNotFoundException;
 import com.projectps.buildingmanagement.exceptions.OfferNotFoundException;
 import com.projectps.buildingmanagement.exceptions.PropertyNotFoundException;
+import com.projectps.buildingmanagement.index.FacetIndex;
 import com.projectps.buildingmanagement.repositories.OfferRepository;
 import com.projectps.buildingmanagement.repositories.PropertyRepository;
 import org.slf4j.Logger;
@@ -36,16 +39,22 @@ public class OfferService {
     @Autowired
     private PropertyRepository propertyRepository;
 
+    @Autowired
+    private FacetIndex facetIndex;
+
+    @Autowired
+    private PropertyCache propertyCache;
+
+    @Autowired
+    private PropertyChangeFeed propertyChangeFeed;
+
     /**
      * Retrieves all offers.
      *
      * @return a list of all offer DTOs
      */
     public List<OfferDTO> getAllOffers() {
-        List<Offer> offerList = offerRepository.findAll();
-        return offerList.stream()
-                .map(OfferBuider::toOfferDTO)
-                .collect(Collectors.toList());
+        return offerRepository.findAllOfferDTOs();
     }
 
     /**
@@ -85,12 +94,15 @@ public class OfferService {
             property.setPriceAfterOffer(finalPrice);
             property.setOfferApplied(true);
             propertyRepository.save(property);
+            facetIndex.put(property);
+            propertyChangeFeed.publish(PropertyChangeType.PRICE_CHANGED, property);
         } else {
             LOGGER.error("Property with ID {} not found", offerDTO.getProperty_id());
             throw new PropertyNotFoundException(Property.class.getSimpleName() + " with ID: " + offerDTO.getProperty_id());
         }
 
         offer = offerRepository.save(offer);
+        propertyCache.invalidate(offerDTO.getProperty_id());
 
         LOGGER.debug("Offer with id {} was inserted in db", offer.getId());
         LOGGER.info("Offer created successfully");
@@ -127,8 +139,12 @@ public class OfferService {
 
             property.setPriceAfterOffer(finalPrice);
             propertyRepository.save(property);
+            facetIndex.put(property);
+            propertyChangeFeed.publish(PropertyChangeType.PRICE_CHANGED, property);
         }
 
+        propertyCache.invalidate(existingOffer.getProperty().getId());
+
         LOGGER.debug("Offer with id {} was updated in db", updatedOffer.getId());
         LOGGER.info("Offer with id {} was updated successfully", id);
         return OfferBuider.toOfferDTO(updatedOffer);
@@ -159,6 +175,9 @@ public class OfferService {
             property.setPriceAfterOffer(property.getInitialPrice());
             property.setOfferApplied(false);
             propertyRepository.save(property);
+            facetIndex.put(property);
+            propertyChangeFeed.publish(PropertyChangeType.PRICE_CHANGED, property);
         }
+        propertyCache.invalidate(offer.getProperty().getId());
     }
 }
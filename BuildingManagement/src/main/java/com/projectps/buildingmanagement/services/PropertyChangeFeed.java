@@ -0,0 +1,298 @@
+package com.projectps.buildingmanagement.services;
+
+import com.projectps.buildingmanagement.dtos.PropertyChangeDTO;
+import com.projectps.buildingmanagement.entities.Property;
+import com.projectps.buildingmanagement.entities.enums.PropertyChangeType;
+import com.projectps.buildingmanagement.repositories.PropertyFacetView;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes property changes to the subscribed browsers as Server-Sent Events.
+ * Connections are held by the servlet container in async mode, so an idle subscriber costs no thread. Publishing only
+ * appends the change to each subscriber's bounded buffer; a small pool of dispatcher threads drains the buffers and
+ * writes every pending change of a subscriber as one event. A subscriber that falls behind by more than its buffer
+ * loses the buffered changes and is told to reload instead, so a slow client never holds memory.
+ * The socket writes themselves run on a separate pool, and a dispatcher waits for a write only up to the send timeout:
+ * a subscriber whose write takes longer is dropped, so a client that stopped reading holds at most one writer thread
+ * until the container gives up on the connection, and never a dispatcher.
+ */
+@Component
+public class PropertyChangeFeed {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PropertyChangeFeed.class);
+
+    private static final String CHANGES_EVENT = "changes";
+    private static final String RESYNC_EVENT = "resync";
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final Duration timeout;
+    private final Duration sendTimeout;
+    private final ExecutorService dispatcher;
+    private final ExecutorService writer;
+
+    @Autowired
+    public PropertyChangeFeed(@Value("${property-feed.buffer-size}") int bufferSize,
+                              @Value("${property-feed.max-subscribers}") int maxSubscribers,
+                              @Value("${property-feed.timeout}") Duration timeout,
+                              @Value("${property-feed.dispatcher-threads}") int dispatcherThreads,
+                              @Value("${property-feed.send-timeout}") Duration sendTimeout,
+                              @Value("${property-feed.max-writer-threads}") int maxWriterThreads) {
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.timeout = timeout;
+        this.sendTimeout = sendTimeout;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.dispatcher = Executors.newFixedThreadPool(dispatcherThreads, runnable -> {
+            Thread thread = new Thread(runnable, "property-feed-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Writer threads are created on demand and only stay busy while a client is slow to read;
+        // when all of them are stuck, further writes are rejected and their subscribers dropped.
+        AtomicInteger writerNumber = new AtomicInteger();
+        this.writer = new ThreadPoolExecutor(dispatcherThreads, maxWriterThreads, 60L, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "property-feed-writer-" + writerNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Opens a new subscription. The browser reconnects by itself when the subscription times out.
+     *
+     * @return the emitter streaming the changes to the subscriber
+     * @throws IllegalStateException if the feed already serves the maximum number of subscribers
+     */
+    public SseEmitter subscribe() {
+        return subscribe(new SseEmitter(timeout.toMillis()));
+    }
+
+    SseEmitter subscribe(SseEmitter emitter) {
+        if (subscribers.size() >= maxSubscribers) {
+            LOGGER.error("Property feed is full with {} subscribers", subscribers.size());
+            throw new IllegalStateException("Too many subscribers to the property feed.");
+        }
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> {
+            subscribers.remove(subscriber);
+            emitter.complete();
+        });
+        emitter.onError(error -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        return emitter;
+    }
+
+    /**
+     * Publishes the current state of a property after a change.
+     *
+     * @param type     the kind of change
+     * @param property the changed property
+     */
+    public void publish(PropertyChangeType type, Property property) {
+        publish(PropertyChangeDTO.builder()
+                .propertyId(property.getId())
+                .type(type)
+                .rented(property.isRented())
+                .priceAfterOffer(property.getPriceAfterOffer())
+                .build());
+    }
+
+    /**
+     * Publishes the current state of a property changed by a bulk update.
+     *
+     * @param type the kind of change
+     * @param view the facet attributes of the property
+     */
+    public void publish(PropertyChangeType type, PropertyFacetView view) {
+        publish(PropertyChangeDTO.builder()
+                .propertyId(view.getId())
+                .type(type)
+                .rented(view.isRented())
+                .priceAfterOffer(view.getPriceAfterOffer())
+                .build());
+    }
+
+    /**
+     * Publishes the removal of a property.
+     *
+     * @param propertyId the ID of the removed property
+     */
+    public void publishRemoved(UUID propertyId) {
+        publish(PropertyChangeDTO.builder()
+                .propertyId(propertyId)
+                .type(PropertyChangeType.REMOVED)
+                .build());
+    }
+
+    /**
+     * Counts the open subscriptions.
+     *
+     * @return the number of subscribers
+     */
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Sends a comment to every idle subscriber, so that proxies keep the connections open
+     * and the connections of departed browsers are noticed and closed.
+     */
+    @Scheduled(fixedDelayString = "${property-feed.heartbeat-interval-millis}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.heartbeat();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        writer.shutdownNow();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+        subscribers.clear();
+    }
+
+    private void publish(PropertyChangeDTO change) {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.enqueue(change);
+        }
+    }
+
+    private final class Subscriber implements Runnable {
+        private final SseEmitter emitter;
+        private final ArrayBlockingQueue<PropertyChangeDTO> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean overflowed = new AtomicBoolean();
+        private final AtomicBoolean heartbeatDue = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        private void enqueue(PropertyChangeDTO change) {
+            if (!buffer.offer(change)) {
+                // The subscriber fell behind: its buffered changes are replaced by a request to reload.
+                overflowed.set(true);
+                buffer.clear();
+            }
+            schedule();
+        }
+
+        private void heartbeat() {
+            heartbeatDue.set(true);
+            schedule();
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                dispatcher.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                if (overflowed.getAndSet(false)) {
+                    buffer.clear();
+                    send(SseEmitter.event().name(RESYNC_EVENT).data(""));
+                }
+                List<PropertyChangeDTO> changes = new ArrayList<>(buffer.size());
+                buffer.drainTo(changes);
+                if (!changes.isEmpty()) {
+                    send(SseEmitter.event().name(CHANGES_EVENT).data(changes, MediaType.APPLICATION_JSON));
+                } else if (heartbeatDue.get()) {
+                    send(SseEmitter.event().comment("heartbeat"));
+                }
+                heartbeatDue.set(false);
+            } catch (IOException | IllegalStateException | TimeoutException e) {
+                LOGGER.debug("Dropping property feed subscriber: {}", e.toString());
+                drop(e);
+                return;
+            } finally {
+                scheduled.set(false);
+            }
+            if (!buffer.isEmpty() || overflowed.get()) {
+                schedule();
+            }
+        }
+
+        /**
+         * Writes an event on a writer thread, waiting for it at most the send timeout.
+         */
+        private void send(SseEmitter.SseEventBuilder event) throws IOException, TimeoutException {
+            Future<?> write;
+            try {
+                write = writer.submit(() -> {
+                    emitter.send(event);
+                    return null;
+                });
+            } catch (RejectedExecutionException e) {
+                throw new TimeoutException("Every property feed writer is busy");
+            }
+            try {
+                write.get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                write.cancel(true);
+                throw new TimeoutException("Sending took longer than " + sendTimeout);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                write.cancel(true);
+                throw new IOException(e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException ioException) {
+                    throw ioException;
+                }
+                if (e.getCause() instanceof IllegalStateException illegalStateException) {
+                    throw illegalStateException;
+                }
+                throw new IOException(e.getCause());
+            }
+        }
+
+        /**
+         * Stops delivering to the subscriber. The emitter is completed on a writer thread, because completing it
+         * waits for the lock held by a write that may still be stuck.
+         */
+        private void drop(Exception cause) {
+            subscribers.remove(this);
+            try {
+                writer.execute(() -> emitter.completeWithError(cause));
+            } catch (RejectedExecutionException e) {
+                LOGGER.debug("Property feed subscriber left to the container to close");
+            }
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package com.projectps.buildingmanagement.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projectps.buildingmanagement.dtos.ImportErrorDTO;
+import com.projectps.buildingmanagement.dtos.ImportReportDTO;
+import com.projectps.buildingmanagement.dtos.PropertyDTO;
+import com.projectps.buildingmanagement.entities.Property;
+import com.projectps.buildingmanagement.entities.enums.PropertyStatus;
+import com.projectps.buildingmanagement.entities.enums.PropertyType;
+import com.projectps.buildingmanagement.files.ExportFormat;
+import com.projectps.buildingmanagement.files.TableImporter;
+import com.projectps.buildingmanagement.index.FacetIndex;
+import com.projectps.buildingmanagement.index.GeoIndex;
+import com.projectps.buildingmanagement.index.LocationIndex;
+import com.projectps.buildingmanagement.repositories.PropertyRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * This service class imports properties in bulk from a CSV or newline-delimited JSON stream.
+ * The input is read in chunks so memory use does not depend on its size. Each chunk is validated in parallel with
+ * the same rules as a single insert, checked against the unique locations with one index lookup and inserted in
+ * JDBC batches in its own transaction. Rows that fail are reported with their position instead of aborting the import.
+ */
+@Service
+public class PropertyImportService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PropertyImportService.class);
+
+    private static final TableImporter<PropertyDTO> IMPORTER = new TableImporter<>(PropertyDTO.class, PropertyDTO::new)
+            .column("location", true, PropertyDTO::setLocation)
+            .column("latitude", true, (property, value) -> property.setLatitude(Double.parseDouble(value.trim())))
+            .column("longitude", true, (property, value) -> property.setLongitude(Double.parseDouble(value.trim())))
+            .column("roomsNumber", true, (property, value) -> property.setRoomsNumber(Integer.parseInt(value.trim())))
+            .column("initialPrice", true, (property, value) -> property.setInitialPrice(Float.parseFloat(value.trim())))
+            .column("propertyType", true, (property, value) ->
+                    property.setPropertyType(PropertyType.valueOf(value.trim().toUpperCase(Locale.ROOT))))
+            .column("propertyStatus", true, (property, value) ->
+                    property.setPropertyStatus(PropertyStatus.valueOf(value.trim().toUpperCase(Locale.ROOT))))
+            .column("imageUrl", false, PropertyDTO::setImageUrl);
+
+    private final PropertyRepository propertyRepository;
+    private final PropertyService propertyService;
+    private final GeoIndex geoIndex;
+    private final LocationIndex locationIndex;
+    private final FacetIndex facetIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public PropertyImportService(PropertyRepository propertyRepository,
+                                 PropertyService propertyService,
+                                 GeoIndex geoIndex,
+                                 LocationIndex locationIndex,
+                                 FacetIndex facetIndex,
+                                 TransactionTemplate transactionTemplate,
+                                 ObjectMapper objectMapper,
+                                 @Value("${property-import.chunk-size}") int chunkSize,
+                                 @Value("${property-import.max-reported-errors}") int maxReportedErrors) {
+        this.propertyRepository = propertyRepository;
+        this.propertyService = propertyService;
+        this.geoIndex = geoIndex;
+        this.locationIndex = locationIndex;
+        this.facetIndex = facetIndex;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    /**
+     * Imports every property in the input as a new, unrented property without an offer.
+     * CSV input needs a header row naming the columns location, latitude, longitude, roomsNumber, initialPrice,
+     * propertyType and propertyStatus, plus an optional imageUrl; NDJSON input has one property object per line.
+     *
+     * @param inputStream the input, read to the end but not closed
+     * @param format      the input format
+     * @return the number of imported properties and the errors of the rejected rows, by data row number
+     * @throws IOException              if reading fails
+     * @throws IllegalArgumentException if the CSV header lacks a required column
+     */
+    public ImportReportDTO importProperties(InputStream inputStream, ExportFormat format) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        TableImporter.RowReader<PropertyDTO> rows;
+        try {
+            rows = IMPORTER.open(reader, format, objectMapper);
+        } catch (IllegalArgumentException e) {
+            LOGGER.error("Property import header is invalid: {}", e.getMessage());
+            throw e;
+        }
+        ImportReportDTO report = ImportReportDTO.builder().build();
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+        TableImporter.Row<PropertyDTO> row;
+        while ((row = rows.next()) != null) {
+            chunk.add(new ImportRow(row));
+            if (chunk.size() == chunkSize) {
+                importChunk(chunk, report);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, report);
+        }
+        LOGGER.info("Property import finished: {} of {} rows imported", report.getImported(), report.getTotal());
+        return report;
+    }
+
+    private void importChunk(List<ImportRow> chunk, ImportReportDTO report) {
+        chunk.parallelStream()
+                .filter(row -> row.error == null)
+                .forEach(row -> row.error = propertyService.validationError(row.property));
+        rejectDuplicatesInChunk(chunk);
+        rejectTakenLocations(chunk);
+        List<Property> inserted = insert(chunk.stream().filter(row -> row.error == null).toList());
+        for (Property property : inserted) {
+            geoIndex.put(property.getId(), property.getLatitude(), property.getLongitude());
+            locationIndex.put(property.getId(), property.getLocation());
+            facetIndex.put(property);
+        }
+
+        for (ImportRow row : chunk) {
+            report.setTotal(report.getTotal() + 1);
+            if (row.error == null) {
+                report.setImported(report.getImported() + 1);
+            } else {
+                report.setFailed(report.getFailed() + 1);
+                if (report.getErrors().size() < maxReportedErrors) {
+                    report.getErrors().add(new ImportErrorDTO(row.number, row.error));
+                }
+            }
+        }
+    }
+
+    /**
+     * Keeps the first row of each location in the chunk. Earlier chunks are already committed,
+     * so a repeat of one of their locations is caught by the database lookup instead.
+     */
+    private void rejectDuplicatesInChunk(List<ImportRow> chunk) {
+        Set<String> locations = new HashSet<>();
+        for (ImportRow row : chunk) {
+            if (row.error == null && !locations.add(row.property.getLocation())) {
+                row.error = "Location " + row.property.getLocation() + " appears more than once in the import";
+            }
+        }
+    }
+
+    private void rejectTakenLocations(List<ImportRow> chunk) {
+        List<ImportRow> candidates = chunk.stream().filter(row -> row.error == null).toList();
+        if (candidates.isEmpty()) {
+            return;
+        }
+        Set<String> takenLocations = new HashSet<>(propertyRepository.findExistingLocations(
+                candidates.stream().map(row -> row.property.getLocation()).toList()));
+        for (ImportRow row : candidates) {
+            if (takenLocations.contains(row.property.getLocation())) {
+                row.error = "Location " + row.property.getLocation() + " already exists";
+            }
+        }
+    }
+
+    /**
+     * Inserts the rows in one batched transaction. If a concurrent insert took one of their locations
+     * in the meantime, the rows are retried one by one so only the conflicting ones are rejected.
+     *
+     * @return the inserted properties
+     */
+    private List<Property> insert(List<ImportRow> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        try {
+            return transactionTemplate.execute(status -> {
+                List<Property> properties = propertyRepository.saveAllAndFlush(
+                        rows.stream().map(row -> toEntity(row.property)).toList());
+                entityManager.clear();
+                return properties;
+            });
+        } catch (DataIntegrityViolationException e) {
+            LOGGER.error("Batch insert of {} properties failed, retrying one by one: {}", rows.size(), e.getMessage());
+            List<Property> inserted = new ArrayList<>();
+            for (ImportRow row : rows) {
+                try {
+                    inserted.add(transactionTemplate.execute(status -> {
+                        Property property = propertyRepository.saveAndFlush(toEntity(row.property));
+                        entityManager.clear();
+                        return property;
+                    }));
+                } catch (DataIntegrityViolationException rowException) {
+                    row.error = "Location " + row.property.getLocation() + " already exists";
+                }
+            }
+            return inserted;
+        }
+    }
+
+    /**
+     * Maps only the columns, with the defaults of a newly created property.
+     */
+    private static Property toEntity(PropertyDTO propertyDTO) {
+        return Property.builder()
+                .location(propertyDTO.getLocation())
+                .latitude(propertyDTO.getLatitude())
+                .longitude(propertyDTO.getLongitude())
+                .roomsNumber(propertyDTO.getRoomsNumber())
+                .initialPrice(propertyDTO.getInitialPrice())
+                .priceAfterOffer(propertyDTO.getInitialPrice())
+                .isRented(false)
+                .isOfferApplied(false)
+                .propertyType(propertyDTO.getPropertyType())
+                .propertyStatus(propertyDTO.getPropertyStatus())
+                .imageUrl(propertyDTO.getImageUrl())
+                .build();
+    }
+
+    private static final class ImportRow {
+        private final long number;
+        private final PropertyDTO property;
+        private String error;
+
+        private ImportRow(TableImporter.Row<PropertyDTO> row) {
+            this.number = row.number();
+            this.property = row.value();
+            this.error = row.error();
+        }
+    }
+}
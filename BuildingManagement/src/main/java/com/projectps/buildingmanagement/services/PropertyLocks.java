@@ -0,0 +1,50 @@
+package com.projectps.buildingmanagement.services;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Striped in-process locks keyed by property.
+ * Writers of the same property queue here instead of on the database row lock, while writers of different
+ * properties almost never share a stripe. The locks only reduce contention: correctness still comes from the
+ * conditional updates in the database, which also cover other application nodes.
+ */
+@Component
+public class PropertyLocks {
+
+    private final ReentrantLock[] stripes;
+
+    @Autowired
+    public PropertyLocks(@Value("${property-locks.stripes}") int stripes) {
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("The number of lock stripes must be greater than 0.");
+        }
+        this.stripes = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Runs an action while holding the lock of a property.
+     *
+     * @param propertyId the ID of the property
+     * @param action     the action, typically a whole transaction so the lock is held until it commits
+     * @param <T>        the result type
+     * @return the result of the action
+     */
+    public <T> T withLock(UUID propertyId, Supplier<T> action) {
+        ReentrantLock lock = stripes[Math.floorMod(propertyId.hashCode(), stripes.length)];
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -1,16 +1,31 @@
 package com.projectps.buildingmanagement.services;
 
+import com.projectps.buildingmanagement.cache.PropertyCache;
+import com.projectps.buildingmanagement.dtos.PropertyCursor;
 import com.projectps.buildingmanagement.dtos.PropertyDTO;
+import com.projectps.buildingmanagement.dtos.PropertyFacetsDTO;
+import com.projectps.buildingmanagement.dtos.PropertyPageDTO;
+import com.projectps.buildingmanagement.dtos.PropertySearchCriteria;
 import com.projectps.buildingmanagement.dtos.builders.PropertyBuilder;
 import com.projectps.buildingmanagement.entities.Property;
+import com.projectps.buildingmanagement.entities.enums.PropertyChangeType;
 import com.projectps.buildingmanagement.exceptions.PropertyNotFoundException;
+import com.projectps.buildingmanagement.index.FacetIndex;
+import com.projectps.buildingmanagement.index.GeoIndex;
+import com.projectps.buildingmanagement.index.LocationIndex;
+import com.projectps.buildingmanagement.index.WaitlistIndex;
 import com.projectps.buildingmanagement.repositories.PropertyRepository;
+import com.projectps.buildingmanagement.repositories.PropertySpecifications;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -21,11 +36,27 @@ import java.util.stream.Collectors;
 @Service
 public class PropertyService {
   private static final Logger LOGGER = LoggerFactory.getLogger(PropertyService.class);
+  private static final int DEFAULT_PAGE_SIZE = 24;
+  private static final int MAX_PAGE_SIZE = 100;
   private PropertyRepository propertyRepository;
+  private final GeoIndex geoIndex;
+  private final LocationIndex locationIndex;
+  private final FacetIndex facetIndex;
+  private final WaitlistIndex waitlistIndex;
+  private final PropertyCache propertyCache;
+  private final PropertyChangeFeed propertyChangeFeed;
 
   @Autowired
-  public PropertyService(PropertyRepository propertyRepository) {
+  public PropertyService(PropertyRepository propertyRepository, GeoIndex geoIndex, LocationIndex locationIndex,
+                         FacetIndex facetIndex, WaitlistIndex waitlistIndex, PropertyCache propertyCache,
+                         PropertyChangeFeed propertyChangeFeed) {
     this.propertyRepository = propertyRepository;
+    this.propertyCache = propertyCache;
+    this.propertyChangeFeed = propertyChangeFeed;
+    this.geoIndex = geoIndex;
+    this.locationIndex = locationIndex;
+    this.facetIndex = facetIndex;
+    this.waitlistIndex = waitlistIndex;
   }
 
   /**
@@ -41,18 +72,150 @@ public class PropertyService {
   }
 
   /**
-   * Retrieves all properties available for customers (not rented).
+   * Searches the property catalogue, filtering and sorting by price in the database.
+   * Pages are addressed with a keyset cursor, so every page costs an index seek
+   * no matter how deep it is.
    *
-   * @return a list of all available property DTOs
+   * @param criteria the filters, sort direction, cursor and page size
+   * @return the requested page and the cursor of the next one
+   * @throws IllegalArgumentException if the criteria or the cursor are invalid
    */
-  public List<PropertyDTO> getAllPropertiesCustomer() {
-    List<Property> propertyList = propertyRepository.findAll();
-    return propertyList.stream()
-            .filter(property -> !property.isRented()) // Filter out rented properties
-            .map(PropertyBuilder::toPropertyDTO)
+  public PropertyPageDTO searchProperties(PropertySearchCriteria criteria) {
+    int size = criteria.getSize() == null ? DEFAULT_PAGE_SIZE : criteria.getSize();
+    if (size <= 0 || size > MAX_PAGE_SIZE) {
+      LOGGER.error("Invalid page size: {}", size);
+      throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE + ".");
+    }
+    if (criteria.getMinPrice() != null && criteria.getMaxPrice() != null
+            && criteria.getMinPrice() > criteria.getMaxPrice()) {
+      LOGGER.error("Invalid price range: {} - {}", criteria.getMinPrice(), criteria.getMaxPrice());
+      throw new IllegalArgumentException("Minimum price must not exceed maximum price.");
+    }
+    if (criteria.getMinRooms() != null && criteria.getMaxRooms() != null
+            && criteria.getMinRooms() > criteria.getMaxRooms()) {
+      LOGGER.error("Invalid rooms range: {} - {}", criteria.getMinRooms(), criteria.getMaxRooms());
+      throw new IllegalArgumentException("Minimum rooms number must not exceed maximum rooms number.");
+    }
+
+    Sort.Direction direction = criteria.getSort() == null ? Sort.Direction.ASC : criteria.getSort();
+    Specification<Property> specification = PropertySpecifications.matching(criteria);
+    if (criteria.getCursor() != null && !criteria.getCursor().isEmpty()) {
+      specification = specification.and(PropertySpecifications.after(PropertyCursor.decode(criteria.getCursor()), direction));
+    }
+    Sort sort = Sort.by(direction, "priceAfterOffer", "id");
+
+    // One extra row tells us whether a next page exists without a count query.
+    List<Property> propertyList = propertyRepository.findBy(specification,
+            query -> query.sortBy(sort).limit(size + 1).project(PropertyRepository.DTO_GRAPH).all());
+    boolean hasNext = propertyList.size() > size;
+    if (hasNext) {
+      propertyList = propertyList.subList(0, size);
+    }
+
+    String nextCursor = null;
+    if (hasNext) {
+      Property last = propertyList.get(propertyList.size() - 1);
+      nextCursor = new PropertyCursor(last.getPriceAfterOffer(), last.getId()).encode();
+    }
+    return PropertyPageDTO.builder()
+            .properties(propertyList.stream()
+                    .map(PropertyBuilder::toPropertyDTO)
+                    .collect(Collectors.toList()))
+            .nextCursor(nextCursor)
+            .hasNext(hasNext)
+            .build();
+  }
+
+  /**
+   * Retrieves the properties within the given distance of a point, nearest first.
+   *
+   * @param latitude  the latitude of the center
+   * @param longitude the longitude of the center
+   * @param radiusKm  the search radius in kilometers
+   * @param limit     the maximum number of properties to return
+   * @return a list of property DTOs ordered by distance
+   * @throws IllegalArgumentException if the coordinates, radius or limit are invalid
+   */
+  public List<PropertyDTO> getPropertiesNearby(double latitude, double longitude, double radiusKm, int limit) {
+    if (!isValidLatitude(latitude) || !isValidLongitude(longitude)) {
+      LOGGER.error("Invalid latitude or longitude: Latitude={}, Longitude={}", latitude, longitude);
+      throw new IllegalArgumentException("Invalid latitude or longitude values.");
+    }
+    if (radiusKm <= 0) {
+      LOGGER.error("Invalid radius: {}", radiusKm);
+      throw new IllegalArgumentException("Radius must be greater than 0.");
+    }
+    validateLimit(limit);
+    return getPropertiesInOrder(geoIndex.findWithinRadius(latitude, longitude, radiusKm, limit));
+  }
+
+  /**
+   * Retrieves the properties inside a map viewport.
+   *
+   * @param south the southern latitude of the viewport
+   * @param west  the western longitude of the viewport
+   * @param north the northern latitude of the viewport
+   * @param east  the eastern longitude of the viewport
+   * @param limit the maximum number of properties to return
+   * @return a list of property DTOs inside the viewport
+   * @throws IllegalArgumentException if the bounds or limit are invalid
+   */
+  public List<PropertyDTO> getPropertiesWithinBounds(double south, double west, double north, double east, int limit) {
+    if (!isValidLatitude(south) || !isValidLatitude(north) || !isValidLongitude(west) || !isValidLongitude(east) || south > north) {
+      LOGGER.error("Invalid bounds: South={}, West={}, North={}, East={}", south, west, north, east);
+      throw new IllegalArgumentException("Invalid bounding box values.");
+    }
+    validateLimit(limit);
+    return getPropertiesInOrder(geoIndex.findWithinBounds(south, west, north, east, limit));
+  }
+
+  /**
+   * Searches properties by location, tolerating missing diacritics and typos.
+   *
+   * @param query  the searched location text
+   * @param rented if not null, only properties with this rental state are returned
+   * @param limit  the maximum number of properties to return
+   * @return a list of property DTOs, best match first
+   * @throws IllegalArgumentException if the query or limit are invalid
+   */
+  public List<PropertyDTO> searchPropertiesByLocation(String query, Boolean rented, int limit) {
+    if (query == null || query.isBlank()) {
+      LOGGER.error("Empty location query");
+      throw new IllegalArgumentException("Location query must not be empty.");
+    }
+    validateLimit(limit);
+    if (rented == null) {
+      return getPropertiesInOrder(locationIndex.search(query, limit));
+    }
+    // The rental state is checked while ranking, so matches in the other state do not use up the limit.
+    List<UUID> ids = locationIndex.search(query, limit, id -> rented.equals(facetIndex.isRented(id)));
+    return getPropertiesInOrder(ids).stream()
+            .filter(property -> property.isRented() == rented)
             .collect(Collectors.toList());
   }
 
+  /**
+   * Suggests property locations containing a word that starts with the given prefix.
+   *
+   * @param prefix the typed prefix
+   * @param limit  the maximum number of suggestions
+   * @return a list of matching locations
+   * @throws IllegalArgumentException if the limit is invalid
+   */
+  public List<String> autocompleteLocation(String prefix, int limit) {
+    validateLimit(limit);
+    return locationIndex.autocomplete(prefix, limit);
+  }
+
+  /**
+   * Retrieves the facet counts and the price histogram of the available properties.
+   *
+   * @return the current facet counts
+   */
+  public PropertyFacetsDTO getPropertyFacets() {
+    return facetIndex.snapshot();
+  }
+
   /**
    * Retrieves a property by ID.
    *
@@ -61,12 +224,12 @@ public class PropertyService {
    * @throws PropertyNotFoundException if the property is not found
    */
   public PropertyDTO getPropertyById(UUID id) throws PropertyNotFoundException {
-    Optional<Property> propertyOptional = propertyRepository.findById(id);
-    if (!propertyOptional.isPresent()) {
+    PropertyDTO propertyDTO = propertyCache.get(id);
+    if (propertyDTO == null) {
       LOGGER.error("Property with id {} was not found in db", id);
       throw new PropertyNotFoundException("Property with id " + id + " not found!");
     }
-    return PropertyBuilder.toPropertyDTO(propertyOptional.get());
+    return propertyDTO;
   }
 
   /**
@@ -76,25 +239,10 @@ public class PropertyService {
    * @return the created property DTO
    */
   public PropertyDTO createProperty(PropertyDTO propertyDTO) {
-
-    if (propertyDTO.getLocation().length() > 50) {
-      LOGGER.error("Location is too long: {}", propertyDTO.getLocation());
-      throw new IllegalArgumentException("Location must be 50 characters or less.");
-    }
-
-    if (propertyDTO.getRoomsNumber() <= 0) {
-      LOGGER.error("Invalid rooms number: {}", propertyDTO.getRoomsNumber());
-      throw new IllegalArgumentException("Rooms number must be greater than 0.");
-    }
-
-    if (propertyDTO.getInitialPrice() <= 0) {
-      LOGGER.error("Invalid initial price: {}", propertyDTO.getInitialPrice());
-      throw new IllegalArgumentException("Initial price must be greater than 0.");
-    }
-
-    if (!isValidLatitude(propertyDTO.getLatitude()) || !isValidLongitude(propertyDTO.getLongitude())) {
-      LOGGER.error("Invalid latitude or longitude: Latitude={}, Longitude={}", propertyDTO.getLatitude(), propertyDTO.getLongitude());
-      throw new IllegalArgumentException("Invalid latitude or longitude values.");
+    String validationError = validationError(propertyDTO);
+    if (validationError != null) {
+      LOGGER.error("Invalid property {}: {}", propertyDTO.getLocation(), validationError);
+      throw new IllegalArgumentException(validationError);
     }
 
     Property property = PropertyBuilder.toEntity(propertyDTO);
@@ -110,11 +258,43 @@ public class PropertyService {
     }
 
     property = propertyRepository.save(property);
+    geoIndex.put(property.getId(), property.getLatitude(), property.getLongitude());
+    locationIndex.put(property.getId(), property.getLocation());
+    facetIndex.put(property);
     LOGGER.debug("Property with id {} was inserted in db", property.getId());
     LOGGER.info("Property created successfully");
     return PropertyBuilder.toPropertyDTO(property);
   }
 
+  /**
+   * Validates the fields of a new property, in the order the insert form shows them.
+   * Safe to call from several threads at once.
+   *
+   * @param propertyDTO the property to validate
+   * @return the message describing the first invalid field, or null if the property is valid
+   */
+  public String validationError(PropertyDTO propertyDTO) {
+    if (propertyDTO.getLocation() == null || propertyDTO.getLocation().isBlank()) {
+      return "Location is required.";
+    }
+    if (propertyDTO.getLocation().length() > 50) {
+      return "Location must be 50 characters or less.";
+    }
+    if (propertyDTO.getRoomsNumber() <= 0) {
+      return "Rooms number must be greater than 0.";
+    }
+    if (propertyDTO.getInitialPrice() <= 0) {
+      return "Initial price must be greater than 0.";
+    }
+    if (!isValidLatitude(propertyDTO.getLatitude()) || !isValidLongitude(propertyDTO.getLongitude())) {
+      return "Invalid latitude or longitude values.";
+    }
+    if (propertyDTO.getPropertyType() == null || propertyDTO.getPropertyStatus() == null) {
+      return "Property type and status are required.";
+    }
+    return null;
+  }
+
   /**
    * Updates a property by ID.
    *
@@ -124,7 +304,7 @@ public class PropertyService {
    * @throws PropertyNotFoundException if the property is not found
    */
   public PropertyDTO updateProperty(UUID id, PropertyDTO propertyDTO) throws PropertyNotFoundException {
-    Optional<Property> propertyOptional = propertyRepository.findById(id);
+    Optional<Property> propertyOptional = propertyRepository.findWithRelationsById(id);
     if (!propertyOptional.isPresent()) {
       LOGGER.error("Property with id {} was not found in db", id);
       throw new PropertyNotFoundException("Property with id " + id + " not found!");
@@ -174,6 +354,11 @@ public class PropertyService {
     }
 
     Property updatedProperty = propertyRepository.save(existingProperty);
+    geoIndex.put(updatedProperty.getId(), updatedProperty.getLatitude(), updatedProperty.getLongitude());
+    locationIndex.put(updatedProperty.getId(), updatedProperty.getLocation());
+    facetIndex.put(updatedProperty);
+    propertyCache.invalidate(id);
+    propertyChangeFeed.publish(PropertyChangeType.UPDATED, updatedProperty);
 
     LOGGER.debug("Property with id {} was updated successfully", id);
     LOGGER.info("Property with id {} was updated successfully", id);
@@ -194,9 +379,42 @@ public class PropertyService {
       throw new PropertyNotFoundException("Property with id " + id + " not found!");
     }
     propertyRepository.deleteById(id);
+    geoIndex.remove(id);
+    locationIndex.remove(id);
+    facetIndex.remove(id);
+    waitlistIndex.removeProperty(id);
+    propertyCache.invalidate(id);
+    propertyChangeFeed.publishRemoved(id);
     LOGGER.info("Property with id {} was deleted successfully", id);
   }
 
+  /**
+   * Loads the given properties through the cache and returns them in the same order as the IDs.
+   *
+   * @param ids the IDs of the properties
+   * @return the property DTOs in the order of the IDs
+   */
+  private List<PropertyDTO> getPropertiesInOrder(List<UUID> ids) {
+    Map<UUID, PropertyDTO> propertiesById = propertyCache.getAll(ids);
+    return ids.stream()
+            .map(propertiesById::get)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+  }
+
+  /**
+   * Validates the maximum number of results of a query.
+   *
+   * @param limit the limit to validate
+   * @throws IllegalArgumentException if the limit is out of range
+   */
+  private void validateLimit(int limit) {
+    if (limit <= 0 || limit > MAX_PAGE_SIZE) {
+      LOGGER.error("Invalid limit: {}", limit);
+      throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE + ".");
+    }
+  }
+
   /**
    * Validates the latitude value.
    *
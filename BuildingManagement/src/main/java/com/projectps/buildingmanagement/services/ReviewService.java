@@ -1,15 +1,15 @@
 package com.projectps.buildingmanagement.services;
 
 
+import com.projectps.buildingmanagement.auth.CurrentUserResolver;
 import com.projectps.buildingmanagement.dtos.ReviewDTO;
-import com.projectps.buildingmanagement.dtos.UserDTO;
+import com.projectps.buildingmanagement.dtos.SessionUserDTO;
 import com.projectps.buildingmanagement.dtos.builders.ReviewBuilder;
 import com.projectps.buildingmanagement.entities.Review;
 import com.projectps.buildingmanagement.entities.User;
 import com.projectps.buildingmanagement.exceptions.ReviewNotFoundException;
 import com.projectps.buildingmanagement.repositories.ReviewRepository;
 import com.projectps.buildingmanagement.repositories.UserRepository;
-import jakarta.servlet.http.HttpSession;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -27,25 +27,24 @@ import java.util.stream.Collectors;
 @Service
 public class ReviewService {
     private static final Logger LOGGER = LoggerFactory.getLogger(ReviewService.class);
-    private static final String SESSION_USER_KEY = "logged_user";
 
     private ReviewRepository reviewRepository;
 
     @Autowired
     private UserRepository userRepository;
 
-    private final HttpSession session;
+    private final CurrentUserResolver currentUserResolver;
 
     /**
-     * Constructs a new ReviewService with the specified repository and session.
+     * Constructs a new ReviewService with the specified repository and principal resolver.
      *
      * @param reviewRepository the repository for accessing review data
-     * @param session          the HTTP session
+     * @param currentUserResolver the resolver of the logged-in user
      */
     @Autowired
-    public ReviewService(ReviewRepository reviewRepository, HttpSession session) {
+    public ReviewService(ReviewRepository reviewRepository, CurrentUserResolver currentUserResolver) {
         this.reviewRepository = reviewRepository;
-        this.session = session;
+        this.currentUserResolver = currentUserResolver;
     }
 
     /**
@@ -54,10 +53,7 @@ public class ReviewService {
      * @return a list of all review DTOs
      */
     public List<ReviewDTO> getAllReviews() {
-        List<Review> reviewList = reviewRepository.findAll();
-        return reviewList.stream()
-                .map(ReviewBuilder::toReviewDTO)
-                .collect(Collectors.toList());
+        return reviewRepository.findAllReviewDTOs();
     }
 
     /**
@@ -66,7 +62,7 @@ public class ReviewService {
      * @return a list of all review DTOs for the logged-in customer
      */
     public List<ReviewDTO> getAllReviewsCustomer() {
-        UserDTO loggedUser = (UserDTO) session.getAttribute("logged_user");
+        SessionUserDTO loggedUser = currentUserResolver.getCurrentUser();
         if (loggedUser == null || loggedUser.getId() == null) {
             LOGGER.error("Customer ID not found in session");
             throw new IllegalStateException("Customer ID not found in session");
@@ -101,7 +97,7 @@ public class ReviewService {
      * @throws ReviewNotFoundException if the review is not found
      */
     public ReviewDTO getReviewByIdCustomer(UUID id) throws ReviewNotFoundException {
-        UserDTO loggedUser = (UserDTO) session.getAttribute("logged_user");
+        SessionUserDTO loggedUser = currentUserResolver.getCurrentUser();
         if (loggedUser.getId() == null) {
             LOGGER.error("Customer ID not found in session");
             throw new IllegalStateException("Customer ID not found in session");
@@ -143,7 +139,7 @@ public class ReviewService {
 
         reviewDTO.setDate(LocalDateTime.now());
 
-        UserDTO loggedUser = (UserDTO) session.getAttribute("logged_user");
+        SessionUserDTO loggedUser = currentUserResolver.getCurrentUser();
         if (loggedUser == null || loggedUser.getId() == null) {
             LOGGER.error("User not logged in or user ID not found in session");
             throw new IllegalStateException("User not logged in or user ID not found in session");
@@ -248,7 +244,7 @@ public class ReviewService {
      * @throws ReviewNotFoundException if the review is not found
      */
     public void deleteReviewCustomer(UUID id) throws ReviewNotFoundException {
-        UserDTO loggedUser = (UserDTO) session.getAttribute("logged_user");
+        SessionUserDTO loggedUser = currentUserResolver.getCurrentUser();
         if (loggedUser == null) {
             LOGGER.error("User not logged in");
             throw new IllegalStateException("User not logged in");
@@ -0,0 +1,195 @@
+package com.projectps.buildingmanagement.services;
+
+import com.projectps.buildingmanagement.cache.PropertyCache;
+import com.projectps.buildingmanagement.dtos.SolicitationApprovalDTO;
+import com.projectps.buildingmanagement.dtos.SolicitationApprovalReportDTO;
+import com.projectps.buildingmanagement.dtos.SolicitationApprovalResultDTO;
+import com.projectps.buildingmanagement.dtos.SolicitationDTO;
+import com.projectps.buildingmanagement.entities.Contract;
+import com.projectps.buildingmanagement.entities.Property;
+import com.projectps.buildingmanagement.entities.User;
+import com.projectps.buildingmanagement.entities.enums.PropertyChangeType;
+import com.projectps.buildingmanagement.index.FacetIndex;
+import com.projectps.buildingmanagement.index.WaitlistIndex;
+import com.projectps.buildingmanagement.repositories.ContractRepository;
+import com.projectps.buildingmanagement.repositories.PropertyRepository;
+import com.projectps.buildingmanagement.repositories.SolicitationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * This service class turns a batch of solicitations into contracts at once.
+ * The whole batch is one transaction with a fixed number of statements: the solicitations are read in one query,
+ * the available properties are locked in one query, the contracts are inserted and the properties marked rented
+ * in JDBC batches, and the approved solicitations are deleted by a single statement.
+ */
+@Service
+public class SolicitationApprovalService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SolicitationApprovalService.class);
+
+    private final SolicitationRepository solicitationRepository;
+    private final PropertyRepository propertyRepository;
+    private final ContractRepository contractRepository;
+    private final WaitlistIndex waitlistIndex;
+    private final FacetIndex facetIndex;
+    private final PropertyCache propertyCache;
+    private final PropertyChangeFeed propertyChangeFeed;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxBatchSize;
+
+    @Autowired
+    public SolicitationApprovalService(SolicitationRepository solicitationRepository,
+                                       PropertyRepository propertyRepository,
+                                       ContractRepository contractRepository,
+                                       WaitlistIndex waitlistIndex,
+                                       FacetIndex facetIndex,
+                                       PropertyCache propertyCache,
+                                       PropertyChangeFeed propertyChangeFeed,
+                                       TransactionTemplate transactionTemplate,
+                                       @Value("${solicitation-approval.max-batch-size}") int maxBatchSize) {
+        this.solicitationRepository = solicitationRepository;
+        this.propertyRepository = propertyRepository;
+        this.contractRepository = contractRepository;
+        this.waitlistIndex = waitlistIndex;
+        this.facetIndex = facetIndex;
+        this.propertyCache = propertyCache;
+        this.propertyChangeFeed = propertyChangeFeed;
+        this.transactionTemplate = transactionTemplate;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Approves a batch of solicitations, creating a contract for each one with the given terms,
+     * marking its property rented and removing the solicitation.
+     * When several selected solicitations request the same property, the one that comes first in the property's
+     * waitlist is approved and the others are rejected, so the outcome does not depend on the order of the IDs.
+     * Solicitations whose property is already rented are rejected as well and stay in the waitlist.
+     *
+     * @param approvalDTO the IDs of the solicitations and the terms of the contracts
+     * @return the report with one result per distinct solicitation ID, in the order they were given
+     * @throws IllegalArgumentException if no solicitation is selected, too many are, or the contract terms are invalid
+     */
+    public SolicitationApprovalReportDTO approveSolicitations(SolicitationApprovalDTO approvalDTO) {
+        validate(approvalDTO);
+        Set<UUID> ids = new LinkedHashSet<>(approvalDTO.getSolicitationIds());
+
+        ApprovalResult result = transactionTemplate.execute(status -> {
+            Map<UUID, SolicitationDTO> solicitations = solicitationRepository.findSolicitationDTOsByIdIn(ids).stream()
+                    .collect(Collectors.toMap(SolicitationDTO::getId, Function.identity()));
+
+            // The first selected solicitation of each property in waitlist order is the only candidate for it.
+            Map<UUID, SolicitationDTO> candidates = new HashMap<>();
+            for (SolicitationDTO solicitation : solicitations.values()) {
+                candidates.merge(solicitation.getProperty_id(), solicitation,
+                        (first, second) -> WaitlistIndex.QUEUE_ORDER.compare(first, second) <= 0 ? first : second);
+            }
+
+            List<Property> properties = propertyRepository.findAvailableForUpdate(candidates.keySet());
+            Map<UUID, Contract> contracts = new HashMap<>();
+            for (Property property : properties) {
+                SolicitationDTO solicitation = candidates.get(property.getId());
+                property.setRented(true);
+                contracts.put(solicitation.getId(), Contract.builder()
+                        .startDate(approvalDTO.getStartDate())
+                        .duration(approvalDTO.getDuration())
+                        .details(approvalDTO.getDetails().trim())
+                        .user(User.builder().id(solicitation.getUser_id()).build())
+                        .property(property)
+                        .build());
+            }
+            contractRepository.saveAllAndFlush(contracts.values());
+            solicitationRepository.deleteAllByIdInBatch(contracts.keySet());
+            return new ApprovalResult(solicitations, candidates, contracts, properties);
+        });
+
+        for (Property property : result.properties()) {
+            facetIndex.put(property);
+            propertyCache.invalidate(property.getId());
+            propertyChangeFeed.publish(PropertyChangeType.RENTED, property);
+        }
+        result.contracts().keySet().forEach(waitlistIndex::remove);
+
+        SolicitationApprovalReportDTO report = SolicitationApprovalReportDTO.builder().total(ids.size()).build();
+        for (UUID id : ids) {
+            SolicitationApprovalResultDTO itemResult = toResult(id, result);
+            report.getResults().add(itemResult);
+            if (itemResult.isApproved()) {
+                report.setApproved(report.getApproved() + 1);
+            } else {
+                report.setRejected(report.getRejected() + 1);
+            }
+        }
+        LOGGER.info("Solicitation approval finished: {} approved, {} rejected", report.getApproved(), report.getRejected());
+        return report;
+    }
+
+    private void validate(SolicitationApprovalDTO approvalDTO) {
+        if (approvalDTO.getSolicitationIds() == null || approvalDTO.getSolicitationIds().isEmpty()) {
+            LOGGER.error("No solicitations selected for approval");
+            throw new IllegalArgumentException("No solicitations selected.");
+        }
+        if (approvalDTO.getSolicitationIds().size() > maxBatchSize) {
+            LOGGER.error("Too many solicitations selected for approval: {}", approvalDTO.getSolicitationIds().size());
+            throw new IllegalArgumentException("At most " + maxBatchSize + " solicitations can be approved at once.");
+        }
+        if (approvalDTO.getSolicitationIds().contains(null)) {
+            LOGGER.error("Null solicitation ID selected for approval");
+            throw new IllegalArgumentException("Solicitation IDs must not be null.");
+        }
+        if (approvalDTO.getStartDate() == null) {
+            LOGGER.error("Start date not valid");
+            throw new IllegalArgumentException("Start date not valid");
+        }
+        if (approvalDTO.getStartDate().isBefore(LocalDateTime.now())) {
+            LOGGER.error("Start date cannot be in the past");
+            throw new IllegalArgumentException("Start date cannot be in the past");
+        }
+        if (approvalDTO.getDuration() <= 0) {
+            LOGGER.error("Invalid contract duration: {}", approvalDTO.getDuration());
+            throw new IllegalArgumentException("Duration must be greater than 0.");
+        }
+        if (approvalDTO.getDetails() == null || approvalDTO.getDetails().isBlank()) {
+            LOGGER.error("Contract details are missing");
+            throw new IllegalArgumentException("Details are required.");
+        }
+    }
+
+    private static SolicitationApprovalResultDTO toResult(UUID id, ApprovalResult result) {
+        SolicitationApprovalResultDTO.SolicitationApprovalResultDTOBuilder builder =
+                SolicitationApprovalResultDTO.builder().solicitationId(id);
+        SolicitationDTO solicitation = result.solicitations().get(id);
+        if (solicitation == null) {
+            return builder.message("Solicitation not found").build();
+        }
+        builder.propertyId(solicitation.getProperty_id());
+        Contract contract = result.contracts().get(id);
+        if (contract != null) {
+            return builder.approved(true).contractId(contract.getId()).message("Contract created").build();
+        }
+        SolicitationDTO candidate = result.candidates().get(solicitation.getProperty_id());
+        if (result.contracts().containsKey(candidate.getId())) {
+            return builder.message("Solicitation " + candidate.getId() + " comes first in the waitlist of the property").build();
+        }
+        return builder.message("Property is already rented!").build();
+    }
+
+    private record ApprovalResult(Map<UUID, SolicitationDTO> solicitations,
+                                  Map<UUID, SolicitationDTO> candidates,
+                                  Map<UUID, Contract> contracts,
+                                  List<Property> properties) {
+    }
+}
@@ -1,24 +1,32 @@
 package com.projectps.buildingmanagement.services;
 
+import com.projectps.buildingmanagement.auth.CurrentUserResolver;
+import com.projectps.buildingmanagement.dtos.SessionUserDTO;
 import com.projectps.buildingmanagement.dtos.SolicitationDTO;
-import com.projectps.buildingmanagement.dtos.UserDTO;
+import com.projectps.buildingmanagement.dtos.WaitlistDTO;
 import com.projectps.buildingmanagement.dtos.builders.SolicitationBuilder;
 import com.projectps.buildingmanagement.entities.Property;
 import com.projectps.buildingmanagement.entities.Solicitation;
 import com.projectps.buildingmanagement.entities.User;
 import com.projectps.buildingmanagement.exceptions.PropertyNotFoundException;
 import com.projectps.buildingmanagement.exceptions.SolicitationNotFoundException;
+import com.projectps.buildingmanagement.exceptions.UserNotFoundException;
+import com.projectps.buildingmanagement.index.WaitlistIndex;
+import com.projectps.buildingmanagement.repositories.PropertyFacetView;
 import com.projectps.buildingmanagement.repositories.PropertyRepository;
 import com.projectps.buildingmanagement.repositories.SolicitationRepository;
 import com.projectps.buildingmanagement.repositories.UserRepository;
-import jakarta.servlet.http.HttpSession;
+import org.hibernate.exception.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -29,7 +37,6 @@ import java.util.stream.Collectors;
 @Service
 public class SolicitationService {
     private static final Logger LOGGER = LoggerFactory.getLogger(ReviewService.class);
-    private static final String SESSION_USER_KEY = "logged_user";
 
     private SolicitationRepository solicitationRepository;
 
@@ -39,18 +46,21 @@ public class SolicitationService {
     @Autowired
     private PropertyRepository propertyRepository;
 
-    private final HttpSession session;
+    @Autowired
+    private WaitlistIndex waitlistIndex;
+
+    private final CurrentUserResolver currentUserResolver;
 
     /**
-     * Constructs a new SolicitationService with the specified repository and session.
+     * Constructs a new SolicitationService with the specified repository and principal resolver.
      *
      * @param solicitationRepository the repository for accessing solicitation data
-     * @param session                the HTTP session
+     * @param currentUserResolver    the resolver of the logged-in user
      */
     @Autowired
-    public SolicitationService(SolicitationRepository solicitationRepository, HttpSession session) {
+    public SolicitationService(SolicitationRepository solicitationRepository, CurrentUserResolver currentUserResolver) {
         this.solicitationRepository = solicitationRepository;
-        this.session = session;
+        this.currentUserResolver = currentUserResolver;
     }
 
     /**
@@ -59,10 +69,7 @@ public class SolicitationService {
      * @return a list of all solicitation DTOs
      */
     public List<SolicitationDTO> getAllSolicitations() {
-        List<Solicitation> solicitationList = solicitationRepository.findAll();
-        return solicitationList.stream()
-                .map(SolicitationBuilder::toSolicitationDTO)
-                .collect(Collectors.toList());
+        return solicitationRepository.findAllSolicitationDTOs();
     }
 
     /**
@@ -71,7 +78,7 @@ public class SolicitationService {
      * @return a list of all solicitation DTOs for the logged-in customer
      */
     public List<SolicitationDTO> getAllSolicitationsCustomer() {
-        UserDTO loggedUser = (UserDTO) session.getAttribute("logged_user");
+        SessionUserDTO loggedUser = currentUserResolver.getCurrentUser();
         if (loggedUser == null || loggedUser.getId() == null) {
             LOGGER.error("Customer ID not found in session");
             throw new IllegalStateException("Customer ID not found in session");
@@ -106,7 +113,7 @@ public class SolicitationService {
      * @throws SolicitationNotFoundException if the solicitation is not found
      */
     public SolicitationDTO getSolicitationByIdCustomer(UUID id) throws SolicitationNotFoundException {
-        UserDTO loggedUser = (UserDTO) session.getAttribute("logged_user");
+        SessionUserDTO loggedUser = currentUserResolver.getCurrentUser();
         if (loggedUser.getId() == null) {
             LOGGER.error("Customer ID not found in session");
             throw new IllegalStateException("Customer ID not found in session");
@@ -121,62 +128,127 @@ public class SolicitationService {
     }
 
     /**
-     * Checks if a solicitation already exists for the given user and property.
-     *
-     * @param userId    the ID of the user
-     * @param propertyId the ID of the property
-     * @return true if a solicitation exists, false otherwise
-     */
-    private boolean doesSolicitationExist(UUID userId, UUID propertyId) {
-        List<Solicitation> existingSolicitations = solicitationRepository.findByUserIdAndPropertyId(userId, propertyId);
-        return !existingSolicitations.isEmpty();
-    }
-
-    /**
-     * Creates a new solicitation for the logged-in customer.
+     * Records that a user requested a property, at most once per user and property, and queues the request
+     * at the end of the property's waitlist.
+     * The common path is a single insert-or-ignore statement; repeated and concurrent requests are absorbed
+     * by the statement's guard and the unique (user_id, property_id) constraint instead of a prior lookup.
      *
-     * @param solicitationDTO the solicitation DTO containing solicitation information
-     * @return the created solicitation DTO
+     * @param userId     the ID of the requesting user
+     * @param propertyId the ID of the requested property
+     * @return true if the solicitation was created, false if the user had already requested the property
+     * @throws UserNotFoundException     if the user is not found
+     * @throws PropertyNotFoundException if the property is not found
+     * @throws IllegalArgumentException  if the property is already rented
      */
-    public SolicitationDTO createSolicitationCustomer(SolicitationDTO solicitationDTO) {
-        LocalDateTime currentDate = LocalDateTime.now();
-        solicitationDTO.setDate(currentDate);
-
-        UserDTO loggedUser = (UserDTO) session.getAttribute("logged_user");
-        if (loggedUser == null || loggedUser.getId() == null) {
-            LOGGER.error("User not logged in or user ID not found in session");
-            throw new IllegalStateException("User not logged in or user ID not found in session");
+    public boolean requestProperty(UUID userId, UUID propertyId) {
+        SolicitationDTO solicitation = SolicitationDTO.builder()
+                .id(UUID.randomUUID())
+                .date(LocalDateTime.now())
+                .user_id(userId)
+                .property_id(propertyId)
+                .build();
+        int inserted;
+        try {
+            inserted = solicitationRepository.insertIfAbsent(solicitation.getId(), solicitation.getDate(), userId, propertyId);
+        } catch (DataIntegrityViolationException e) {
+            if (!isDuplicateRequest(e)) {
+                LOGGER.error("Solicitation of user {} for property {} could not be inserted", userId, propertyId, e);
+                throw e;
+            }
+            // A concurrent request of the same user won the race.
+            inserted = 0;
         }
-
-        solicitationDTO.setUser_id(loggedUser.getId());
-
-        if (doesSolicitationExist(loggedUser.getId(), solicitationDTO.getProperty_id())) {
-            LOGGER.error("User {} already has a solicitation for property {}", loggedUser.getId(), solicitationDTO.getProperty_id());
-            throw new IllegalStateException("You have already requested this property.");
+        if (inserted == 1) {
+            waitlistIndex.put(solicitation);
+            LOGGER.info("Solicitation of user {} for property {} created successfully", userId, propertyId);
+            return true;
         }
 
-        Optional<Property> propertyOptional = propertyRepository.findById(solicitationDTO.getProperty_id());
-        if (!propertyOptional.isPresent()) {
-            LOGGER.error("Property with ID {} not found", solicitationDTO.getProperty_id());
-            throw new PropertyNotFoundException(Property.class.getSimpleName() + " with ID: " + solicitationDTO.getProperty_id());
+        // Nothing was inserted: find out which guard of the statement stopped it.
+        if (!userRepository.existsById(userId)) {
+            LOGGER.error("User with ID {} not found", userId);
+            throw new UserNotFoundException(User.class.getSimpleName() + " with ID: " + userId);
         }
-
-        Property property = propertyOptional.get();
-        if (property.isRented()) {
-            LOGGER.error("Property with ID {} is not available", solicitationDTO.getProperty_id());
+        Optional<PropertyFacetView> property = propertyRepository.findFacetById(propertyId);
+        if (property.isEmpty()) {
+            LOGGER.error("Property with ID {} not found", propertyId);
+            throw new PropertyNotFoundException(Property.class.getSimpleName() + " with ID: " + propertyId);
+        }
+        if (property.get().isRented()) {
+            LOGGER.error("Property with ID {} is not available", propertyId);
             throw new IllegalArgumentException("Property is not available!");
         }
+        LOGGER.debug("User {} already has a solicitation for property {}", userId, propertyId);
+        return false;
+    }
+
+    private static boolean isDuplicateRequest(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null
+                    && violation.getConstraintName().toLowerCase().contains(Solicitation.USER_PROPERTY_CONSTRAINT)) {
+                return true;
+            }
+        }
+        String message = e.getMostSpecificCause().getMessage();
+        return message != null && message.toLowerCase().contains(Solicitation.USER_PROPERTY_CONSTRAINT);
+    }
 
-        Solicitation solicitation = SolicitationBuilder.toEntity(solicitationDTO);
-        solicitation.setUser(User.builder().id(solicitationDTO.getUser_id()).build());
-        solicitation.setProperty(property);
+    /**
+     * Changes the priority of a solicitation, moving it in the waitlist of its property.
+     * Higher priorities are served first; requests of equal priority keep their request order.
+     *
+     * @param id       the ID of the solicitation
+     * @param priority the new priority
+     * @return the updated solicitation DTO
+     * @throws SolicitationNotFoundException if the solicitation is not found
+     */
+    public SolicitationDTO updatePriority(UUID id, int priority) throws SolicitationNotFoundException {
+        Optional<Solicitation> solicitationOptional = solicitationRepository.findById(id);
+        if (!solicitationOptional.isPresent()) {
+            LOGGER.error("Solicitation with id {} was not found in db", id);
+            throw new SolicitationNotFoundException(Solicitation.class.getSimpleName() + " with id: " + id);
+        }
+        Solicitation solicitation = solicitationOptional.get();
+        solicitation.setPriority(priority);
+        SolicitationDTO solicitationDTO = SolicitationBuilder.toSolicitationDTO(solicitationRepository.save(solicitation));
+        waitlistIndex.put(solicitationDTO);
+        LOGGER.info("Solicitation with id {} now has priority {}", id, priority);
+        return solicitationDTO;
+    }
 
-        solicitation = solicitationRepository.save(solicitation);
+    /**
+     * Retrieves the waitlist summary of a property: how many requests wait for it and which one is served next.
+     * Both come from the waitlist index, so the queue itself is never loaded.
+     *
+     * @param propertyId the ID of the property
+     * @return the waitlist DTO, with a null head if nobody requested the property
+     */
+    public WaitlistDTO getWaitlist(UUID propertyId) {
+        return WaitlistDTO.builder()
+                .propertyId(propertyId)
+                .length(waitlistIndex.length(propertyId))
+                .head(waitlistIndex.head(propertyId))
+                .build();
+    }
 
-        LOGGER.debug("Solicitation with id {} was inserted in db", solicitation.getId());
-        LOGGER.info("Solicitation created successfully");
+    /**
+     * Counts the requests waiting for each of the given properties.
+     *
+     * @param propertyIds the IDs of the properties
+     * @return the waitlist length of each property; properties nobody requested are left out
+     */
+    public Map<UUID, Integer> getWaitlistLengths(Collection<UUID> propertyIds) {
+        return waitlistIndex.lengths(propertyIds);
+    }
 
-        return SolicitationBuilder.toSolicitationDTO(solicitation);
+    /**
+     * Tells whether a solicitation is the next one served for its property.
+     *
+     * @param id the ID of the solicitation
+     * @return true if the solicitation heads the waitlist of its property
+     */
+    public boolean isWaitlistHead(UUID id) {
+        return waitlistIndex.isHead(id);
     }
 
     /**
@@ -192,6 +264,7 @@ public class SolicitationService {
             throw new SolicitationNotFoundException(Solicitation.class.getSimpleName() + "with id: " + id);
         }
         solicitationRepository.deleteById(id);
+        waitlistIndex.remove(id);
         LOGGER.info("Solicitation with id {} was deleted successfully", id);
     }
 
@@ -202,7 +275,7 @@ public class SolicitationService {
      * @throws SolicitationNotFoundException if the solicitation is not found
      */
     public void deleteSolicitationCustomer(UUID id) throws SolicitationNotFoundException {
-        UserDTO loggedUser = (UserDTO) session.getAttribute("logged_user");
+        SessionUserDTO loggedUser = currentUserResolver.getCurrentUser();
         if (loggedUser == null) {
             LOGGER.error("User not logged in");
             throw new IllegalStateException("User not logged in");
@@ -214,6 +287,7 @@ public class SolicitationService {
             throw new SolicitationNotFoundException("Solicitation not found with id: " + id);
         }
         solicitationRepository.deleteById(id);
+        waitlistIndex.remove(id);
         LOGGER.info("Solicitation with id {} was deleted successfully", id);
     }
 }
@@ -0,0 +1,243 @@
+package com.projectps.buildingmanagement.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projectps.buildingmanagement.dtos.ImportErrorDTO;
+import com.projectps.buildingmanagement.dtos.ImportReportDTO;
+import com.projectps.buildingmanagement.dtos.UserDTO;
+import com.projectps.buildingmanagement.entities.User;
+import com.projectps.buildingmanagement.entities.enums.UserType;
+import com.projectps.buildingmanagement.files.ExportFormat;
+import com.projectps.buildingmanagement.files.TableImporter;
+import com.projectps.buildingmanagement.repositories.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * This service class imports users in bulk from a CSV or newline-delimited JSON stream.
+ * The input is read in chunks so memory use does not depend on its size. Each chunk is validated in parallel,
+ * checked against the unique username, email and phone number constraints with one index lookup per column, and inserted in
+ * JDBC batches in its own transaction. Rows that fail are reported with their position instead of aborting
+ * the import.
+ */
+@Service
+public class UserImportService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(UserImportService.class);
+
+    private static final TableImporter<UserDTO> IMPORTER = new TableImporter<>(UserDTO.class, () -> UserDTO.builder()
+            .contracts(new ArrayList<>())
+            .reviews(new ArrayList<>())
+            .solicitations(new ArrayList<>())
+            .build())
+            .column("firstName", true, UserDTO::setFirstName)
+            .column("lastName", true, UserDTO::setLastName)
+            .column("username", true, UserDTO::setUsername)
+            .column("password", true, UserDTO::setPassword)
+            .column("email", true, UserDTO::setEmail)
+            .column("phoneNumber", true, UserDTO::setPhoneNumber)
+            .column("userRole", false, (user, role) -> user.setUserRole(UserType.valueOf(role.trim().toUpperCase(Locale.ROOT))));
+
+    private final UserRepository userRepository;
+    private final UserService userService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public UserImportService(UserRepository userRepository,
+                             UserService userService,
+                             TransactionTemplate transactionTemplate,
+                             ObjectMapper objectMapper,
+                             @Value("${user-import.chunk-size}") int chunkSize,
+                             @Value("${user-import.max-reported-errors}") int maxReportedErrors) {
+        this.userRepository = userRepository;
+        this.userService = userService;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    /**
+     * Imports every user in the input.
+     * CSV input needs a header row naming the columns firstName, lastName, username, password, email and phoneNumber,
+     * plus an optional userRole; NDJSON input has one user object per line. Users without a role become customers.
+     *
+     * @param inputStream the input, read to the end but not closed
+     * @param format      the input format
+     * @return the number of imported users and the errors of the rejected rows, by data row number
+     * @throws IOException              if reading fails
+     * @throws IllegalArgumentException if the CSV header lacks a required column
+     */
+    public ImportReportDTO importUsers(InputStream inputStream, ExportFormat format) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        TableImporter.RowReader<UserDTO> rows;
+        try {
+            rows = IMPORTER.open(reader, format, objectMapper);
+        } catch (IllegalArgumentException e) {
+            LOGGER.error("User import header is invalid: {}", e.getMessage());
+            throw e;
+        }
+        ImportReportDTO report = ImportReportDTO.builder().build();
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+        TableImporter.Row<UserDTO> row;
+        while ((row = rows.next()) != null) {
+            chunk.add(new ImportRow(row));
+            if (chunk.size() == chunkSize) {
+                importChunk(chunk, report);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, report);
+        }
+        LOGGER.info("User import finished: {} of {} rows imported", report.getImported(), report.getTotal());
+        return report;
+    }
+
+    private void importChunk(List<ImportRow> chunk, ImportReportDTO report) {
+        chunk.parallelStream()
+                .filter(row -> row.error == null)
+                .forEach(row -> row.error = userService.validationError(row.user));
+        rejectTakenUniqueKeys(chunk);
+        rejectDuplicatesInChunk(chunk);
+        insert(chunk.stream().filter(row -> row.error == null).toList());
+
+        for (ImportRow row : chunk) {
+            report.setTotal(report.getTotal() + 1);
+            if (row.error == null) {
+                report.setImported(report.getImported() + 1);
+            } else {
+                report.setFailed(report.getFailed() + 1);
+                if (report.getErrors().size() < maxReportedErrors) {
+                    report.getErrors().add(new ImportErrorDTO(row.number, row.error));
+                }
+            }
+        }
+    }
+
+    /**
+     * Keeps the first row of each username, email and phone number in the chunk. It runs after the database lookup,
+     * so only rows that are about to be inserted claim their values. Earlier chunks are already committed,
+     * so a repeat of one of their values is caught by the database lookup instead.
+     */
+    private void rejectDuplicatesInChunk(List<ImportRow> chunk) {
+        Set<String> usernames = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        Set<String> phoneNumbers = new HashSet<>();
+        for (ImportRow row : chunk) {
+            if (row.error != null) {
+                continue;
+            }
+            UserDTO user = row.user;
+            if (usernames.contains(user.getUsername())) {
+                row.error = "Username " + user.getUsername() + " appears more than once in the import";
+            } else if (emails.contains(user.getEmail())) {
+                row.error = "Email " + user.getEmail() + " appears more than once in the import";
+            } else if (phoneNumbers.contains(user.getPhoneNumber())) {
+                row.error = "Phone number " + user.getPhoneNumber() + " appears more than once in the import";
+            } else {
+                usernames.add(user.getUsername());
+                emails.add(user.getEmail());
+                phoneNumbers.add(user.getPhoneNumber());
+            }
+        }
+    }
+
+    private void rejectTakenUniqueKeys(List<ImportRow> chunk) {
+        List<ImportRow> candidates = chunk.stream().filter(row -> row.error == null).toList();
+        if (candidates.isEmpty()) {
+            return;
+        }
+        Set<String> takenUsernames = new HashSet<>(userRepository.findExistingUsernames(
+                candidates.stream().map(row -> row.user.getUsername()).toList()));
+        Set<String> takenEmails = new HashSet<>(userRepository.findExistingEmails(
+                candidates.stream().map(row -> row.user.getEmail()).toList()));
+        Set<String> takenPhoneNumbers = new HashSet<>(userRepository.findExistingPhoneNumbers(
+                candidates.stream().map(row -> row.user.getPhoneNumber()).toList()));
+        for (ImportRow row : candidates) {
+            if (takenUsernames.contains(row.user.getUsername())) {
+                row.error = "Username " + row.user.getUsername() + " already exists";
+            } else if (takenEmails.contains(row.user.getEmail())) {
+                row.error = "Email " + row.user.getEmail() + " already exists";
+            } else if (takenPhoneNumbers.contains(row.user.getPhoneNumber())) {
+                row.error = "Phone number " + row.user.getPhoneNumber() + " already exists";
+            }
+        }
+    }
+
+    /**
+     * Inserts the rows in one batched transaction. If a concurrent insert took one of their unique values
+     * in the meantime, the rows are retried one by one so only the conflicting ones are rejected.
+     */
+    private void insert(List<ImportRow> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                userRepository.saveAllAndFlush(rows.stream().map(row -> toEntity(row.user)).toList());
+                entityManager.clear();
+            });
+        } catch (DataIntegrityViolationException e) {
+            LOGGER.error("Batch insert of {} users failed, retrying one by one: {}", rows.size(), e.getMessage());
+            for (ImportRow row : rows) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        userRepository.saveAndFlush(toEntity(row.user));
+                        entityManager.clear();
+                    });
+                } catch (DataIntegrityViolationException rowException) {
+                    row.error = "Username, email or phone number already exists";
+                }
+            }
+        }
+    }
+
+    /**
+     * Maps only the columns; a new user has no contracts, reviews or solicitations to cascade.
+     */
+    private static User toEntity(UserDTO userDTO) {
+        return User.builder()
+                .firstName(userDTO.getFirstName())
+                .lastName(userDTO.getLastName())
+                .username(userDTO.getUsername())
+                .password(userDTO.getPassword())
+                .email(userDTO.getEmail())
+                .phoneNumber(userDTO.getPhoneNumber())
+                .userRole(userDTO.getUserRole())
+                .build();
+    }
+
+    private static final class ImportRow {
+        private final long number;
+        private final UserDTO user;
+        private String error;
+
+        private ImportRow(TableImporter.Row<UserDTO> row) {
+            this.number = row.number();
+            this.user = row.value();
+            this.error = row.error();
+            if (user != null && user.getUserRole() == null) {
+                user.setUserRole(UserType.CUSTOMER);
+            }
+        }
+    }
+}
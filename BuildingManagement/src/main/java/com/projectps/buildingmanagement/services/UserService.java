@@ -1,29 +1,37 @@
 package com.projectps.buildingmanagement.services;
 
-import com.projectps.buildingmanagement.dtos.RequestDto;
-import com.projectps.buildingmanagement.dtos.ResponseDto;
+import com.projectps.buildingmanagement.auth.CurrentUserResolver;
+import com.projectps.buildingmanagement.cache.PropertyCache;
+import com.projectps.buildingmanagement.dtos.ContractDTO;
+import com.projectps.buildingmanagement.dtos.ReviewDTO;
+import com.projectps.buildingmanagement.dtos.SessionUserDTO;
+import com.projectps.buildingmanagement.dtos.SolicitationDTO;
 import com.projectps.buildingmanagement.dtos.UserDTO;
 import com.projectps.buildingmanagement.dtos.builders.UserBuilder;
 import com.projectps.buildingmanagement.entities.Contract;
 import com.projectps.buildingmanagement.entities.Property;
+import com.projectps.buildingmanagement.entities.Solicitation;
 import com.projectps.buildingmanagement.entities.User;
-import com.projectps.buildingmanagement.exceptions.EmailSendingException;
+import com.projectps.buildingmanagement.entities.enums.PropertyChangeType;
 import com.projectps.buildingmanagement.exceptions.UserNotFoundException;
+import com.projectps.buildingmanagement.index.FacetIndex;
+import com.projectps.buildingmanagement.index.WaitlistIndex;
+import com.projectps.buildingmanagement.repositories.ContractRepository;
 import com.projectps.buildingmanagement.repositories.PropertyRepository;
+import com.projectps.buildingmanagement.repositories.ReviewRepository;
+import com.projectps.buildingmanagement.repositories.SolicitationRepository;
 import com.projectps.buildingmanagement.repositories.UserRepository;
-import jakarta.servlet.http.HttpSession;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.*;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.http.HttpHeaders;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 /**
@@ -33,93 +41,63 @@ import java.util.stream.Collectors;
 public class UserService {
     private static final Logger LOGGER = LoggerFactory.getLogger(UserService.class);
 
-    private static final String SESSION_USER_KEY = "logged_user";
 
-    private static final String EMAIL_REGEX = "^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}$";
+    private static final Pattern NAME_PATTERN = Pattern.compile("[a-zA-Z]+");
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}$");
+    private static final Pattern PHONE_NUMBER_PATTERN = Pattern.compile("^\\+40\\d{9}$");
 
     private UserRepository userRepository;
 
-    private final String authorizationToken1;
-    private final String authorizationToken2;
-
     @Autowired
     private PropertyRepository propertyRepository;
 
     @Autowired
-    private HttpSession session;
+    private ContractRepository contractRepository;
 
     @Autowired
-    private RestTemplate restTemplate;
+    private ReviewRepository reviewRepository;
 
-    /**
-     * Constructs a new UserService with the specified UserRepository and authorization tokens.
-     *
-     * @param userRepository      the repository for accessing user data
-     * @param authorizationToken1 the first part of the authorization token
-     * @param authorizationToken2 the second part of the authorization token
-     */
     @Autowired
-    public UserService(UserRepository userRepository,
-                       @Value("${authorization.token1}") String authorizationToken1,
-                       @Value("${authorization.token2}") String authorizationToken2) {
-        this.userRepository = userRepository;
-        this.authorizationToken1 = authorizationToken1;
-        this.authorizationToken2 = authorizationToken2;
-    }
+    private SolicitationRepository solicitationRepository;
 
-    /**
-     * Sends an email to the user with the provided details.
-     *
-     * @param userDTO          the user DTO containing user information
-     * @param emailSubject     the subject of the email
-     * @param emailBody        the body of the email
-     * @param authorizationToken1 the first part of the authorization token
-     * @param authorizationToken2 the second part of the authorization token
-     * @throws EmailSendingException if there is an error sending the email
-     */
-    public void sendEmailToUser(UserDTO userDTO, String emailSubject, String emailBody, String authorizationToken1, String authorizationToken2) {
-        RequestDto requestDto = new RequestDto();
-        requestDto.setId(userDTO.getId());
-        requestDto.setFirstName(userDTO.getFirstName());
-        requestDto.setLastName(userDTO.getLastName());
-        requestDto.setEmailReceiver(userDTO.getEmail());
-        requestDto.setEmailSubject(emailSubject);
-        requestDto.setEmailBody(emailBody);
+    @Autowired
+    private FacetIndex facetIndex;
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
+    @Autowired
+    private WaitlistIndex waitlistIndex;
 
-        headers.set("Authorization", authorizationToken1 + authorizationToken2);
+    @Autowired
+    private PropertyChangeFeed propertyChangeFeed;
 
-        HttpEntity<RequestDto> requestEntity = new HttpEntity<>(requestDto, headers);
+    @Autowired
+    private PropertyCache propertyCache;
 
-        try {
-            ResponseEntity<ResponseDto> responseEntity = restTemplate.exchange(
-                    "http://localhost:8081/send-email",
-                    HttpMethod.POST,
-                    requestEntity,
-                    ResponseDto.class
-            );
-            HttpStatusCode statusCode = responseEntity.getStatusCode();
-            if (statusCode != HttpStatus.OK) {
-                LOGGER.error("Failed to send email with status code: " + statusCode);
-                throw new EmailSendingException("Failed to send email with status code: " + statusCode);
-            }
-        } catch (Exception e){
-            LOGGER.error("Unauthorized to send email!");
-            throw new EmailSendingException("Failed to send email!");
-        }
+    @Autowired
+    private CurrentUserResolver currentUserResolver;
+
+    @Autowired
+    private EmailOutboxService emailOutboxService;
+
+    /**
+     * Constructs a new UserService with the specified UserRepository.
+     *
+     * @param userRepository the repository for accessing user data
+     */
+    @Autowired
+    public UserService(UserRepository userRepository) {
+        this.userRepository = userRepository;
     }
 
     /**
      * Logs in a user with the provided username and password.
+     * Only a compact principal is kept (in the session or a signed token); the user's details are loaded on demand.
      *
      * @param username the username of the user
      * @param password the password of the user
-     * @return the logged-in user DTO
+     * @return the principal of the logged-in user
      * @throws UserNotFoundException if the user is not found
      */
-    public UserDTO login(String username, String password) throws UserNotFoundException {
+    public SessionUserDTO login(String username, String password) throws UserNotFoundException {
         try {
             User user = userRepository.findByUsername(username);
             if (user == null) {
@@ -128,9 +106,9 @@ public class UserService {
             if (!user.getPassword().equals(password) || !user.getUsername().equals(username)) {
                 throw new IllegalArgumentException("Incorrect password or username");
             }
-            UserDTO userDTO = UserBuilder.toUserDTO(user);
-            session.setAttribute(SESSION_USER_KEY, userDTO);
-            return userDTO;
+            SessionUserDTO sessionUser = UserBuilder.toSessionUserDTO(user);
+            currentUserResolver.signIn(sessionUser);
+            return sessionUser;
         } catch (UserNotFoundException e) {
             LOGGER.error("User not found: {}", e.getMessage());
             throw e;
@@ -147,27 +125,55 @@ public class UserService {
      * Logs out the currently logged-in user.
      */
     public void logout() {
-        session.removeAttribute(SESSION_USER_KEY);
+        currentUserResolver.signOut();
+    }
+
+    /**
+     * Retrieves the principal of the currently logged-in user.
+     *
+     * @return the principal of the logged-in user, or null if nobody is logged in
+     */
+    public SessionUserDTO getLoggedInUser() {
+        return currentUserResolver.getCurrentUser();
     }
 
     /**
-     * Retrieves the currently logged-in user.
+     * Loads the full details of the currently logged-in user from the database.
      *
-     * @return the currently logged-in user DTO
+     * @return the logged-in user DTO, or null if nobody is logged in
+     * @throws UserNotFoundException if the logged-in user no longer exists
      */
-    public UserDTO getLoggedInUser() {
-        return (UserDTO) session.getAttribute(SESSION_USER_KEY);
+    public UserDTO getLoggedInUserDetails() throws UserNotFoundException {
+        SessionUserDTO loggedUser = getLoggedInUser();
+        if (loggedUser == null) {
+            return null;
+        }
+        return getUserById(loggedUser.getId());
     }
 
     /**
      * Retrieves all users.
+     * The contracts, reviews and solicitations of all users are loaded with one query each
+     * and grouped in memory, instead of walking the collections of every user.
      *
      * @return a list of all user DTOs
      */
     public List<UserDTO> getAllUsers() {
         List<User> userList = userRepository.findAll();
+        Map<UUID, List<ContractDTO>> contractsByUser = contractRepository.findAllContractDTOs().stream()
+                .filter(dto -> dto.getUser_id() != null)
+                .collect(Collectors.groupingBy(ContractDTO::getUser_id));
+        Map<UUID, List<ReviewDTO>> reviewsByUser = reviewRepository.findAllReviewDTOs().stream()
+                .filter(dto -> dto.getUser_id() != null)
+                .collect(Collectors.groupingBy(ReviewDTO::getUser_id));
+        Map<UUID, List<SolicitationDTO>> solicitationsByUser = solicitationRepository.findAllSolicitationDTOs().stream()
+                .filter(dto -> dto.getUser_id() != null)
+                .collect(Collectors.groupingBy(SolicitationDTO::getUser_id));
         return userList.stream()
-                .map(UserBuilder::toUserDTO)
+                .map(user -> UserBuilder.toUserDTO(user,
+                        contractsByUser.getOrDefault(user.getId(), List.of()),
+                        reviewsByUser.getOrDefault(user.getId(), List.of()),
+                        solicitationsByUser.getOrDefault(user.getId(), List.of())))
                 .collect(Collectors.toList());
     }
 
@@ -194,24 +200,10 @@ public class UserService {
      * @return the created user DTO
      */
     public UserDTO createUser(UserDTO userDTO) {
-        if (!isValidName(userDTO.getFirstName()) || !isValidName(userDTO.getLastName())) {
-            LOGGER.error("Invalid first name or last name. First name: {}, Last name: {}", userDTO.getFirstName(), userDTO.getLastName());
-            throw new IllegalArgumentException("First name and last name must be alphanumeric and less than 20 characters long.");
-        }
-
-        if (!isValidUsername(userDTO.getUsername()) || !isValidPassword(userDTO.getPassword())) {
-            LOGGER.error("Invalid username or password. Username: {}, Password: {}", userDTO.getUsername(), userDTO.getPassword());
-            throw new IllegalArgumentException("Username and password must be alphanumeric and less than 20 characters long.");
-        }
-
-        if (!isValidEmail(userDTO.getEmail())) {
-            LOGGER.error("Invalid email format: {}", userDTO.getEmail());
-            throw new IllegalArgumentException("Invalid email format");
-        }
-
-        if (!isValidPhoneNumber(userDTO.getPhoneNumber())) {
-            LOGGER.error("Invalid phone number format: {}", userDTO.getPhoneNumber());
-            throw new IllegalArgumentException("Invalid phone number format. Phone number must start with '+40' followed by 9 digits.");
+        String validationError = validationError(userDTO);
+        if (validationError != null) {
+            LOGGER.error("Invalid user {}: {}", userDTO.getUsername(), validationError);
+            throw new IllegalArgumentException(validationError);
         }
 
         User user = UserBuilder.toEntity(userDTO);
@@ -221,6 +213,22 @@ public class UserService {
         return UserBuilder.toUserDTO(user);
     }
 
+    /**
+     * Creates a new user and queues an email for them in the same transaction.
+     * The email is delivered asynchronously by the outbox dispatcher.
+     *
+     * @param userDTO      the user DTO containing user information
+     * @param emailSubject the subject of the email
+     * @param emailBody    the body of the email
+     * @return the created user DTO
+     */
+    @Transactional
+    public UserDTO createUser(UserDTO userDTO, String emailSubject, String emailBody) {
+        UserDTO createdUser = createUser(userDTO);
+        emailOutboxService.enqueue(createdUser, emailSubject, emailBody);
+        return createdUser;
+    }
+
     /**
     * Updates an existing user.
     *
@@ -238,24 +246,10 @@ public class UserService {
 
         User existingUser = userOptional.get();
 
-        if (!isValidName(userDTO.getFirstName()) || !isValidName(userDTO.getLastName())) {
-            LOGGER.error("Invalid first name or last name. First name: {}, Last name: {}", userDTO.getFirstName(), userDTO.getLastName());
-            throw new IllegalArgumentException("First name and last name must be alphanumeric and less than 20 characters long.");
-        }
-
-        if (!isValidUsername(userDTO.getUsername()) || !isValidPassword(userDTO.getPassword())) {
-            LOGGER.error("Invalid username or password. Username: {}, Password: {}", userDTO.getUsername(), userDTO.getPassword());
-            throw new IllegalArgumentException("Username and password must be alphanumeric and less than 20 characters long.");
-        }
-
-        if (!isValidEmail(userDTO.getEmail())) {
-            LOGGER.error("Invalid email format: {}", userDTO.getEmail());
-            throw new IllegalArgumentException("Invalid email format");
-        }
-
-        if (!isValidPhoneNumber(userDTO.getPhoneNumber())) {
-            LOGGER.error("Invalid phone number format: {}", userDTO.getPhoneNumber());
-            throw new IllegalArgumentException("Invalid phone number format. Phone number must start with '+40' followed by 9 digits.");
+        String validationError = validationError(userDTO);
+        if (validationError != null) {
+            LOGGER.error("Invalid user {}: {}", userDTO.getUsername(), validationError);
+            throw new IllegalArgumentException(validationError);
         }
 
         existingUser.setFirstName(userDTO.getFirstName());
@@ -297,7 +291,36 @@ public class UserService {
             Property property = contract.getProperty();
             property.setRented(false);
             propertyRepository.save(property);
+            facetIndex.put(property);
+            propertyCache.invalidate(property.getId());
+            propertyChangeFeed.publish(PropertyChangeType.AVAILABLE, property);
+        }
+        for (Solicitation solicitation : user.getSolicitations()) {
+            waitlistIndex.remove(solicitation.getId());
+        }
+    }
+
+    /**
+     * Validates the fields of a user, in the order the forms show them.
+     * Safe to call from several threads at once.
+     *
+     * @param userDTO the user to validate
+     * @return the message describing the first invalid field, or null if the user is valid
+     */
+    public String validationError(UserDTO userDTO) {
+        if (!isValidName(userDTO.getFirstName()) || !isValidName(userDTO.getLastName())) {
+            return "First name and last name must be alphanumeric and less than 20 characters long.";
+        }
+        if (!isValidUsername(userDTO.getUsername()) || !isValidPassword(userDTO.getPassword())) {
+            return "Username and password must be alphanumeric and less than 20 characters long.";
+        }
+        if (!isValidEmail(userDTO.getEmail())) {
+            return "Invalid email format";
+        }
+        if (!isValidPhoneNumber(userDTO.getPhoneNumber())) {
+            return "Invalid phone number format. Phone number must start with '+40' followed by 9 digits.";
         }
+        return null;
     }
 
     /**
@@ -307,7 +330,7 @@ public class UserService {
      * @return true if the name is valid, false otherwise
      */
     public boolean isValidName(String name) {
-        return name != null && name.matches("[a-zA-Z]+") && name.length() <= 30;
+        return name != null && name.length() <= 30 && NAME_PATTERN.matcher(name).matches();
     }
 
     /**
@@ -337,7 +360,7 @@ public class UserService {
      * @return true if the email is valid, false otherwise
      */
     private boolean isValidEmail(String email) {
-        return email != null && email.matches(EMAIL_REGEX);
+        return email != null && EMAIL_PATTERN.matcher(email).matches();
     }
 
     /**
@@ -347,7 +370,6 @@ public class UserService {
      * @return true if the phone number is valid, false otherwise
      */
     private boolean isValidPhoneNumber(String phoneNumber) {
-        String PHONE_NUMBER_REGEX = "^\\+40\\d{9}$";
-        return phoneNumber != null && phoneNumber.matches(PHONE_NUMBER_REGEX);
+        return phoneNumber != null && PHONE_NUMBER_PATTERN.matcher(phoneNumber).matches();
     }
 }
@@ -0,0 +1,61 @@
+package com.projectps.buildingmanagement.auth;
+
+import com.projectps.buildingmanagement.dtos.SessionUserDTO;
+import com.projectps.buildingmanagement.entities.enums.UserType;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuthTokenServiceTests {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+    private static final Instant NOW = Instant.parse("2024-05-01T10:00:00Z");
+
+    private final SessionUserDTO user = new SessionUserDTO(UUID.randomUUID(), "jane:doe", UserType.CUSTOMER);
+
+    private AuthTokenService serviceAt(Instant instant) {
+        return new AuthTokenService(SECRET, Duration.ofHours(8), Clock.fixed(instant, ZoneOffset.UTC));
+    }
+
+    @Test
+    void verifiesIssuedToken() {
+        String token = serviceAt(NOW).issue(user);
+        assertEquals(user, serviceAt(NOW.plus(Duration.ofHours(7))).verify(token));
+    }
+
+    @Test
+    void rejectsExpiredToken() {
+        String token = serviceAt(NOW).issue(user);
+        assertNull(serviceAt(NOW.plus(Duration.ofHours(8))).verify(token));
+    }
+
+    @Test
+    void rejectsTamperedToken() {
+        AuthTokenService service = serviceAt(NOW);
+        String token = service.issue(user);
+        String forgedPayload = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                (user.getId() + ":ADMIN:" + NOW.plus(Duration.ofHours(8)).getEpochSecond() + ":jane:doe").getBytes());
+        assertNull(service.verify(forgedPayload + token.substring(token.indexOf('.'))));
+        assertNull(service.verify("not-a-token"));
+        assertNull(service.verify("%%%.%%%"));
+    }
+
+    @Test
+    void rejectsTokenSignedWithAnotherSecret() {
+        String token = new AuthTokenService("another-secret-another-secret-xx", Duration.ofHours(8),
+                Clock.fixed(NOW, ZoneOffset.UTC)).issue(user);
+        assertNull(serviceAt(NOW).verify(token));
+    }
+
+    @Test
+    void requiresLongSecret() {
+        assertThrows(IllegalStateException.class, () -> new AuthTokenService("short", Duration.ofHours(8)));
+    }
+}
@@ -0,0 +1,85 @@
+package com.projectps.buildingmanagement.auth;
+
+import com.projectps.buildingmanagement.dtos.ContractDTO;
+import com.projectps.buildingmanagement.dtos.ReviewDTO;
+import com.projectps.buildingmanagement.dtos.SessionUserDTO;
+import com.projectps.buildingmanagement.dtos.SolicitationDTO;
+import com.projectps.buildingmanagement.dtos.UserDTO;
+import com.projectps.buildingmanagement.entities.enums.UserType;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.GraphLayout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Measures with JOL the heap retained by the logged_user session attribute: the full UserDTO it used to hold,
+ * with the user's contracts, reviews and solicitations, against the SessionUserDTO principal that replaced it.
+ * The sizes are logged; the assertions only pin down that the principal stays small whatever the history.
+ */
+class SessionUserFootprintTests {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SessionUserFootprintTests.class);
+
+    @Test
+    void principalDoesNotGrowWithTheUserHistory() {
+        UUID id = UUID.randomUUID();
+        long principal = GraphLayout.parseInstance(new SessionUserDTO(id, "jane.doe", UserType.CUSTOMER)).totalSize();
+        long previous = 0;
+        for (int children : new int[]{0, 10, 100}) {
+            long user = GraphLayout.parseInstance(user(id, children)).totalSize();
+            LOGGER.info("logged_user with {} of each child DTO: UserDTO {} B, SessionUserDTO {} B", children, user, principal);
+            assertTrue(user > previous, "UserDTO should grow with the history of the user");
+            assertTrue(principal < user, "SessionUserDTO should be smaller than UserDTO");
+            previous = user;
+        }
+        assertTrue(principal <= 256, "SessionUserDTO retains " + principal + " B");
+    }
+
+    private static UserDTO user(UUID id, int children) {
+        List<ContractDTO> contracts = new ArrayList<>();
+        List<ReviewDTO> reviews = new ArrayList<>();
+        List<SolicitationDTO> solicitations = new ArrayList<>();
+        for (int i = 0; i < children; i++) {
+            contracts.add(ContractDTO.builder()
+                    .id(UUID.randomUUID())
+                    .startDate(LocalDateTime.of(2024, 5, 1, 10, 0).plusDays(i))
+                    .duration(12)
+                    .details("Utilities included " + i)
+                    .user_id(id)
+                    .property_id(UUID.randomUUID())
+                    .build());
+            reviews.add(ReviewDTO.builder()
+                    .id(UUID.randomUUID())
+                    .message("Quiet neighbourhood, responsive landlord " + i)
+                    .date(LocalDateTime.of(2024, 6, 1, 10, 0).plusDays(i))
+                    .user_id(id)
+                    .build());
+            solicitations.add(SolicitationDTO.builder()
+                    .id(UUID.randomUUID())
+                    .date(LocalDateTime.of(2024, 4, 1, 10, 0).plusDays(i))
+                    .user_id(id)
+                    .property_id(UUID.randomUUID())
+                    .priority(i)
+                    .build());
+        }
+        return UserDTO.builder()
+                .id(id)
+                .firstName("Jane")
+                .lastName("Doe")
+                .username("jane.doe")
+                .password("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z5Z5pQ2vY0xR8L2b1bS3zK2a")
+                .email("jane.doe@mail.com")
+                .phoneNumber("+40700000001")
+                .userRole(UserType.CUSTOMER)
+                .contracts(contracts)
+                .reviews(reviews)
+                .solicitations(solicitations)
+                .build();
+    }
+}
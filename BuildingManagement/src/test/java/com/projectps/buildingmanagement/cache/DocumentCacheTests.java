@@ -0,0 +1,124 @@
+package com.projectps.buildingmanagement.cache;
+
+import com.projectps.buildingmanagement.dtos.ContractDTO;
+import com.projectps.buildingmanagement.files.ContractTemplates;
+import com.projectps.buildingmanagement.files.CsvFileGenerator;
+import com.projectps.buildingmanagement.files.DocumentFormat;
+import com.projectps.buildingmanagement.files.PdfFileGenerator;
+import com.projectps.buildingmanagement.files.TxtFileGenerator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DocumentCacheTests {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void changedContractGetsANewETagAndInvalidationDropsTheOldDocument() throws Exception {
+        DocumentCache cache = cache(1 << 20);
+        ContractDTO contract = contract("Utilities included");
+        CachedDocument original = cache.get(contract, DocumentFormat.TXT);
+
+        assertSame(original, cache.get(contract, DocumentFormat.TXT));
+        assertEquals(original.eTag(), cache.getETag(contract, DocumentFormat.TXT));
+        assertNotEquals(original.eTag(), cache.getETag(contract, DocumentFormat.CSV));
+
+        ContractDTO changed = contract("Utilities not included");
+        changed.setId(contract.getId());
+        assertNotEquals(original.eTag(), cache.getETag(changed, DocumentFormat.TXT));
+
+        cache.invalidate(contract);
+        assertNotSame(original, cache.get(contract, DocumentFormat.TXT));
+    }
+
+    @Test
+    void documentsEvictedFromMemorySpillToDiskAndArePromotedBack() throws Exception {
+        DocumentCache cache = cache(4096);
+        ContractDTO first = contract("x".repeat(3000));
+        byte[] content = cache.get(first, DocumentFormat.TXT).content();
+        cache.get(contract("y".repeat(3000)), DocumentFormat.TXT);
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (countFiles() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(1, countFiles());
+        assertArrayEquals(content, cache.get(first, DocumentFormat.TXT).content());
+    }
+
+    @Test
+    void renderedDocumentIsStreamedAndCached() throws Exception {
+        DocumentCache cache = cache(1 << 20);
+        ContractDTO contract = contract("x".repeat(20000));
+        assertNull(cache.getIfPresent(contract, DocumentFormat.PDF));
+
+        ByteArrayOutputStream response = new ByteArrayOutputStream();
+        CachedDocument rendered = cache.render(contract, DocumentFormat.PDF, response);
+
+        assertArrayEquals(rendered.content(), response.toByteArray());
+        assertEquals("%PDF", new String(rendered.content(), 0, 4, StandardCharsets.US_ASCII));
+        assertSame(rendered, cache.getIfPresent(contract, DocumentFormat.PDF));
+        assertSame(rendered, cache.get(contract, DocumentFormat.PDF));
+    }
+
+    @Test
+    void changedTemplateGetsANewETag(@TempDir Path templateDirectory) throws Exception {
+        for (String name : List.of("contract.txt", "contract.csv", "contract.pdf.txt")) {
+            try (InputStream source = new ClassPathResource("contract-templates/" + name).getInputStream()) {
+                Files.copy(source, templateDirectory.resolve(name));
+            }
+        }
+        ContractDTO contract = contract("Utilities included");
+        String location = templateDirectory.toUri().toString();
+        String original = cache(1 << 20, location).getETag(contract, DocumentFormat.TXT);
+        assertEquals(original, cache(1 << 20, location).getETag(contract, DocumentFormat.TXT));
+
+        Files.writeString(templateDirectory.resolve("contract.txt"), "Contract {{id}} for {{duration}} months\n");
+        DocumentCache edited = cache(1 << 20, location);
+        assertNotEquals(original, edited.getETag(contract, DocumentFormat.TXT));
+        assertEquals(edited.getETag(contract, DocumentFormat.TXT), edited.get(contract, DocumentFormat.TXT).eTag());
+    }
+
+    private DocumentCache cache(long memoryMaxBytes) throws Exception {
+        return cache(memoryMaxBytes, "classpath:contract-templates/");
+    }
+
+    private DocumentCache cache(long memoryMaxBytes, String templateLocation) throws Exception {
+        ContractTemplates templates = new ContractTemplates(new DefaultResourceLoader(), templateLocation);
+        return new DocumentCache(new PdfFileGenerator(templates), new TxtFileGenerator(templates), new CsvFileGenerator(templates),
+                templates, new SimpleMeterRegistry(), memoryMaxBytes, 1 << 20, directory);
+    }
+
+    private long countFiles() throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(".txt")).count();
+        }
+    }
+
+    private static ContractDTO contract(String details) {
+        return ContractDTO.builder()
+                .id(UUID.randomUUID())
+                .startDate(LocalDateTime.of(2024, 5, 1, 10, 0))
+                .duration(12)
+                .details(details)
+                .user_id(UUID.randomUUID())
+                .property_id(UUID.randomUUID())
+                .build();
+    }
+}
@@ -0,0 +1,97 @@
+package com.projectps.buildingmanagement.cache;
+
+import com.projectps.buildingmanagement.dtos.OfferDTO;
+import com.projectps.buildingmanagement.dtos.PropertyDTO;
+import com.projectps.buildingmanagement.entities.Property;
+import com.projectps.buildingmanagement.entities.enums.PropertyStatus;
+import com.projectps.buildingmanagement.entities.enums.PropertyType;
+import com.projectps.buildingmanagement.exceptions.PropertyNotFoundException;
+import com.projectps.buildingmanagement.repositories.PropertyRepository;
+import com.projectps.buildingmanagement.services.OfferService;
+import com.projectps.buildingmanagement.services.PropertyService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class PropertyCacheTests {
+
+    @Autowired
+    private PropertyCache propertyCache;
+
+    @Autowired
+    private PropertyService propertyService;
+
+    @Autowired
+    private OfferService offerService;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    private UUID propertyId;
+
+    @BeforeEach
+    void setUp() {
+        propertyRepository.deleteAll();
+        propertyId = propertyRepository.save(Property.builder()
+                .location("Str. Memorandumului 1, Cluj-Napoca")
+                .latitude(46.77)
+                .longitude(23.59)
+                .roomsNumber(2)
+                .initialPrice(1000)
+                .priceAfterOffer(1000)
+                .propertyType(PropertyType.APARTMENT)
+                .propertyStatus(PropertyStatus.DONE)
+                .build()).getId();
+    }
+
+    @Test
+    void changingAReturnedDtoDoesNotChangeTheCachedOne() {
+        PropertyDTO first = propertyCache.get(propertyId);
+        first.setLocation("Changed by a caller");
+        first.setRented(true);
+        propertyCache.getAll(List.of(propertyId)).get(propertyId).setRoomsNumber(9);
+
+        PropertyDTO second = propertyCache.get(propertyId);
+        assertNotSame(first, second);
+        assertEquals("Str. Memorandumului 1, Cluj-Napoca", second.getLocation());
+        assertFalse(second.isRented());
+        assertEquals(2, second.getRoomsNumber());
+    }
+
+    @Test
+    void updatedPropertyIsNeverServedStale() {
+        PropertyDTO cached = propertyService.getPropertyById(propertyId);
+        propertyCache.getAll(List.of(propertyId));
+
+        cached.setLocation("Bd. Eroilor 5, Cluj-Napoca");
+        cached.setRoomsNumber(3);
+        propertyService.updateProperty(propertyId, cached);
+        assertEquals("Bd. Eroilor 5, Cluj-Napoca", propertyService.getPropertyById(propertyId).getLocation());
+        assertEquals(3, propertyCache.getAll(List.of(propertyId)).get(propertyId).getRoomsNumber());
+
+        offerService.createOffer(OfferDTO.builder().offerProcent(20).property_id(propertyId).build());
+        PropertyDTO discounted = propertyService.getPropertyById(propertyId);
+        assertEquals(800, discounted.getPriceAfterOffer());
+        assertNotNull(discounted.getPriceOffer());
+    }
+
+    @Test
+    void deletedPropertyIsNeverServed() {
+        propertyService.getPropertyById(propertyId);
+        propertyCache.getAll(List.of(propertyId));
+
+        propertyService.deleteProperty(propertyId);
+        assertThrows(PropertyNotFoundException.class, () -> propertyService.getPropertyById(propertyId));
+        assertNull(propertyCache.get(propertyId));
+        assertTrue(propertyCache.getAll(List.of(propertyId)).isEmpty());
+    }
+}
@@ -0,0 +1,144 @@
+package com.projectps.buildingmanagement.controllers;
+
+import com.projectps.buildingmanagement.dtos.SessionUserDTO;
+import com.projectps.buildingmanagement.entities.Contract;
+import com.projectps.buildingmanagement.entities.Property;
+import com.projectps.buildingmanagement.entities.User;
+import com.projectps.buildingmanagement.entities.enums.PropertyStatus;
+import com.projectps.buildingmanagement.entities.enums.PropertyType;
+import com.projectps.buildingmanagement.entities.enums.UserType;
+import com.projectps.buildingmanagement.repositories.ContractRepository;
+import com.projectps.buildingmanagement.repositories.PropertyRepository;
+import com.projectps.buildingmanagement.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class ContractBundleTests {
+
+    private static final int CONTRACTS_PER_USER = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private ContractRepository contractRepository;
+
+    private User firstUser;
+    private MockHttpSession adminSession;
+
+    @BeforeEach
+    void setUp() {
+        contractRepository.deleteAll();
+        propertyRepository.deleteAll();
+        userRepository.deleteAll();
+
+        firstUser = saveUser(1);
+        User secondUser = saveUser(2);
+        for (int i = 0; i < CONTRACTS_PER_USER; i++) {
+            saveContract(firstUser, PropertyType.APARTMENT, LocalDateTime.of(2024, 1 + i, 1, 10, 0));
+            saveContract(secondUser, PropertyType.HOUSE, LocalDateTime.of(2024, 1 + i, 1, 10, 0));
+        }
+
+        adminSession = new MockHttpSession();
+        adminSession.setAttribute("logged_user", new SessionUserDTO(UUID.randomUUID(), "admin", UserType.ADMIN));
+    }
+
+    @Test
+    void bundleContainsOneDocumentPerMatchingContract() throws Exception {
+        assertEquals(2 * CONTRACTS_PER_USER, entries(get("/contracts/bundle").session(adminSession)).size());
+
+        Set<String> firstUserEntries = entries(get("/contracts/bundle").param("userId", firstUser.getId().toString())
+                .param("fileType", "txt").session(adminSession));
+        assertEquals(CONTRACTS_PER_USER, firstUserEntries.size());
+        for (Contract contract : contractRepository.findByUserId(firstUser.getId())) {
+            assertTrue(firstUserEntries.contains("contract_" + contract.getId() + ".txt"));
+        }
+
+        assertEquals(2, entries(get("/contracts/bundle")
+                .param("propertyType", "HOUSE")
+                .param("from", "2024-02-01T00:00:00")
+                .param("to", "2024-04-01T00:00:00")
+                .session(adminSession)).size());
+    }
+
+    @Test
+    void bundlesRequireAdmin() throws Exception {
+        mockMvc.perform(get("/contracts/bundle")).andExpect(status().isForbidden());
+        mockMvc.perform(get("/contracts/bundle").param("fileType", "docx").session(adminSession)).andExpect(status().isBadRequest());
+    }
+
+    private Set<String> entries(MockHttpServletRequestBuilder request) throws Exception {
+        byte[] archive = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        Set<String> names = new HashSet<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(archive))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                assertTrue(zip.readAllBytes().length > 0);
+                names.add(entry.getName());
+            }
+        }
+        return names;
+    }
+
+    private User saveUser(int index) {
+        return userRepository.save(User.builder()
+                .firstName("First")
+                .lastName("Last")
+                .username("user" + index)
+                .password("secret")
+                .email("user" + index + "@mail.com")
+                .phoneNumber("+4070000000" + index)
+                .userRole(UserType.CUSTOMER)
+                .build());
+    }
+
+    private void saveContract(User user, PropertyType propertyType, LocalDateTime startDate) {
+        Property property = propertyRepository.save(Property.builder()
+                .location("Main Street, " + UUID.randomUUID())
+                .latitude(46.77)
+                .longitude(23.6)
+                .roomsNumber(2)
+                .initialPrice(500)
+                .priceAfterOffer(500)
+                .propertyType(propertyType)
+                .propertyStatus(PropertyStatus.DONE)
+                .build());
+        contractRepository.save(Contract.builder()
+                .startDate(startDate)
+                .duration(12)
+                .details("Utilities included")
+                .user(user)
+                .property(property)
+                .build());
+    }
+}
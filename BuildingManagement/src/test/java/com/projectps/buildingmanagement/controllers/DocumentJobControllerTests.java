@@ -0,0 +1,231 @@
+package com.projectps.buildingmanagement.controllers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projectps.buildingmanagement.dtos.ContractDTO;
+import com.projectps.buildingmanagement.dtos.SessionUserDTO;
+import com.projectps.buildingmanagement.entities.Contract;
+import com.projectps.buildingmanagement.entities.Property;
+import com.projectps.buildingmanagement.entities.User;
+import com.projectps.buildingmanagement.entities.enums.PropertyStatus;
+import com.projectps.buildingmanagement.entities.enums.PropertyType;
+import com.projectps.buildingmanagement.entities.enums.UserType;
+import com.projectps.buildingmanagement.repositories.ContractRepository;
+import com.projectps.buildingmanagement.repositories.PropertyRepository;
+import com.projectps.buildingmanagement.repositories.UserRepository;
+import com.projectps.buildingmanagement.services.ContractService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class DocumentJobControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private ContractRepository contractRepository;
+
+    @Autowired
+    private ContractService contractService;
+
+    private UUID contractId;
+    private MockHttpSession ownerSession;
+    private MockHttpSession otherCustomerSession;
+
+    @BeforeEach
+    void setUp() {
+        contractRepository.deleteAll();
+        propertyRepository.deleteAll();
+        userRepository.deleteAll();
+
+        User owner = userRepository.save(User.builder()
+                .firstName("First")
+                .lastName("Last")
+                .username("owner")
+                .password("secret")
+                .email("owner@mail.com")
+                .phoneNumber("+40700000001")
+                .userRole(UserType.CUSTOMER)
+                .build());
+        Property property = propertyRepository.save(Property.builder()
+                .location("Main Street, 1")
+                .latitude(46.77)
+                .longitude(23.6)
+                .roomsNumber(2)
+                .initialPrice(500)
+                .priceAfterOffer(500)
+                .propertyType(PropertyType.APARTMENT)
+                .propertyStatus(PropertyStatus.DONE)
+                .build());
+        contractId = contractRepository.save(Contract.builder()
+                .startDate(LocalDateTime.of(2024, 5, 1, 10, 0))
+                .duration(12)
+                .details("Utilities included")
+                .user(owner)
+                .property(property)
+                .build()).getId();
+
+        ownerSession = new MockHttpSession();
+        ownerSession.setAttribute("logged_user", new SessionUserDTO(owner.getId(), "owner", UserType.CUSTOMER));
+        otherCustomerSession = new MockHttpSession();
+        otherCustomerSession.setAttribute("logged_user", new SessionUserDTO(UUID.randomUUID(), "other", UserType.CUSTOMER));
+    }
+
+    @Test
+    void submittedJobCanBeAwaitedAndDownloaded() throws Exception {
+        JsonNode submitted = submit(ownerSession, "pdf");
+        String jobId = submitted.get("id").asText();
+
+        JsonNode finished = json(perform(get("/contracts/documents/" + jobId).param("waitSeconds", "10").session(ownerSession)));
+        assertEquals("DONE", finished.get("status").asText());
+
+        MvcResult download = mockMvc.perform(get("/contracts/documents/" + jobId + "/file").session(ownerSession))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertEquals("application/pdf", download.getResponse().getContentType());
+        byte[] document = download.getResponse().getContentAsByteArray();
+        assertEquals(finished.get("size").asInt(), document.length);
+        assertEquals("%PDF", new String(document, 0, 4, StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void resubmittingAnUnchangedContractReusesTheJob() throws Exception {
+        String first = submit(ownerSession, "txt").get("id").asText();
+        String second = submit(ownerSession, "txt").get("id").asText();
+        String otherFormat = submit(ownerSession, "csv").get("id").asText();
+
+        assertEquals(first, second);
+        assertNotEquals(first, otherFormat);
+    }
+
+    @Test
+    void oldestFinishedJobsAreDroppedBeyondTheRetentionLimit() throws Exception {
+        String pdf = submit(ownerSession, "pdf").get("id").asText();
+        perform(get("/contracts/documents/" + pdf).param("waitSeconds", "10").session(ownerSession));
+        String txt = submit(ownerSession, "txt").get("id").asText();
+        perform(get("/contracts/documents/" + txt).param("waitSeconds", "10").session(ownerSession));
+        String csv = submit(ownerSession, "csv").get("id").asText();
+
+        // The test profile retains two jobs, so the first finished one is gone.
+        MvcResult dropped = mockMvc.perform(get("/contracts/documents/" + pdf).session(ownerSession))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(dropped)).andExpect(status().isNotFound());
+        mockMvc.perform(get("/contracts/documents/" + txt + "/file").session(ownerSession))
+                .andExpect(status().isOk());
+        assertEquals("DONE", json(perform(get("/contracts/documents/" + csv).param("waitSeconds", "10").session(ownerSession)))
+                .get("status").asText());
+    }
+
+    @Test
+    void jobsAreNotVisibleToOtherCustomers() throws Exception {
+        mockMvc.perform(post("/contracts/documents").param("contractId", contractId.toString()).param("fileType", "pdf")
+                        .session(otherCustomerSession))
+                .andExpect(status().isNotFound());
+
+        String jobId = submit(ownerSession, "pdf").get("id").asText();
+        mockMvc.perform(get("/contracts/documents/" + jobId + "/file").session(otherCustomerSession))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void directDownloadAnswersMatchingETagWithNotModified() throws Exception {
+        MvcResult first = mockMvc.perform(get("/contracts/downloadFile").param("contractId", contractId.toString()).param("fileType", "pdf").session(ownerSession))
+                .andExpect(status().isOk())
+                .andReturn();
+        String eTag = first.getResponse().getHeader("ETag");
+        assertNotNull(eTag);
+
+        mockMvc.perform(get("/contracts/downloadFile").param("contractId", contractId.toString()).param("fileType", "pdf").session(ownerSession)
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+
+        contractService.updateContract(contractId, ContractDTO.builder()
+                .startDate(LocalDateTime.now().plusDays(1))
+                .duration(24)
+                .details("Utilities included")
+                .build());
+        MvcResult changed = mockMvc.perform(get("/contracts/downloadFile").param("contractId", contractId.toString()).param("fileType", "pdf").session(ownerSession)
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertNotEquals(eTag, changed.getResponse().getHeader("ETag"));
+    }
+
+    @Test
+    void directDownloadIsLimitedToTheOwner() throws Exception {
+        MvcResult first = mockMvc.perform(post("/contracts/downloadFile").param("contractId", contractId.toString()).param("fileType", "txt")
+                        .session(ownerSession))
+                .andExpect(status().isOk())
+                .andReturn();
+        MvcResult cached = mockMvc.perform(post("/contracts/downloadFile").param("contractId", contractId.toString()).param("fileType", "txt")
+                        .session(ownerSession))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertArrayEquals(first.getResponse().getContentAsByteArray(), cached.getResponse().getContentAsByteArray());
+        assertEquals(cached.getResponse().getContentAsByteArray().length, cached.getResponse().getContentLength());
+
+        mockMvc.perform(get("/contracts/downloadFile").param("contractId", contractId.toString()).param("fileType", "txt")
+                        .session(otherCustomerSession))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/contracts/downloadFile").param("contractId", contractId.toString()).param("fileType", "txt"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void invalidRequestsAreRejected() throws Exception {
+        mockMvc.perform(post("/contracts/documents").param("contractId", contractId.toString()).param("fileType", "docx")
+                        .session(ownerSession))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/contracts/documents").param("contractId", contractId.toString()).param("fileType", "pdf"))
+                .andExpect(status().isForbidden());
+    }
+
+    private JsonNode submit(MockHttpSession session, String fileType) throws Exception {
+        MvcResult result = mockMvc.perform(post("/contracts/documents")
+                        .param("contractId", contractId.toString())
+                        .param("fileType", fileType)
+                        .session(session))
+                .andExpect(status().isAccepted())
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+
+    private MvcResult perform(RequestBuilder requestBuilder) throws Exception {
+        MvcResult started = mockMvc.perform(requestBuilder).andExpect(request().asyncStarted()).andReturn();
+        return mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk()).andReturn();
+    }
+
+    private JsonNode json(MvcResult result) throws Exception {
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+}
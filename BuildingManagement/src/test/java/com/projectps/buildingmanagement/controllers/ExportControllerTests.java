@@ -0,0 +1,134 @@
+package com.projectps.buildingmanagement.controllers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projectps.buildingmanagement.dtos.SessionUserDTO;
+import com.projectps.buildingmanagement.entities.Contract;
+import com.projectps.buildingmanagement.entities.Property;
+import com.projectps.buildingmanagement.entities.User;
+import com.projectps.buildingmanagement.entities.enums.PropertyStatus;
+import com.projectps.buildingmanagement.entities.enums.PropertyType;
+import com.projectps.buildingmanagement.entities.enums.UserType;
+import com.projectps.buildingmanagement.repositories.ContractRepository;
+import com.projectps.buildingmanagement.repositories.PropertyRepository;
+import com.projectps.buildingmanagement.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class ExportControllerTests {
+
+    private static final String DETAILS = "Rent, \"furnished\"\nutilities included";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private ContractRepository contractRepository;
+
+    private MockHttpSession adminSession;
+
+    @BeforeEach
+    void setUp() {
+        contractRepository.deleteAll();
+        propertyRepository.deleteAll();
+        userRepository.deleteAll();
+
+        User user = userRepository.save(User.builder()
+                .firstName("First")
+                .lastName("Last")
+                .username("user")
+                .password("secret")
+                .email("user@mail.com")
+                .phoneNumber("+40700000000")
+                .userRole(UserType.CUSTOMER)
+                .build());
+        Property property = propertyRepository.save(Property.builder()
+                .location("Main Street, 1")
+                .latitude(46.77)
+                .longitude(23.6)
+                .roomsNumber(2)
+                .initialPrice(500)
+                .priceAfterOffer(500)
+                .propertyType(PropertyType.APARTMENT)
+                .propertyStatus(PropertyStatus.DONE)
+                .build());
+        contractRepository.save(Contract.builder()
+                .startDate(LocalDateTime.of(2024, 5, 1, 10, 0))
+                .duration(12)
+                .details(DETAILS)
+                .user(user)
+                .property(property)
+                .build());
+
+        adminSession = new MockHttpSession();
+        adminSession.setAttribute("logged_user", new SessionUserDTO(user.getId(), "admin", UserType.ADMIN));
+    }
+
+    @Test
+    void contractsCsvEscapesSpecialCharacters() throws Exception {
+        String csv = mockMvc.perform(get("/exports/contracts").session(adminSession))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertTrue(csv.startsWith("id,startDate,duration,details,userId,propertyId\r\n"));
+        assertTrue(csv.contains(",12,\"Rent, \"\"furnished\"\"\nutilities included\","));
+    }
+
+    @Test
+    void contractsNdjsonWritesOneObjectPerLine() throws Exception {
+        String ndjson = mockMvc.perform(get("/exports/contracts").param("format", "ndjson").session(adminSession))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = ndjson.split("\n");
+        assertEquals(1, lines.length);
+        JsonNode row = objectMapper.readTree(lines[0]);
+        assertEquals(DETAILS, row.get("details").asText());
+        assertEquals("2024-05-01T10:00:00", row.get("startDate").asText());
+    }
+
+    @Test
+    void usersExportLeavesOutPasswords() throws Exception {
+        String csv = mockMvc.perform(get("/exports/users").session(adminSession))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertTrue(csv.contains("user@mail.com"));
+        assertFalse(csv.contains("secret"));
+    }
+
+    @Test
+    void exportsRequireAdmin() throws Exception {
+        mockMvc.perform(get("/exports/contracts")).andExpect(status().isForbidden());
+    }
+
+    @Test
+    void unknownTableOrFormatIsRejected() throws Exception {
+        mockMvc.perform(get("/exports/offers").session(adminSession)).andExpect(status().isNotFound());
+        mockMvc.perform(get("/exports/contracts").param("format", "xml").session(adminSession)).andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,157 @@
+package com.projectps.buildingmanagement.controllers;
+
+import com.projectps.buildingmanagement.entities.*;
+import com.projectps.buildingmanagement.entities.enums.PropertyStatus;
+import com.projectps.buildingmanagement.entities.enums.PropertyType;
+import com.projectps.buildingmanagement.entities.enums.UserType;
+import com.projectps.buildingmanagement.repositories.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class ListEndpointsStatementCountTests {
+
+    private static final int ROWS = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private ContractRepository contractRepository;
+
+    @Autowired
+    private OfferRepository offerRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private SolicitationRepository solicitationRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        solicitationRepository.deleteAll();
+        reviewRepository.deleteAll();
+        offerRepository.deleteAll();
+        contractRepository.deleteAll();
+        propertyRepository.deleteAll();
+        userRepository.deleteAll();
+
+        for (int i = 0; i < ROWS; i++) {
+            User user = userRepository.save(User.builder()
+                    .firstName("First")
+                    .lastName("Last")
+                    .username("user" + i)
+                    .password("password")
+                    .email("user" + i + "@mail.com")
+                    .phoneNumber("+4070000000" + i)
+                    .userRole(UserType.CUSTOMER)
+                    .build());
+            Property property = propertyRepository.save(Property.builder()
+                    .location("Location " + i)
+                    .latitude(46.77)
+                    .longitude(23.6)
+                    .roomsNumber(2)
+                    .initialPrice(500)
+                    .priceAfterOffer(450)
+                    .isRented(true)
+                    .isOfferApplied(true)
+                    .propertyType(PropertyType.APARTMENT)
+                    .propertyStatus(PropertyStatus.DONE)
+                    .build());
+            contractRepository.save(Contract.builder()
+                    .startDate(LocalDateTime.now())
+                    .duration(12)
+                    .details("details")
+                    .user(user)
+                    .property(property)
+                    .build());
+            offerRepository.save(Offer.builder()
+                    .offerProcent(10)
+                    .property(property)
+                    .build());
+            reviewRepository.save(Review.builder()
+                    .message("message")
+                    .date(LocalDateTime.now())
+                    .user(user)
+                    .build());
+            solicitationRepository.save(Solicitation.builder()
+                    .date(LocalDateTime.now())
+                    .user(user)
+                    .property(property)
+                    .build());
+        }
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void propertiesListUsesOneStatement() throws Exception {
+        mockMvc.perform(get("/properties/propertiesList")).andExpect(status().isOk());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void propertySearchUsesOneStatement() throws Exception {
+        mockMvc.perform(get("/properties/search")).andExpect(status().isOk());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void contractsListUsesOneStatement() throws Exception {
+        mockMvc.perform(get("/contracts/contractsList")).andExpect(status().isOk());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void offersListUsesOneStatement() throws Exception {
+        mockMvc.perform(get("/offers/offersList")).andExpect(status().isOk());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void reviewsListUsesOneStatement() throws Exception {
+        mockMvc.perform(get("/reviews/reviewsList")).andExpect(status().isOk());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void solicitationsListUsesOneStatement() throws Exception {
+        mockMvc.perform(get("/solicitations/solicitationsAdmin")).andExpect(status().isOk());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void usersListUsesOneStatementPerTable() throws Exception {
+        mockMvc.perform(get("/users/usersList")).andExpect(status().isOk());
+        assertEquals(4, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,122 @@
+package com.projectps.buildingmanagement.controllers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projectps.buildingmanagement.dtos.OfferDTO;
+import com.projectps.buildingmanagement.dtos.SessionUserDTO;
+import com.projectps.buildingmanagement.entities.Property;
+import com.projectps.buildingmanagement.entities.enums.PropertyStatus;
+import com.projectps.buildingmanagement.entities.enums.PropertyType;
+import com.projectps.buildingmanagement.entities.enums.UserType;
+import com.projectps.buildingmanagement.repositories.OfferRepository;
+import com.projectps.buildingmanagement.repositories.PropertyRepository;
+import com.projectps.buildingmanagement.services.OfferService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class OfferCampaignTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private OfferRepository offerRepository;
+
+    @Autowired
+    private OfferService offerService;
+
+    private MockHttpSession adminSession;
+    private Property clujApartment;
+    private Property discountedApartment;
+    private Property clujHouse;
+
+    @BeforeEach
+    void setUp() {
+        offerRepository.deleteAll();
+        propertyRepository.deleteAll();
+        clujApartment = save("Str. Memorandumului 1, Cluj-Napoca", PropertyType.APARTMENT);
+        save("Bd. Eroilor 5, Cluj-Napoca", PropertyType.APARTMENT);
+        discountedApartment = save("Str. Horea 10, Cluj-Napoca", PropertyType.APARTMENT);
+        clujHouse = save("Str. Fabricii 3, Cluj-Napoca", PropertyType.HOUSE);
+        save("Bd. Carol I 8, Iasi", PropertyType.APARTMENT);
+        offerService.createOffer(OfferDTO.builder().offerProcent(50).property_id(discountedApartment.getId()).build());
+
+        adminSession = new MockHttpSession();
+        adminSession.setAttribute("logged_user", new SessionUserDTO(UUID.randomUUID(), "admin", UserType.ADMIN));
+    }
+
+    @Test
+    void campaignDiscountsMatchingPropertiesAndRollbackRestoresThem() throws Exception {
+        String response = mockMvc.perform(post("/offers/campaigns").session(adminSession)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"offerProcent\":10,\"propertyType\":\"APARTMENT\",\"location\":\"cluj\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode campaign = objectMapper.readTree(response);
+
+        assertEquals(2, campaign.get("propertiesCount").asInt());
+        assertEquals(3, offerRepository.count());
+        Property discounted = propertyRepository.findById(clujApartment.getId()).orElseThrow();
+        assertEquals(900, discounted.getPriceAfterOffer(), 0.001);
+        assertTrue(discounted.isOfferApplied());
+        assertEquals(500, propertyRepository.findById(discountedApartment.getId()).orElseThrow().getPriceAfterOffer(), 0.001);
+        assertFalse(propertyRepository.findById(clujHouse.getId()).orElseThrow().isOfferApplied());
+
+        String rollback = "/offers/campaigns/" + campaign.get("id").asText() + "/rollback";
+        mockMvc.perform(post(rollback).session(adminSession)).andExpect(status().isOk());
+
+        assertEquals(1, offerRepository.count());
+        Property restored = propertyRepository.findById(clujApartment.getId()).orElseThrow();
+        assertEquals(1000, restored.getPriceAfterOffer(), 0.001);
+        assertFalse(restored.isOfferApplied());
+        assertTrue(propertyRepository.findById(discountedApartment.getId()).orElseThrow().isOfferApplied());
+
+        mockMvc.perform(post(rollback).session(adminSession)).andExpect(status().isConflict());
+    }
+
+    @Test
+    void campaignsRequireAdminAndAValidPercentage() throws Exception {
+        mockMvc.perform(post("/offers/campaigns").contentType(MediaType.APPLICATION_JSON).content("{\"offerProcent\":10}"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post("/offers/campaigns").session(adminSession)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"offerProcent\":150}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/offers/campaigns/" + UUID.randomUUID() + "/rollback").session(adminSession))
+                .andExpect(status().isNotFound());
+    }
+
+    private Property save(String location, PropertyType propertyType) {
+        return propertyRepository.save(Property.builder()
+                .location(location)
+                .latitude(46.77)
+                .longitude(23.59)
+                .roomsNumber(2)
+                .initialPrice(1000)
+                .priceAfterOffer(1000)
+                .propertyType(propertyType)
+                .propertyStatus(PropertyStatus.DONE)
+                .build());
+    }
+}
@@ -0,0 +1,111 @@
+package com.projectps.buildingmanagement.controllers;
+
+import com.projectps.buildingmanagement.dtos.OfferDTO;
+import com.projectps.buildingmanagement.entities.Property;
+import com.projectps.buildingmanagement.entities.enums.PropertyStatus;
+import com.projectps.buildingmanagement.entities.enums.PropertyType;
+import com.projectps.buildingmanagement.repositories.PropertyRepository;
+import com.projectps.buildingmanagement.services.OfferService;
+import com.projectps.buildingmanagement.services.PropertyChangeFeed;
+import com.projectps.buildingmanagement.services.PropertyService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class PropertyChangeFeedTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private OfferService offerService;
+
+    @Autowired
+    private PropertyService propertyService;
+
+    @Autowired
+    private PropertyChangeFeed propertyChangeFeed;
+
+    @Value("${property-feed.max-subscribers}")
+    private int maxSubscribers;
+
+    private final List<MvcResult> streams = new ArrayList<>();
+
+    @AfterEach
+    void closeStreams() {
+        // The feed is shared by the whole test context; completing the requests unsubscribes them.
+        streams.forEach(result -> result.getRequest().getAsyncContext().complete());
+        assertEquals(0, propertyChangeFeed.getSubscriberCount());
+    }
+
+    @Test
+    void subscribersReceiveDiscountsAndRemovals() throws Exception {
+        Property property = propertyRepository.save(Property.builder()
+                .location("Str. Horea 10, Cluj-Napoca")
+                .latitude(46.77)
+                .longitude(23.59)
+                .roomsNumber(2)
+                .initialPrice(1000)
+                .priceAfterOffer(1000)
+                .propertyType(PropertyType.APARTMENT)
+                .propertyStatus(PropertyStatus.DONE)
+                .build());
+        MockHttpServletResponse stream = subscribe().getResponse();
+
+        offerService.createOffer(OfferDTO.builder().offerProcent(20).property_id(property.getId()).build());
+        // Events are written on a feed thread, so wait for the whole event rather than its first bytes.
+        String discount = await(stream, content -> content.contains("PRICE_CHANGED") && content.endsWith("\n\n"));
+        assertTrue(discount.contains("event:changes"));
+        assertTrue(discount.contains(property.getId().toString()));
+        assertTrue(discount.contains("\"priceAfterOffer\":800.0"));
+
+        propertyService.deleteProperty(property.getId());
+        await(stream, content -> content.contains("REMOVED"));
+
+        while (propertyChangeFeed.getSubscriberCount() < maxSubscribers) {
+            subscribe();
+        }
+        mockMvc.perform(get("/properties/changes")).andExpect(status().isServiceUnavailable());
+    }
+
+    private MvcResult subscribe() throws Exception {
+        MvcResult result = mockMvc.perform(get("/properties/changes"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        streams.add(result);
+        return result;
+    }
+
+    private static String await(MockHttpServletResponse stream, Predicate<String> condition) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        String content = stream.getContentAsString();
+        while (!condition.test(content)) {
+            assertTrue(System.currentTimeMillis() < deadline, "Timed out waiting for the event stream, got: " + content);
+            Thread.sleep(20);
+            content = stream.getContentAsString();
+        }
+        return content;
+    }
+}
@@ -0,0 +1,136 @@
+package com.projectps.buildingmanagement.controllers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projectps.buildingmanagement.dtos.PropertyDTO;
+import com.projectps.buildingmanagement.dtos.SessionUserDTO;
+import com.projectps.buildingmanagement.entities.Property;
+import com.projectps.buildingmanagement.entities.enums.PropertyStatus;
+import com.projectps.buildingmanagement.entities.enums.PropertyType;
+import com.projectps.buildingmanagement.entities.enums.UserType;
+import com.projectps.buildingmanagement.repositories.PropertyRepository;
+import com.projectps.buildingmanagement.services.PropertyService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class PropertyImportTests {
+
+    private static final String HEADER = "location,latitude,longitude,roomsNumber,initialPrice,propertyType,propertyStatus,imageUrl\r\n";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private PropertyService propertyService;
+
+    private MockHttpSession adminSession;
+
+    @BeforeEach
+    void setUp() {
+        propertyRepository.deleteAll();
+        propertyRepository.save(Property.builder()
+                .location("Existing Street 1")
+                .latitude(46.77)
+                .longitude(23.59)
+                .roomsNumber(2)
+                .initialPrice(500)
+                .priceAfterOffer(500)
+                .propertyType(PropertyType.APARTMENT)
+                .propertyStatus(PropertyStatus.DONE)
+                .build());
+        adminSession = new MockHttpSession();
+        adminSession.setAttribute("logged_user", new SessionUserDTO(UUID.randomUUID(), "admin", UserType.ADMIN));
+    }
+
+    @Test
+    void csvImportInsertsValidRowsAcrossChunksAndReportsTheRest() throws Exception {
+        StringBuilder csv = new StringBuilder(HEADER);
+        for (int i = 1; i <= 250; i++) {
+            csv.append(row("Import Street " + i, "45.0", "25.0", "3", "1000", "house"));
+        }
+        csv.append(row("Import Street 1", "45.0", "25.0", "3", "1000", "HOUSE"));
+        csv.append(row("Existing Street 1", "45.0", "25.0", "3", "1000", "HOUSE"));
+        csv.append(row("Far North", "91.0", "25.0", "3", "1000", "HOUSE"));
+        csv.append(row("No Rooms", "45.0", "25.0", "0", "1000", "HOUSE"));
+        csv.append(row("Castle", "45.0", "25.0", "3", "1000", "CASTLE"));
+        csv.append(row("Import Street 300", "45.0", "25.0", "3", "1000", "HOUSE"));
+        csv.append(row("Import Street 300", "45.0", "25.0", "3", "1000", "HOUSE"));
+
+        JsonNode report = importProperties("csv", csv.toString());
+
+        assertEquals(257, report.get("total").asInt());
+        assertEquals(251, report.get("imported").asInt());
+        assertEquals(6, report.get("failed").asInt());
+        assertEquals(252, propertyRepository.count());
+        JsonNode errors = report.get("errors");
+        assertEquals(251, errors.get(0).get("row").asInt());
+        assertEquals("Location Import Street 1 already exists", errors.get(0).get("message").asText());
+        assertEquals("Location Existing Street 1 already exists", errors.get(1).get("message").asText());
+        assertEquals("Invalid latitude or longitude values.", errors.get(2).get("message").asText());
+        assertEquals("Rooms number must be greater than 0.", errors.get(3).get("message").asText());
+        assertEquals("Invalid propertyType: CASTLE", errors.get(4).get("message").asText());
+        assertEquals("Location Import Street 300 appears more than once in the import",
+                errors.get(5).get("message").asText());
+
+        List<PropertyDTO> nearby = propertyService.getPropertiesNearby(45.0, 25.0, 1, 100);
+        assertEquals(100, nearby.size());
+        assertEquals(1000, nearby.get(0).getPriceAfterOffer());
+        assertFalse(nearby.get(0).isRented());
+    }
+
+    @Test
+    void ndjsonImportReportsMalformedLines() throws Exception {
+        String ndjson = """
+                {"location":"Json Street 1","latitude":44.4,"longitude":26.1,"roomsNumber":2,"initialPrice":700,"propertyType":"APARTMENT","propertyStatus":"DONE"}
+                {"location":"Json Street 2",
+                {"location":"Json Street 3","latitude":44.4,"longitude":26.1,"roomsNumber":2,"initialPrice":-1,"propertyType":"APARTMENT","propertyStatus":"DONE"}
+                """;
+
+        JsonNode report = importProperties("ndjson", ndjson);
+
+        assertEquals(1, report.get("imported").asInt());
+        assertEquals(2, report.get("errors").get(0).get("row").asInt());
+        assertTrue(report.get("errors").get(0).get("message").asText().startsWith("Malformed JSON"));
+        assertEquals("Initial price must be greater than 0.", report.get("errors").get(1).get("message").asText());
+    }
+
+    @Test
+    void importRequiresAdminAndAKnownHeader() throws Exception {
+        mockMvc.perform(post("/properties/import").content(HEADER)).andExpect(status().isForbidden());
+        mockMvc.perform(post("/properties/import").content("location,latitude\r\n").session(adminSession))
+                .andExpect(status().isBadRequest());
+    }
+
+    private JsonNode importProperties(String format, String body) throws Exception {
+        String response = mockMvc.perform(post("/properties/import").param("format", format).content(body).session(adminSession))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response);
+    }
+
+    private static String row(String location, String latitude, String longitude, String rooms, String price, String type) {
+        return String.join(",", location, latitude, longitude, rooms, price, type, "DONE", "") + "\r\n";
+    }
+}
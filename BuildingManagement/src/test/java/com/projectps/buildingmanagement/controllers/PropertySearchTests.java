@@ -0,0 +1,200 @@
+package com.projectps.buildingmanagement.controllers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projectps.buildingmanagement.entities.Property;
+import com.projectps.buildingmanagement.entities.enums.PropertyStatus;
+import com.projectps.buildingmanagement.entities.enums.PropertyType;
+import com.projectps.buildingmanagement.repositories.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.*;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class PropertySearchTests {
+
+    // Several rows share each price, so page boundaries fall inside runs of equal prices.
+    private static final float[] PRICES = {300, 300, 300, 300, 300, 450, 450, 450, 450, 600, 600, 600};
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private ContractRepository contractRepository;
+
+    @Autowired
+    private OfferRepository offerRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private SolicitationRepository solicitationRepository;
+
+    private List<Property> properties;
+
+    @BeforeEach
+    void setUp() {
+        solicitationRepository.deleteAll();
+        reviewRepository.deleteAll();
+        offerRepository.deleteAll();
+        contractRepository.deleteAll();
+        propertyRepository.deleteAll();
+        userRepository.deleteAll();
+
+        properties = new ArrayList<>();
+        for (int i = 0; i < PRICES.length; i++) {
+            properties.add(propertyRepository.save(Property.builder()
+                    .location("Location " + i)
+                    .latitude(46.77)
+                    .longitude(23.6)
+                    .roomsNumber(1 + i % 3)
+                    .initialPrice(PRICES[i])
+                    .priceAfterOffer(PRICES[i])
+                    .isRented(i % 4 == 0)
+                    .propertyType(i % 2 == 0 ? PropertyType.HOUSE : PropertyType.APARTMENT)
+                    .propertyStatus(PropertyStatus.DONE)
+                    .build()));
+        }
+    }
+
+    @Test
+    void pagesAreDisjointAndCompleteAcrossEqualPrices() throws Exception {
+        List<JsonNode> pages = walk(2, request -> request);
+        List<JsonNode> rows = rows(pages);
+
+        assertEquals(6, pages.size());
+        assertEquals(properties.size(), rows.size());
+        assertEquals(propertyIds(properties), new HashSet<>(ids(rows)));
+        for (int i = 1; i < rows.size(); i++) {
+            assertTrue(price(rows.get(i - 1)) <= price(rows.get(i)), "Rows are not sorted by price");
+        }
+    }
+
+    @Test
+    void descendingSearchReturnsTheAscendingOrderReversed() throws Exception {
+        List<UUID> ascending = ids(rows(walk(5, request -> request)));
+        List<UUID> descending = ids(rows(walk(5, request -> request.param("sort", "DESC"))));
+
+        Collections.reverse(ascending);
+        assertEquals(ascending, descending);
+    }
+
+    @Test
+    void filtersApplyOnEveryPage() throws Exception {
+        List<JsonNode> rows = rows(walk(1, request -> request
+                .param("propertyType", "HOUSE")
+                .param("minPrice", "400")
+                .param("rented", "false")
+                .param("maxRooms", "2")));
+
+        Set<UUID> expected = properties.stream()
+                .filter(property -> property.getPropertyType() == PropertyType.HOUSE)
+                .filter(property -> property.getPriceAfterOffer() >= 400)
+                .filter(property -> !property.isRented())
+                .filter(property -> property.getRoomsNumber() <= 2)
+                .map(Property::getId)
+                .collect(Collectors.toSet());
+        assertFalse(expected.isEmpty());
+        assertEquals(expected.size(), rows.size());
+        assertEquals(expected, new HashSet<>(ids(rows)));
+    }
+
+    @Test
+    void lastPageHasNoCursor() throws Exception {
+        JsonNode exact = search(get("/properties/search").param("size", String.valueOf(properties.size())));
+        assertEquals(properties.size(), exact.get("properties").size());
+        assertFalse(exact.get("hasNext").asBoolean());
+        assertTrue(exact.get("nextCursor").isNull());
+
+        JsonNode partial = search(get("/properties/search").param("size", String.valueOf(properties.size() - 1)));
+        assertTrue(partial.get("hasNext").asBoolean());
+        JsonNode last = search(get("/properties/search").param("size", String.valueOf(properties.size() - 1))
+                .param("cursor", partial.get("nextCursor").asText()));
+        assertEquals(1, last.get("properties").size());
+        assertFalse(last.get("hasNext").asBoolean());
+        assertTrue(last.get("nextCursor").isNull());
+    }
+
+    @Test
+    void invalidSearchesAreRejected() throws Exception {
+        String cursorWithoutId = Base64.getUrlEncoder().withoutPadding().encodeToString("300.0:abc".getBytes());
+        for (String cursor : List.of("not a cursor", "bm90LWEtY3Vyc29y", cursorWithoutId)) {
+            mockMvc.perform(get("/properties/search").param("cursor", cursor)).andExpect(status().isBadRequest());
+        }
+        for (String size : List.of("0", "-1", "101")) {
+            mockMvc.perform(get("/properties/search").param("size", size)).andExpect(status().isBadRequest());
+        }
+        mockMvc.perform(get("/properties/search").param("minPrice", "500").param("maxPrice", "400"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/properties/search").param("size", "100")).andExpect(status().isOk());
+    }
+
+    /**
+     * Follows the cursors from the first page until a page reports that it is the last one.
+     */
+    private List<JsonNode> walk(int size, UnaryOperator<MockHttpServletRequestBuilder> filters) throws Exception {
+        List<JsonNode> pages = new ArrayList<>();
+        String cursor = null;
+        do {
+            MockHttpServletRequestBuilder request = filters.apply(get("/properties/search").param("size", String.valueOf(size)));
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            JsonNode page = search(request);
+            pages.add(page);
+            assertTrue(page.get("properties").size() <= size);
+            cursor = page.get("hasNext").asBoolean() ? page.get("nextCursor").asText() : null;
+            assertTrue(pages.size() <= properties.size() + 1, "Search did not reach its last page");
+        } while (cursor != null);
+        assertTrue(pages.get(pages.size() - 1).get("nextCursor").isNull());
+        return pages;
+    }
+
+    private JsonNode search(MockHttpServletRequestBuilder request) throws Exception {
+        String content = mockMvc.perform(request).andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(content);
+    }
+
+    private static List<JsonNode> rows(List<JsonNode> pages) {
+        List<JsonNode> rows = new ArrayList<>();
+        pages.forEach(page -> page.get("properties").forEach(rows::add));
+        return rows;
+    }
+
+    private static List<UUID> ids(List<JsonNode> rows) {
+        return rows.stream().map(row -> UUID.fromString(row.get("id").asText())).collect(Collectors.toList());
+    }
+
+    private static Set<UUID> propertyIds(Collection<Property> properties) {
+        return properties.stream().map(Property::getId).collect(Collectors.toSet());
+    }
+
+    private static float price(JsonNode row) {
+        return (float) row.get("priceAfterOffer").asDouble();
+    }
+}
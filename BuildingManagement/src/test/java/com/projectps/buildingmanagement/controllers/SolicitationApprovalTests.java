@@ -0,0 +1,164 @@
+package com.projectps.buildingmanagement.controllers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projectps.buildingmanagement.dtos.SessionUserDTO;
+import com.projectps.buildingmanagement.entities.Property;
+import com.projectps.buildingmanagement.entities.Solicitation;
+import com.projectps.buildingmanagement.entities.User;
+import com.projectps.buildingmanagement.entities.enums.PropertyStatus;
+import com.projectps.buildingmanagement.entities.enums.PropertyType;
+import com.projectps.buildingmanagement.entities.enums.UserType;
+import com.projectps.buildingmanagement.repositories.ContractRepository;
+import com.projectps.buildingmanagement.repositories.PropertyRepository;
+import com.projectps.buildingmanagement.repositories.SolicitationRepository;
+import com.projectps.buildingmanagement.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class SolicitationApprovalTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private SolicitationRepository solicitationRepository;
+
+    @Autowired
+    private ContractRepository contractRepository;
+
+    private MockHttpSession adminSession;
+
+    @BeforeEach
+    void setUp() {
+        contractRepository.deleteAll();
+        solicitationRepository.deleteAll();
+        propertyRepository.deleteAll();
+        userRepository.deleteAll();
+        adminSession = new MockHttpSession();
+        adminSession.setAttribute("logged_user", new SessionUserDTO(UUID.randomUUID(), "admin", UserType.ADMIN));
+    }
+
+    @Test
+    void batchApprovesTheWaitlistHeadOfEachProperty() throws Exception {
+        User ana = saveUser("ana", 1);
+        User ion = saveUser("ion", 2);
+        Property shared = saveProperty("Str. Horea 10, Cluj-Napoca");
+        Property single = saveProperty("Bd. Eroilor 5, Cluj-Napoca");
+        Property rented = saveProperty("Str. Fabricii 3, Cluj-Napoca");
+        LocalDateTime now = LocalDateTime.now();
+        UUID first = saveSolicitation(ana, shared, now.minusHours(2));
+        UUID second = saveSolicitation(ion, shared, now.minusHours(1));
+        UUID other = saveSolicitation(ion, single, now);
+        UUID late = saveSolicitation(ana, rented, now);
+        rented.setRented(true);
+        propertyRepository.save(rented);
+        UUID missing = UUID.randomUUID();
+
+        String body = objectMapper.writeValueAsString(Map.of(
+                "solicitationIds", List.of(second, first, other, late, missing),
+                "startDate", now.plusDays(1).toString(),
+                "duration", 12,
+                "details", "Approved in batch"));
+        String response = mockMvc.perform(post("/solicitations/approve").session(adminSession)
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode report = objectMapper.readTree(response);
+
+        assertEquals(5, report.get("total").asInt());
+        assertEquals(2, report.get("approved").asInt());
+        assertEquals(3, report.get("rejected").asInt());
+        Map<UUID, JsonNode> results = new HashMap<>();
+        report.get("results").forEach(result -> results.put(UUID.fromString(result.get("solicitationId").asText()), result));
+        assertTrue(results.get(first).get("approved").asBoolean());
+        assertTrue(results.get(other).get("approved").asBoolean());
+        assertFalse(results.get(second).get("approved").asBoolean());
+        assertEquals("Property is already rented!", results.get(late).get("message").asText());
+        assertEquals("Solicitation not found", results.get(missing).get("message").asText());
+
+        assertEquals(2, contractRepository.count());
+        assertTrue(propertyRepository.findById(shared.getId()).orElseThrow().isRented());
+        assertTrue(propertyRepository.findById(single.getId()).orElseThrow().isRented());
+        assertFalse(solicitationRepository.existsById(first));
+        assertFalse(solicitationRepository.existsById(other));
+        assertTrue(solicitationRepository.existsById(second));
+        assertTrue(solicitationRepository.existsById(late));
+    }
+
+    @Test
+    void approvalRequiresAdminAndValidTerms() throws Exception {
+        String body = objectMapper.writeValueAsString(Map.of(
+                "solicitationIds", List.of(UUID.randomUUID()),
+                "startDate", LocalDateTime.now().minusDays(1).toString(),
+                "duration", 12,
+                "details", "Approved in batch"));
+        mockMvc.perform(post("/solicitations/approve").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post("/solicitations/approve").session(adminSession)
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isBadRequest());
+    }
+
+    private User saveUser(String username, int number) {
+        return userRepository.save(User.builder()
+                .firstName("Test")
+                .lastName("User")
+                .username(username)
+                .password("secret")
+                .email(username + "@mail.com")
+                .phoneNumber(String.format("+40755%06d", number))
+                .userRole(UserType.CUSTOMER)
+                .build());
+    }
+
+    private Property saveProperty(String location) {
+        return propertyRepository.save(Property.builder()
+                .location(location)
+                .latitude(46.77)
+                .longitude(23.59)
+                .roomsNumber(2)
+                .initialPrice(1000)
+                .priceAfterOffer(1000)
+                .propertyType(PropertyType.APARTMENT)
+                .propertyStatus(PropertyStatus.DONE)
+                .build());
+    }
+
+    private UUID saveSolicitation(User user, Property property, LocalDateTime date) {
+        return solicitationRepository.save(Solicitation.builder()
+                .date(date)
+                .user(user)
+                .property(property)
+                .build()).getId();
+    }
+}
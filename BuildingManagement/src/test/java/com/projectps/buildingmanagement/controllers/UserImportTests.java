@@ -0,0 +1,139 @@
+package com.projectps.buildingmanagement.controllers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projectps.buildingmanagement.dtos.SessionUserDTO;
+import com.projectps.buildingmanagement.entities.User;
+import com.projectps.buildingmanagement.entities.enums.UserType;
+import com.projectps.buildingmanagement.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class UserImportTests {
+
+    private static final String HEADER = "firstName,lastName,username,password,email,phoneNumber,userRole\r\n";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private MockHttpSession adminSession;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        userRepository.save(User.builder()
+                .firstName("Existing")
+                .lastName("User")
+                .username("existing")
+                .password("secret")
+                .email("existing@mail.com")
+                .phoneNumber("+40700000000")
+                .userRole(UserType.CUSTOMER)
+                .build());
+        adminSession = new MockHttpSession();
+        adminSession.setAttribute("logged_user", new SessionUserDTO(UUID.randomUUID(), "admin", UserType.ADMIN));
+    }
+
+    @Test
+    void csvImportInsertsValidRowsAcrossChunksAndReportsTheRest() throws Exception {
+        StringBuilder csv = new StringBuilder(HEADER);
+        for (int i = 1; i <= 250; i++) {
+            csv.append(row("Ana", "user" + i, "user" + i + "@mail.com", String.format("+40711%06d", i), ""));
+        }
+        csv.append(row("Ana", "badmail", "not-an-email", "+40722000001", "ADMIN"));
+        csv.append(row("Ana", "user1", "again@mail.com", "+40722000002", ""));
+        csv.append(row("Ana", "existing", "other@mail.com", "+40722000003", ""));
+        csv.append(row("Ana", "role", "role@mail.com", "+40722000004", "OWNER"));
+        csv.append("\"Quoted, Name\",Last,short\r\n");
+
+        JsonNode report = importUsers("csv", csv.toString());
+
+        assertEquals(255, report.get("total").asInt());
+        assertEquals(250, report.get("imported").asInt());
+        assertEquals(5, report.get("failed").asInt());
+        assertEquals(251, userRepository.count());
+        JsonNode errors = report.get("errors");
+        assertEquals(251, errors.get(0).get("row").asInt());
+        assertEquals("Invalid email format", errors.get(0).get("message").asText());
+        // user1 was committed with the first chunk, so the database lookup rejects its repeat.
+        assertEquals("Username user1 already exists", errors.get(1).get("message").asText());
+        assertEquals("Username existing already exists", errors.get(2).get("message").asText());
+        assertEquals("Invalid userRole: OWNER", errors.get(3).get("message").asText());
+        assertEquals("Expected 7 fields but found 3", errors.get(4).get("message").asText());
+    }
+
+    @Test
+    void rejectedRowsDoNotClaimTheirValues() throws Exception {
+        String csv = HEADER
+                + row("Ana", "fresh", "existing@mail.com", "+40744000001", "")
+                + row("Ana", "fresh", "fresh@mail.com", "+40744000001", "")
+                + row("Ana", "twice", "twice@mail.com", "+40744000002", "")
+                + row("Ana", "twice", "other@mail.com", "+40744000003", "");
+
+        JsonNode report = importUsers("csv", csv);
+
+        assertEquals(2, report.get("imported").asInt());
+        JsonNode errors = report.get("errors");
+        assertEquals(2, errors.size());
+        assertEquals(1, errors.get(0).get("row").asInt());
+        assertEquals("Email existing@mail.com already exists", errors.get(0).get("message").asText());
+        assertEquals(4, errors.get(1).get("row").asInt());
+        assertEquals("Username twice appears more than once in the import", errors.get(1).get("message").asText());
+        assertEquals("fresh@mail.com", userRepository.findByUsername("fresh").getEmail());
+    }
+
+    @Test
+    void ndjsonImportReportsMalformedLines() throws Exception {
+        String ndjson = """
+                {"firstName":"Ana","lastName":"Pop","username":"ana","password":"pw","email":"ana@mail.com","phoneNumber":"+40733000001"}
+                {"firstName":"Ion",
+                {"firstName":"Ion","lastName":"Pop","username":"ion","password":"pw","email":"ion@mail.com","phoneNumber":"+40733000002","userRole":"ADMIN"}
+                """;
+
+        JsonNode report = importUsers("ndjson", ndjson);
+
+        assertEquals(2, report.get("imported").asInt());
+        assertEquals(2, report.get("errors").get(0).get("row").asInt());
+        assertEquals(UserType.ADMIN, userRepository.findByUsername("ion").getUserRole());
+        assertEquals(UserType.CUSTOMER, userRepository.findByUsername("ana").getUserRole());
+    }
+
+    @Test
+    void importRequiresAdminAndAKnownHeader() throws Exception {
+        mockMvc.perform(post("/users/import").content(HEADER)).andExpect(status().isForbidden());
+        mockMvc.perform(post("/users/import").content("firstName,lastName\r\n").session(adminSession))
+                .andExpect(status().isBadRequest());
+    }
+
+    private JsonNode importUsers(String format, String body) throws Exception {
+        String response = mockMvc.perform(post("/users/import").param("format", format).content(body).session(adminSession))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response);
+    }
+
+    private static String row(String firstName, String username, String email, String phoneNumber, String role) {
+        return String.join(",", firstName, "Pop", username, "secret", email, phoneNumber, role) + "\r\n";
+    }
+}
@@ -0,0 +1,163 @@
+package com.projectps.buildingmanagement.files;
+
+import com.itextpdf.text.Document;
+import com.itextpdf.text.DocumentException;
+import com.itextpdf.text.Paragraph;
+import com.itextpdf.text.pdf.PdfWriter;
+import com.projectps.buildingmanagement.dtos.ContractDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares rendering contract documents from compiled templates with the string-building generators they replaced.
+ * Before measuring, the setup checks that both produce the same TXT and CSV bytes; PDFs embed a creation time and
+ * a document ID, so only their header is compared.
+ * Run it from the IDE or with {@code main}, after {@code mvn test-compile}; add {@code -prof gc} to see allocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContractTemplateBenchmark {
+
+    @Param({"TXT", "CSV", "PDF"})
+    private DocumentFormat format;
+
+    private final ContractDTO contract = ContractDTO.builder()
+            .id(UUID.randomUUID())
+            .startDate(LocalDateTime.of(2024, 5, 1, 10, 0))
+            .duration(12)
+            .details("Rent, \"furnished\", utilities included")
+            .user_id(UUID.randomUUID())
+            .property_id(UUID.randomUUID())
+            .build();
+
+    private FileGeneratorStrategy template;
+    private FileGeneratorStrategy concatenation;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        ContractTemplates templates = new ContractTemplates(new DefaultResourceLoader(), "classpath:contract-templates");
+        switch (format) {
+            case TXT -> {
+                template = new TxtFileGenerator(templates);
+                concatenation = new ConcatenatingTxtGenerator();
+            }
+            case CSV -> {
+                template = new CsvFileGenerator(templates);
+                concatenation = new ConcatenatingCsvGenerator();
+            }
+            case PDF -> {
+                template = new PdfFileGenerator(templates);
+                concatenation = new ConcatenatingPdfGenerator();
+            }
+        }
+        verify();
+    }
+
+    @Benchmark
+    public byte[] template() throws IOException {
+        return generate(template);
+    }
+
+    @Benchmark
+    public byte[] concatenation() throws IOException {
+        return generate(concatenation);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ContractTemplateBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    private void verify() throws IOException {
+        byte[] expected = generate(concatenation);
+        byte[] actual = generate(template);
+        boolean same = format == DocumentFormat.PDF
+                ? new String(actual, 0, 4, StandardCharsets.US_ASCII).equals(new String(expected, 0, 4, StandardCharsets.US_ASCII))
+                : Arrays.equals(expected, actual);
+        if (!same) {
+            throw new IllegalStateException("The " + format + " template does not reproduce the previous document");
+        }
+    }
+
+    private byte[] generate(FileGeneratorStrategy generator) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        generator.generateFile(contract, outputStream);
+        return outputStream.toByteArray();
+    }
+
+    private static final class ConcatenatingTxtGenerator implements FileGeneratorStrategy {
+        @Override
+        public void generateFile(ContractDTO contract, OutputStream outputStream) throws IOException {
+            Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+            writer.append("Contract ID: ").append(String.valueOf(contract.getId())).append("\n");
+            writer.append("Start Date: ").append(String.valueOf(contract.getStartDate())).append("\n");
+            writer.append("Duration: ").append(String.valueOf(contract.getDuration())).append("\n");
+            writer.append("Details: ").append(contract.getDetails()).append("\n");
+            writer.append("User ID: ").append(String.valueOf(contract.getUser_id())).append("\n");
+            writer.append("Property ID: ").append(String.valueOf(contract.getProperty_id())).append("\n");
+            writer.flush();
+        }
+    }
+
+    private static final class ConcatenatingCsvGenerator implements FileGeneratorStrategy {
+        @Override
+        public void generateFile(ContractDTO contract, OutputStream outputStream) throws IOException {
+            OutputStreamWriter writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+            Csv.writeRow(writer, List.of("Contract ID", "Start Date", "Duration", "Details", "User ID", "Property ID"));
+            Csv.writeRow(writer, Arrays.asList(contract.getId(), contract.getStartDate(), contract.getDuration(),
+                    contract.getDetails(), contract.getUser_id(), contract.getProperty_id()));
+            writer.flush();
+        }
+    }
+
+    private static final class ConcatenatingPdfGenerator implements FileGeneratorStrategy {
+        @Override
+        public void generateFile(ContractDTO contract, OutputStream outputStream) throws IOException {
+            try {
+                Document document = new Document();
+                PdfWriter writer = PdfWriter.getInstance(document, outputStream);
+                writer.setCloseStream(false);
+                document.open();
+                document.add(new Paragraph("Contract ID: " + contract.getId()));
+                document.add(new Paragraph("Start Date: " + contract.getStartDate()));
+                document.add(new Paragraph("Duration: " + contract.getDuration()));
+                document.add(new Paragraph("Details: " + contract.getDetails()));
+                document.add(new Paragraph("User ID: " + contract.getUser_id()));
+                document.add(new Paragraph("Property ID: " + contract.getProperty_id()));
+                document.close();
+                outputStream.flush();
+            } catch (DocumentException e) {
+                throw new IOException("Failed to generate PDF for contract " + contract.getId(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.projectps.buildingmanagement.files;
+
+import com.projectps.buildingmanagement.dtos.ContractDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContractTemplateTests {
+
+    private static final ContractDTO CONTRACT = ContractDTO.builder()
+            .id(UUID.fromString("7d1f1c57-3c52-4a3e-9d6c-0b8f0f7b3a01"))
+            .startDate(LocalDateTime.of(2024, 5, 1, 10, 0))
+            .duration(12)
+            .details("Rent, \"furnished\"")
+            .user_id(UUID.fromString("0c5e9b3f-8f2a-4f67-a0a4-6e1d2b7c9d02"))
+            .property_id(null)
+            .build();
+
+    private final ContractTemplates templates = new ContractTemplates(new DefaultResourceLoader(), "classpath:contract-templates");
+
+    @Test
+    void defaultTemplatesKeepTheDocumentLayout() throws Exception {
+        assertEquals("""
+                Contract ID: 7d1f1c57-3c52-4a3e-9d6c-0b8f0f7b3a01
+                Start Date: 2024-05-01T10:00
+                Duration: 12
+                Details: Rent, "furnished"
+                User ID: 0c5e9b3f-8f2a-4f67-a0a4-6e1d2b7c9d02
+                Property ID: null
+                """, generate(new TxtFileGenerator(templates)));
+        assertEquals("Contract ID,Start Date,Duration,Details,User ID,Property ID\r\n"
+                + "7d1f1c57-3c52-4a3e-9d6c-0b8f0f7b3a01,2024-05-01T10:00,12,\"Rent, \"\"furnished\"\"\",0c5e9b3f-8f2a-4f67-a0a4-6e1d2b7c9d02,\r\n",
+                generate(new CsvFileGenerator(templates)));
+    }
+
+    @Test
+    void invalidPlaceholdersAreRejectedWhenCompiling() {
+        assertThrows(IllegalArgumentException.class, () -> ContractTemplate.compile("Rent: {{price}}", "\n", String::valueOf));
+        assertThrows(IllegalArgumentException.class, () -> ContractTemplate.compile("Rent: {{details", "\n", String::valueOf));
+        assertEquals("12 months", ContractTemplate.compile("{{ duration }} months", "\n", String::valueOf).render(CONTRACT));
+    }
+
+    private static String generate(FileGeneratorStrategy generator) throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        generator.generateFile(CONTRACT, outputStream);
+        return outputStream.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,143 @@
+package com.projectps.buildingmanagement.files;
+
+import com.projectps.buildingmanagement.dtos.ContractDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares writing a contract document to a response through an intermediate byte array, as the generators did
+ * before they took an {@link OutputStream}, with generating it straight into the response.
+ * The response is a counting sink standing in for the servlet stream, so only the generator and the buffering
+ * are measured. The interesting figure is {@code gc.alloc.rate.norm}: the buffered path allocates the growing
+ * array and its {@code toByteArray()} copy, about twice the document size, on top of what the generator
+ * itself needs. That is noise next to iText's own allocations for a PDF and matters for large text documents.
+ * Run it from the IDE or with {@code main}, after {@code mvn test-compile}; {@code main} adds the GC profiler.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DocumentStreamingBenchmark {
+
+    @Param({"TXT", "CSV", "PDF"})
+    private DocumentFormat format;
+
+    // Length of the free-text details, which is what makes contract documents differ in size.
+    @Param({"40", "20000"})
+    private int detailsLength;
+
+    private ContractDTO contract;
+    private FileGeneratorStrategy generator;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        contract = ContractDTO.builder()
+                .id(UUID.randomUUID())
+                .startDate(LocalDateTime.of(2024, 5, 1, 10, 0))
+                .duration(12)
+                .details("Utilities included, pets allowed. ".repeat(detailsLength / 34 + 1).substring(0, detailsLength))
+                .user_id(UUID.randomUUID())
+                .property_id(UUID.randomUUID())
+                .build();
+        ContractTemplates templates = new ContractTemplates(new DefaultResourceLoader(), "classpath:contract-templates");
+        generator = switch (format) {
+            case TXT -> new TxtFileGenerator(templates);
+            case CSV -> new CsvFileGenerator(templates);
+            case PDF -> new PdfFileGenerator(templates);
+        };
+        verify();
+    }
+
+    @Benchmark
+    public long buffered(Blackhole blackhole) throws IOException {
+        CountingOutputStream response = new CountingOutputStream(blackhole);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        generator.generateFile(contract, outputStream);
+        byte[] document = outputStream.toByteArray();
+        response.write(document);
+        return response.count;
+    }
+
+    @Benchmark
+    public long streamed(Blackhole blackhole) throws IOException {
+        CountingOutputStream response = new CountingOutputStream(blackhole);
+        generator.generateFile(contract, response);
+        return response.count;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(DocumentStreamingBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+
+    /**
+     * Checks that both paths hand the response a document of the same length; PDFs differ only in their
+     * embedded creation time and ID, which have a fixed length. PDF content is compressed, so only the text
+     * formats must be at least as long as the details.
+     */
+    private void verify() throws IOException {
+        Blackhole blackhole = new Blackhole("Today's password is swordfish. I understand instantiating Blackholes directly is dangerous.");
+        long buffered = buffered(blackhole);
+        long streamed = streamed(blackhole);
+        if (buffered != streamed || (format != DocumentFormat.PDF && buffered < detailsLength)) {
+            throw new IllegalStateException("The " + format + " paths wrote " + buffered + " and " + streamed + " bytes");
+        }
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        generator.generateFile(contract, outputStream);
+        String start = new String(outputStream.toByteArray(), 0, 4, StandardCharsets.US_ASCII);
+        if (format == DocumentFormat.PDF && !start.equals("%PDF")) {
+            throw new IllegalStateException("The PDF generator wrote " + start);
+        }
+    }
+
+    /**
+     * Counts the bytes of the response and hands them to the blackhole, like a socket buffer that is drained.
+     */
+    private static final class CountingOutputStream extends OutputStream {
+        private final Blackhole blackhole;
+        private long count;
+
+        private CountingOutputStream(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void write(int b) {
+            blackhole.consume(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            blackhole.consume(b);
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.projectps.buildingmanagement.index;
+
+import com.projectps.buildingmanagement.dtos.PriceBucketDTO;
+import com.projectps.buildingmanagement.dtos.PropertyFacetsDTO;
+import com.projectps.buildingmanagement.entities.Property;
+import com.projectps.buildingmanagement.entities.enums.PropertyStatus;
+import com.projectps.buildingmanagement.entities.enums.PropertyType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FacetIndexTests {
+
+    private final FacetIndex index = new FacetIndex(null);
+    private final Map<UUID, Property> catalogue = new HashMap<>();
+
+    @Test
+    void countersFollowCreateUpdateRentAndDelete() {
+        Property apartment = save(property(PropertyType.APARTMENT, PropertyStatus.DONE, 2, 400));
+        Property house = save(property(PropertyType.HOUSE, PropertyStatus.INTERIOR, 5, 3000));
+        PropertyFacetsDTO facets = index.snapshot();
+        assertEquals(2, facets.getTotal());
+        assertEquals(1, bucket(facets, 250).getCount());
+        assertMatchesRecount();
+
+        // The new price moves the apartment to another bucket and the new type to another counter.
+        apartment.setPriceAfterOffer(1200);
+        apartment.setPropertyType(PropertyType.COMMERCIAL);
+        apartment.setRoomsNumber(3);
+        save(apartment);
+        facets = index.snapshot();
+        assertEquals(0, bucket(facets, 250).getCount());
+        assertEquals(1, bucket(facets, 1000).getCount());
+        assertNull(facets.getPropertyTypes().get(PropertyType.APARTMENT));
+        assertNull(facets.getRoomsNumbers().get(2));
+        assertMatchesRecount();
+
+        house.setRented(true);
+        save(house);
+        facets = index.snapshot();
+        assertEquals(1, facets.getTotal());
+        assertNull(facets.getPropertyTypes().get(PropertyType.HOUSE));
+        assertMatchesRecount();
+
+        house.setRented(false);
+        save(house);
+        assertEquals(2, index.snapshot().getTotal());
+        assertMatchesRecount();
+
+        delete(apartment);
+        delete(house);
+        facets = index.snapshot();
+        assertEquals(0, facets.getTotal());
+        assertTrue(facets.getPropertyTypes().isEmpty());
+        assertTrue(facets.getRoomsNumbers().isEmpty());
+        assertMatchesRecount();
+    }
+
+    @Test
+    void deletingAnUnknownOrRentedPropertyLeavesTheCountersUnchanged() {
+        Property rented = property(PropertyType.HOUSE, PropertyStatus.DONE, 4, 800);
+        rented.setRented(true);
+        save(rented);
+        save(property(PropertyType.APARTMENT, PropertyStatus.DONE, 1, 100));
+
+        index.remove(UUID.randomUUID());
+        delete(rented);
+        assertEquals(1, index.snapshot().getTotal());
+        assertMatchesRecount();
+    }
+
+    @Test
+    void randomWritesNeverDriftFromARecount() {
+        Random random = new Random(42);
+        PropertyType[] types = PropertyType.values();
+        PropertyStatus[] statuses = PropertyStatus.values();
+        for (int i = 0; i < 2000; i++) {
+            List<Property> existing = new ArrayList<>(catalogue.values());
+            int operation = existing.isEmpty() ? 0 : random.nextInt(4);
+            if (operation == 0) {
+                save(property(types[random.nextInt(types.length)], statuses[random.nextInt(statuses.length)],
+                        1 + random.nextInt(6), random.nextInt(20000)));
+                continue;
+            }
+            Property property = existing.get(random.nextInt(existing.size()));
+            if (operation == 1) {
+                property.setPriceAfterOffer(random.nextInt(1_500_000));
+                property.setPropertyStatus(statuses[random.nextInt(statuses.length)]);
+                save(property);
+            } else if (operation == 2) {
+                property.setRented(!property.isRented());
+                save(property);
+            } else {
+                delete(property);
+            }
+        }
+        assertMatchesRecount();
+    }
+
+    private Property save(Property property) {
+        catalogue.put(property.getId(), property);
+        index.put(property);
+        return property;
+    }
+
+    private void delete(Property property) {
+        catalogue.remove(property.getId());
+        index.remove(property.getId());
+    }
+
+    private void assertMatchesRecount() {
+        FacetIndex recount = new FacetIndex(null);
+        catalogue.values().forEach(recount::put);
+        PropertyFacetsDTO expected = recount.snapshot();
+        PropertyFacetsDTO actual = index.snapshot();
+        assertEquals(expected.getTotal(), actual.getTotal());
+        assertEquals(expected.getPropertyTypes(), actual.getPropertyTypes());
+        assertEquals(expected.getPropertyStatuses(), actual.getPropertyStatuses());
+        assertEquals(expected.getRoomsNumbers(), actual.getRoomsNumbers());
+        for (int i = 0; i < expected.getPriceHistogram().size(); i++) {
+            assertEquals(expected.getPriceHistogram().get(i).getCount(), actual.getPriceHistogram().get(i).getCount(),
+                    "price bucket from " + expected.getPriceHistogram().get(i).getFrom());
+        }
+    }
+
+    private static PriceBucketDTO bucket(PropertyFacetsDTO facets, float from) {
+        return facets.getPriceHistogram().stream()
+                .filter(bucket -> bucket.getFrom() == from)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static Property property(PropertyType type, PropertyStatus status, int rooms, float price) {
+        return Property.builder()
+                .id(UUID.randomUUID())
+                .location("Location")
+                .roomsNumber(rooms)
+                .initialPrice(price)
+                .priceAfterOffer(price)
+                .propertyType(type)
+                .propertyStatus(status)
+                .build();
+    }
+}
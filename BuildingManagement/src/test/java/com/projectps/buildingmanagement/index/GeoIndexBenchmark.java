@@ -0,0 +1,127 @@
+package com.projectps.buildingmanagement.index;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the grid of {@link GeoIndex} with a scan of every point, on properties spread over Romania.
+ * Before measuring, the setup checks that both return exactly the same properties for every query.
+ * Run it from the IDE or with {@code main}, after {@code mvn test-compile}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeoIndexBenchmark {
+    private static final int QUERIES = 256;
+    private static final int LIMIT = 100;
+
+    @Param({"10000", "100000"})
+    private int properties;
+
+    @Param({"2", "25"})
+    private double radiusKm;
+
+    private GeoIndex index;
+    private GeoScan scan;
+    private double[][] queries;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        index = new GeoIndex(null);
+        Map<UUID, double[]> points = new HashMap<>();
+        for (int i = 0; i < properties; i++) {
+            UUID id = UUID.randomUUID();
+            double[] point = randomPointInRomania(random);
+            index.put(id, point[0], point[1]);
+            points.put(id, point);
+        }
+        scan = new GeoScan(points);
+        queries = new double[QUERIES][];
+        for (int i = 0; i < QUERIES; i++) {
+            queries[i] = randomPointInRomania(random);
+        }
+        verify();
+    }
+
+    @Benchmark
+    public List<UUID> indexRadius() {
+        double[] query = nextQuery();
+        return index.findWithinRadius(query[0], query[1], radiusKm, LIMIT);
+    }
+
+    @Benchmark
+    public List<UUID> scanRadius() {
+        double[] query = nextQuery();
+        return scan.findWithinRadius(query[0], query[1], radiusKm, LIMIT);
+    }
+
+    @Benchmark
+    public List<UUID> indexBounds() {
+        double[] query = nextQuery();
+        double delta = radiusKm / 111;
+        return index.findWithinBounds(query[0] - delta, query[1] - delta, query[0] + delta, query[1] + delta, Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public List<UUID> scanBounds() {
+        double[] query = nextQuery();
+        double delta = radiusKm / 111;
+        return scan.findWithinBounds(query[0] - delta, query[1] - delta, query[0] + delta, query[1] + delta);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(GeoIndexBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    private void verify() {
+        for (double[] query : queries) {
+            List<UUID> expected = scan.findWithinRadius(query[0], query[1], radiusKm, Integer.MAX_VALUE);
+            List<UUID> actual = index.findWithinRadius(query[0], query[1], radiusKm, Integer.MAX_VALUE);
+            if (!expected.equals(actual)) {
+                throw new IllegalStateException("Radius query around " + query[0] + ", " + query[1]
+                        + " returned " + actual.size() + " properties instead of " + expected.size());
+            }
+            double delta = radiusKm / 111;
+            if (!new HashSet<>(scan.findWithinBounds(query[0] - delta, query[1] - delta, query[0] + delta, query[1] + delta))
+                    .equals(new HashSet<>(index.findWithinBounds(query[0] - delta, query[1] - delta,
+                            query[0] + delta, query[1] + delta, Integer.MAX_VALUE)))) {
+                throw new IllegalStateException("Bounding box query around " + query[0] + ", " + query[1] + " differs");
+            }
+        }
+    }
+
+    private double[] nextQuery() {
+        next = (next + 1) % QUERIES;
+        return queries[next];
+    }
+
+    private static double[] randomPointInRomania(Random random) {
+        return new double[]{43.6 + random.nextDouble() * 4.7, 20.2 + random.nextDouble() * 9.5};
+    }
+}
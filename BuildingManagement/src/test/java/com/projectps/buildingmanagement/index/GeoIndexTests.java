@@ -0,0 +1,145 @@
+package com.projectps.buildingmanagement.index;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeoIndexTests {
+
+    private GeoIndex index;
+    private Map<UUID, double[]> points;
+
+    @BeforeEach
+    void setUp() {
+        index = new GeoIndex(null);
+        points = new HashMap<>();
+    }
+
+    @Test
+    void radiusQueryReturnsThePointsInsideNearestFirst() {
+        UUID center = put(46.7700, 23.5900);
+        UUID oneKm = put(46.7790, 23.5900);
+        UUID fourKm = put(46.7700, 23.6425);
+        UUID farAway = put(44.4268, 26.1025);
+
+        assertEquals(List.of(center, oneKm, fourKm), index.findWithinRadius(46.77, 23.59, 5, 10));
+        assertEquals(List.of(center, oneKm), index.findWithinRadius(46.77, 23.59, 5, 2));
+        assertEquals(List.of(center, oneKm), index.findWithinRadius(46.77, 23.59, 1.01, 10));
+        assertFalse(index.findWithinRadius(46.77, 23.59, 300, 10).contains(farAway));
+        assertTrue(index.findWithinRadius(46.77, 23.59, 400, 10).contains(farAway));
+    }
+
+    @Test
+    void boundingBoxIncludesPointsOnItsEdges() {
+        UUID southWest = put(46.70, 23.50);
+        UUID northEast = put(46.80, 23.70);
+        UUID onWestEdge = put(46.75, 23.50);
+        UUID onNorthEdge = put(46.80, 23.60);
+        UUID justOutside = put(46.8000001, 23.60);
+
+        Set<UUID> found = Set.copyOf(index.findWithinBounds(46.70, 23.50, 46.80, 23.70, 100));
+        assertEquals(Set.of(southWest, northEast, onWestEdge, onNorthEdge), found);
+        assertFalse(found.contains(justOutside));
+    }
+
+    @Test
+    void pointsOnCellBoundariesAreFoundFromEitherSide() {
+        // 0.05 degree cells: these points sit exactly on cell edges and corners.
+        UUID corner = put(46.75, 23.60);
+        UUID rowEdge = put(46.80, 23.62);
+        UUID columnEdge = put(46.77, 23.65);
+
+        assertEquals(Set.of(corner), Set.copyOf(index.findWithinBounds(46.70, 23.55, 46.75, 23.60, 10)));
+        assertEquals(Set.of(corner), Set.copyOf(index.findWithinBounds(46.75, 23.60, 46.76, 23.61, 10)));
+        assertEquals(Set.of(rowEdge), Set.copyOf(index.findWithinBounds(46.79, 23.61, 46.80, 23.63, 10)));
+        assertEquals(Set.of(columnEdge), Set.copyOf(index.findWithinBounds(46.76, 23.65, 46.78, 23.66, 10)));
+        assertEquals(List.of(corner), index.findWithinRadius(46.7501, 23.5999, 0.1, 10));
+    }
+
+    @Test
+    void queriesNearThePolesCoverEveryLongitude() {
+        UUID northPole = put(90, 0);
+        UUID nearNorthPole = put(89.99, -170);
+        UUID acrossNorthPole = put(89.98, 10);
+        UUID nearSouthPole = put(-89.99, 120);
+        UUID southPole = put(-90, -45);
+
+        assertEquals(Set.of(northPole, nearNorthPole, acrossNorthPole),
+                Set.copyOf(index.findWithinRadius(89.995, 100, 5, 10)));
+        assertEquals(Set.of(nearSouthPole, southPole), Set.copyOf(index.findWithinRadius(-89.999, -60, 2, 10)));
+        assertEquals(Set.of(northPole, nearNorthPole, acrossNorthPole),
+                Set.copyOf(index.findWithinBounds(89.9, -180, 90, 180, 10)));
+    }
+
+    @Test
+    void queriesAcrossTheAntimeridianWrapAround() {
+        UUID east = put(-17.7, 179.99);
+        UUID west = put(-17.7, -179.99);
+        UUID onTheLine = put(-17.7, 180);
+        UUID farWest = put(-17.7, -178);
+
+        assertEquals(Set.of(east, west, onTheLine), Set.copyOf(index.findWithinRadius(-17.7, 179.995, 5, 10)));
+        assertEquals(Set.of(east, west, onTheLine), Set.copyOf(index.findWithinRadius(-17.7, -179.995, 5, 10)));
+        assertEquals(Set.of(east, west, onTheLine), Set.copyOf(index.findWithinBounds(-18, 179.9, -17, -179.9, 10)));
+        assertTrue(index.findWithinBounds(-18, 179.9, -17, -179.9, 10).stream().noneMatch(farWest::equals));
+    }
+
+    @Test
+    void movedAndRemovedPointsAreNotFoundAtTheirOldPlace() {
+        UUID id = put(46.77, 23.59);
+        index.put(id, 44.43, 26.10);
+        points.put(id, new double[]{44.43, 26.10});
+        assertTrue(index.findWithinRadius(46.77, 23.59, 10, 10).isEmpty());
+        assertEquals(List.of(id), index.findWithinRadius(44.43, 26.10, 1, 10));
+
+        index.remove(id);
+        assertEquals(0, index.size());
+        assertTrue(index.findWithinRadius(44.43, 26.10, 1, 10).isEmpty());
+    }
+
+    @Test
+    void randomQueriesMatchAFullScan() {
+        Random random = new Random(7);
+        for (int i = 0; i < 10000; i++) {
+            // Half of the points are clustered so that queries hit crowded cells as well as empty ones.
+            if (i % 2 == 0) {
+                put(46 + random.nextDouble(), 23 + random.nextDouble());
+            } else {
+                put(random.nextDouble() * 180 - 90, random.nextDouble() * 360 - 180);
+            }
+        }
+        GeoScan scan = new GeoScan(points);
+        for (int i = 0; i < 500; i++) {
+            double latitude = i % 2 == 0 ? 46 + random.nextDouble() : random.nextDouble() * 180 - 90;
+            double longitude = i % 2 == 0 ? 23 + random.nextDouble() : random.nextDouble() * 360 - 180;
+            double radiusKm = Math.pow(10, random.nextDouble() * 4);
+            assertEquals(new HashSet<>(scan.findWithinRadius(latitude, longitude, radiusKm, Integer.MAX_VALUE)),
+                    new HashSet<>(index.findWithinRadius(latitude, longitude, radiusKm, Integer.MAX_VALUE)),
+                    "radius " + radiusKm + " around " + latitude + ", " + longitude);
+
+            double south = random.nextDouble() * 180 - 90;
+            double north = Math.min(90, south + random.nextDouble() * 20);
+            double west = random.nextDouble() * 360 - 180;
+            double east = random.nextDouble() * 360 - 180;
+            assertEquals(new HashSet<>(scan.findWithinBounds(south, west, north, east)),
+                    new HashSet<>(index.findWithinBounds(south, west, north, east, Integer.MAX_VALUE)),
+                    "box " + south + ", " + west + ", " + north + ", " + east);
+        }
+    }
+
+    private UUID put(double latitude, double longitude) {
+        UUID id = UUID.randomUUID();
+        index.put(id, latitude, longitude);
+        points.put(id, new double[]{latitude, longitude});
+        return id;
+    }
+}
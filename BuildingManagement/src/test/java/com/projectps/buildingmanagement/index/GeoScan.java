@@ -0,0 +1,51 @@
+package com.projectps.buildingmanagement.index;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Reference implementation of the geo queries that checks every point, used to verify and benchmark {@link GeoIndex}.
+ */
+final class GeoScan {
+
+    private final Map<UUID, double[]> points;
+
+    GeoScan(Map<UUID, double[]> points) {
+        this.points = points;
+    }
+
+    List<UUID> findWithinRadius(double latitude, double longitude, double radiusKm, int limit) {
+        List<Map.Entry<UUID, Double>> matches = new ArrayList<>();
+        for (Map.Entry<UUID, double[]> point : points.entrySet()) {
+            double distance = GeoIndex.distanceKm(latitude, longitude, point.getValue()[0], point.getValue()[1]);
+            if (distance <= radiusKm) {
+                matches.add(Map.entry(point.getKey(), distance));
+            }
+        }
+        return matches.stream()
+                .sorted(Map.Entry.comparingByValue(Comparator.naturalOrder()))
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+
+    List<UUID> findWithinBounds(double south, double west, double north, double east) {
+        boolean wraps = west > east;
+        List<UUID> matches = new ArrayList<>();
+        for (Map.Entry<UUID, double[]> point : points.entrySet()) {
+            double latitude = point.getValue()[0];
+            double longitude = point.getValue()[1];
+            boolean longitudeInside = wraps
+                    ? longitude >= west || longitude <= east
+                    : longitude >= west && longitude <= east;
+            if (latitude >= south && latitude <= north && longitudeInside) {
+                matches.add(point.getKey());
+            }
+        }
+        return matches;
+    }
+}
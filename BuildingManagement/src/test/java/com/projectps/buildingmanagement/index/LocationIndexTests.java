@@ -0,0 +1,72 @@
+package com.projectps.buildingmanagement.index;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocationIndexTests {
+
+    private final UUID brasov = UUID.randomUUID();
+    private final UUID brasovCenter = UUID.randomUUID();
+    private final UUID timisoara = UUID.randomUUID();
+    private final UUID cluj = UUID.randomUUID();
+
+    private LocationIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new LocationIndex(null);
+        index.put(brasov, "Str. Lungă 12, Brașov");
+        index.put(brasovCenter, "Piața Sfatului 3, Brașov");
+        index.put(timisoara, "Bd. Revoluției 5, Timişoara");
+        index.put(cluj, "Str. Horea 10, Cluj-Napoca");
+    }
+
+    @Test
+    void queriesWithAndWithoutDiacriticsMatchTheSameLocations() {
+        assertEquals(Set.of(brasov, brasovCenter), Set.copyOf(index.search("Brasov", 10)));
+        assertEquals(Set.of(brasov, brasovCenter), Set.copyOf(index.search("BRAȘOV", 10)));
+        // Legacy cedilla and comma-below spellings fold the same way.
+        assertEquals(timisoara, index.search("Timișoara", 10).get(0));
+        assertEquals(timisoara, index.search("timisoara", 10).get(0));
+    }
+
+    @Test
+    void queriesWithTyposStillFindTheLocation() {
+        assertEquals(timisoara, index.search("Timisoera", 10).get(0));
+        assertEquals(cluj, index.search("Cluj Napocca", 10).get(0));
+        assertTrue(index.search("Constanta", 10).isEmpty());
+    }
+
+    @Test
+    void prefixesAutocompleteAnyWordOfTheLocation() {
+        assertEquals(List.of("Str. Horea 10, Cluj-Napoca"), index.autocomplete("napo", 10));
+        assertEquals(2, index.autocomplete("bras", 10).size());
+        assertEquals(1, index.autocomplete("bras", 1).size());
+        assertEquals(List.of("Piața Sfatului 3, Brașov"), index.autocomplete("piata sf", 10));
+        assertTrue(index.autocomplete("xyz", 10).isEmpty());
+    }
+
+    @Test
+    void filterIsAppliedBeforeTheLimit() {
+        assertEquals(List.of(brasovCenter), index.search("Brasov", 1, id -> !id.equals(brasov)));
+        assertEquals(List.of(brasov), index.search("Brasov", 1, id -> !id.equals(brasovCenter)));
+        assertTrue(index.search("Brasov", 1, id -> false).isEmpty());
+    }
+
+    @Test
+    void updatedAndRemovedLocationsAreNoLongerFound() {
+        index.put(cluj, "Str. Republicii 1, Sibiu");
+        assertTrue(index.search("Cluj", 10).isEmpty());
+        assertEquals(List.of(cluj), index.search("Sibiu", 10));
+
+        index.remove(cluj);
+        assertTrue(index.search("Sibiu", 10).isEmpty());
+        assertTrue(index.autocomplete("sib", 10).isEmpty());
+    }
+}
@@ -0,0 +1,136 @@
+package com.projectps.buildingmanagement.repositories;
+
+import com.projectps.buildingmanagement.entities.*;
+import com.projectps.buildingmanagement.entities.enums.PropertyStatus;
+import com.projectps.buildingmanagement.entities.enums.PropertyType;
+import com.projectps.buildingmanagement.entities.enums.UserType;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class PropertyLazyLoadingTests {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private ContractRepository contractRepository;
+
+    @Autowired
+    private OfferRepository offerRepository;
+
+    @Autowired
+    private SolicitationRepository solicitationRepository;
+
+    private Statistics statistics;
+
+    private UUID propertyId;
+
+    @BeforeEach
+    void setUp() {
+        solicitationRepository.deleteAll();
+        offerRepository.deleteAll();
+        contractRepository.deleteAll();
+        propertyRepository.deleteAll();
+        userRepository.deleteAll();
+
+        User user = userRepository.save(User.builder()
+                .firstName("First")
+                .lastName("Last")
+                .username("user")
+                .password("password")
+                .email("user@mail.com")
+                .phoneNumber("+40700000000")
+                .userRole(UserType.CUSTOMER)
+                .build());
+        Property property = propertyRepository.save(Property.builder()
+                .location("Location")
+                .latitude(46.77)
+                .longitude(23.6)
+                .roomsNumber(2)
+                .initialPrice(500)
+                .priceAfterOffer(450)
+                .isRented(true)
+                .isOfferApplied(true)
+                .propertyType(PropertyType.APARTMENT)
+                .propertyStatus(PropertyStatus.DONE)
+                .build());
+        contractRepository.save(Contract.builder()
+                .startDate(LocalDateTime.now())
+                .duration(12)
+                .details("details")
+                .user(user)
+                .property(property)
+                .build());
+        offerRepository.save(Offer.builder()
+                .offerProcent(10)
+                .property(property)
+                .build());
+        solicitationRepository.save(Solicitation.builder()
+                .date(LocalDateTime.now())
+                .user(user)
+                .property(property)
+                .build());
+        propertyId = property.getId();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void loadingPropertyUsesOneStatement() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Property property = propertyRepository.findById(propertyId).orElseThrow();
+            assertEquals(450, property.getPriceAfterOffer());
+            assertEquals(1, statistics.getPrepareStatementCount());
+        });
+    }
+
+    @Test
+    void relationsLoadOnFirstAccess() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Property property = propertyRepository.findById(propertyId).orElseThrow();
+            assertNotNull(property.getRentalContract());
+            assertEquals(2, statistics.getPrepareStatementCount());
+            // The offer is in the same lazy group as the contract and was loaded with it.
+            assertNotNull(property.getPriceOffer());
+            assertEquals(2, statistics.getPrepareStatementCount());
+            // The waitlist is a collection and is loaded by its own statement.
+            assertEquals(1, property.getSolicitations().size());
+            assertEquals(3, statistics.getPrepareStatementCount());
+        });
+    }
+
+    @Test
+    void entityGraphLoadsRelationsInOneStatement() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Property property = propertyRepository.findWithRelationsById(propertyId).orElseThrow();
+            assertNotNull(property.getRentalContract());
+            assertNotNull(property.getPriceOffer());
+            assertEquals(1, statistics.getPrepareStatementCount());
+        });
+    }
+}
@@ -0,0 +1,146 @@
+package com.projectps.buildingmanagement.services;
+
+import com.projectps.buildingmanagement.dtos.ContractDTO;
+import com.projectps.buildingmanagement.entities.Property;
+import com.projectps.buildingmanagement.entities.User;
+import com.projectps.buildingmanagement.entities.enums.PropertyStatus;
+import com.projectps.buildingmanagement.entities.enums.PropertyType;
+import com.projectps.buildingmanagement.entities.enums.UserType;
+import com.projectps.buildingmanagement.repositories.ContractRepository;
+import com.projectps.buildingmanagement.repositories.PropertyRepository;
+import com.projectps.buildingmanagement.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ContractBookingStressTests {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ContractBookingStressTests.class);
+
+    private static final int PROPERTIES = 25;
+    private static final int BOOKERS = 400;
+    private static final int THREADS = 64;
+
+    @Autowired
+    private ContractService contractService;
+
+    @Autowired
+    private ContractRepository contractRepository;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        contractRepository.deleteAll();
+        propertyRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void concurrentBookersNeverDoubleBookAProperty() throws Exception {
+        List<UUID> users = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            users.add(userRepository.save(User.builder()
+                    .firstName("Booker")
+                    .lastName("Test")
+                    .username("booker" + i)
+                    .password("secret")
+                    .email("booker" + i + "@mail.com")
+                    .phoneNumber(String.format("+40744%06d", i))
+                    .userRole(UserType.ADMIN)
+                    .build()).getId());
+        }
+        List<UUID> properties = new ArrayList<>();
+        for (int i = 0; i < PROPERTIES; i++) {
+            properties.add(propertyRepository.save(Property.builder()
+                    .location("Booking Street " + i)
+                    .latitude(46.77)
+                    .longitude(23.59)
+                    .roomsNumber(2)
+                    .initialPrice(1000)
+                    .priceAfterOffer(1000)
+                    .propertyType(PropertyType.APARTMENT)
+                    .propertyStatus(PropertyStatus.DONE)
+                    .build()).getId());
+        }
+
+        Map<UUID, AtomicInteger> bookings = new ConcurrentHashMap<>();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < BOOKERS; i++) {
+            UUID propertyId = properties.get(i % PROPERTIES);
+            UUID userId = users.get(i % users.size());
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    contractService.createContract(ContractDTO.builder()
+                            .startDate(LocalDateTime.now().plusDays(1))
+                            .duration(12)
+                            .details("Stress booking")
+                            .user_id(userId)
+                            .property_id(propertyId)
+                            .build());
+                    bookings.computeIfAbsent(propertyId, id -> new AtomicInteger()).incrementAndGet();
+                } catch (IllegalArgumentException e) {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+
+        long startedAt = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        double seconds = (System.nanoTime() - startedAt) / 1e9;
+        executor.shutdown();
+        LOGGER.info("{} booking attempts on {} properties with {} threads in {} s: {} attempts/s, {} booked, {} rejected",
+                BOOKERS, PROPERTIES, THREADS, String.format("%.3f", seconds), String.format("%.0f", BOOKERS / seconds),
+                bookings.size(), rejected.get());
+
+        assertEquals(PROPERTIES, bookings.size());
+        bookings.values().forEach(count -> assertEquals(1, count.get()));
+        assertEquals(BOOKERS - PROPERTIES, rejected.get());
+        assertEquals(PROPERTIES, contractRepository.count());
+        propertyRepository.findAllById(properties).forEach(property -> assertTrue(property.isRented()));
+    }
+
+    @Test
+    void bookingWithoutPropertyIsRejectedBeforeLocking() {
+        ContractDTO contractDTO = ContractDTO.builder()
+                .startDate(LocalDateTime.now().plusDays(1))
+                .duration(12)
+                .details("No property")
+                .user_id(UUID.randomUUID())
+                .build();
+        assertThrows(IllegalArgumentException.class, () -> contractService.createContract(contractDTO));
+        assertEquals(0, contractRepository.count());
+    }
+}
@@ -0,0 +1,196 @@
+package com.projectps.buildingmanagement.services;
+
+import com.projectps.buildingmanagement.dtos.UserDTO;
+import com.projectps.buildingmanagement.entities.EmailOutbox;
+import com.projectps.buildingmanagement.entities.enums.OutboxStatus;
+import com.projectps.buildingmanagement.entities.enums.UserType;
+import com.projectps.buildingmanagement.repositories.EmailOutboxRepository;
+import com.projectps.buildingmanagement.repositories.UserRepository;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:outbox;DB_CLOSE_DELAY=-1;NON_KEYWORDS=DATE,USER,VALUE",
+        "email-outbox.dispatcher.enabled=true",
+        "email-outbox.poll-interval-millis=3600000",
+        "email-outbox.max-attempts=2",
+        "email-outbox.initial-backoff=0s",
+        "http-client.circuit-breaker.sliding-window-size=4",
+        "http-client.circuit-breaker.minimum-number-of-calls=4"
+})
+@ActiveProfiles("test")
+class EmailOutboxDispatcherTests {
+    private static final Logger LOGGER = LoggerFactory.getLogger(EmailOutboxDispatcherTests.class);
+
+    private static final StubMailServer MAIL_SERVER = startMailServer();
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private EmailOutboxService emailOutboxService;
+
+    @Autowired
+    private EmailOutboxDispatcher emailOutboxDispatcher;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    @DynamicPropertySource
+    static void mailServerProperties(DynamicPropertyRegistry registry) {
+        registry.add("email.service.url", MAIL_SERVER::getUrl);
+    }
+
+    @AfterAll
+    static void stopMailServer() {
+        MAIL_SERVER.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        emailOutboxRepository.deleteAll();
+        userRepository.deleteAll();
+        MAIL_SERVER.reset();
+        circuitBreakerRegistry.getAllCircuitBreakers().forEach(CircuitBreaker::reset);
+    }
+
+    @Test
+    void userCreationQueuesEmailThatIsDeliveredLater() {
+        UserDTO createdUser = userService.createUser(user(0), "Welcome", "Dear Jane");
+
+        List<EmailOutbox> queued = emailOutboxRepository.findAll();
+        assertEquals(1, queued.size());
+        assertEquals(OutboxStatus.PENDING, queued.get(0).getStatus());
+        assertEquals(createdUser.getId(), queued.get(0).getUserId());
+        assertEquals(0, MAIL_SERVER.getReceived());
+
+        emailOutboxDispatcher.dispatchPending();
+
+        EmailOutbox sent = emailOutboxRepository.findAll().get(0);
+        assertEquals(OutboxStatus.SENT, sent.getStatus());
+        assertNotNull(sent.getSentAt());
+        assertEquals(1, MAIL_SERVER.getReceived());
+    }
+
+    @Test
+    void rejectedUserQueuesNoEmail() {
+        UserDTO invalid = user(0);
+        invalid.setEmail("not-an-email");
+        assertThrows(IllegalArgumentException.class, () -> userService.createUser(invalid, "Welcome", "Dear Jane"));
+        assertEquals(0, emailOutboxRepository.count());
+    }
+
+    @Test
+    void enqueueRequiresCallerTransaction() {
+        assertThrows(Exception.class, () -> emailOutboxService.enqueue(user(0), "Welcome", "Dear Jane"));
+    }
+
+    @Test
+    void failingDeliveryIsRetriedThenDeadLettered() {
+        userService.createUser(user(0), "Welcome", "Dear Jane");
+        MAIL_SERVER.setFailing(true);
+
+        emailOutboxDispatcher.dispatchPending();
+        EmailOutbox retried = emailOutboxRepository.findAll().get(0);
+        assertEquals(OutboxStatus.PENDING, retried.getStatus());
+        assertEquals(1, retried.getAttempts());
+        assertNotNull(retried.getLastError());
+
+        emailOutboxDispatcher.dispatchPending();
+        EmailOutbox dead = emailOutboxRepository.findAll().get(0);
+        assertEquals(OutboxStatus.DEAD, dead.getStatus());
+        assertEquals(2, dead.getAttempts());
+
+        MAIL_SERVER.setFailing(false);
+        emailOutboxDispatcher.dispatchPending();
+        assertEquals(0, MAIL_SERVER.getReceived());
+    }
+
+    @Test
+    void openCircuitDefersDeliveryWithoutUsingAttempts() {
+        int messages = 30;
+        queueEmails(messages);
+        MAIL_SERVER.setFailing(true);
+
+        emailOutboxDispatcher.dispatchPending();
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreakerRegistry.getAllCircuitBreakers().iterator().next().getState());
+        assertTrue(MAIL_SERVER.getRequests() < messages);
+        List<EmailOutbox> emails = emailOutboxRepository.findAll();
+        assertTrue(emails.stream().allMatch(email -> email.getStatus() == OutboxStatus.PENDING));
+        assertEquals(MAIL_SERVER.getRequests(), emails.stream().mapToInt(EmailOutbox::getAttempts).sum());
+    }
+
+    @Test
+    void drainsLargeBacklogInBatches() {
+        int messages = 200;
+        queueEmails(messages);
+        MAIL_SERVER.setLatencyMillis(20);
+
+        long start = System.nanoTime();
+        emailOutboxDispatcher.dispatchPending();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        LOGGER.info("Delivered {} emails with 20 ms mail latency in {} ms", messages, elapsedMillis);
+
+        assertEquals(messages, MAIL_SERVER.getReceived());
+        assertEquals(messages, emailOutboxRepository.countByStatus(OutboxStatus.SENT));
+    }
+
+    private void queueEmails(int count) {
+        List<UserDTO> users = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            users.add(userService.createUser(user(i)));
+        }
+        transactionTemplate.executeWithoutResult(status ->
+                users.forEach(user -> emailOutboxService.enqueue(user, "Welcome", "Dear " + user.getFirstName())));
+    }
+
+    private static UserDTO user(int number) {
+        String username = "user" + number;
+        UserDTO userDTO = new UserDTO();
+        userDTO.setFirstName("Jane");
+        userDTO.setLastName("Doe");
+        userDTO.setUsername(username);
+        userDTO.setPassword("password1");
+        userDTO.setEmail(username + "@mail.com");
+        userDTO.setPhoneNumber(String.format("+407%08d", number));
+        userDTO.setUserRole(UserType.CUSTOMER);
+        return userDTO;
+    }
+
+    private static StubMailServer startMailServer() {
+        try {
+            return new StubMailServer();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.projectps.buildingmanagement.services;
+
+import com.projectps.buildingmanagement.dtos.PropertyChangeDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PropertyChangeFeedDeliveryTests {
+    private static final int BUFFER_SIZE = 4;
+
+    private PropertyChangeFeed feed;
+
+    @AfterEach
+    void shutdownFeed() {
+        if (feed != null) {
+            feed.shutdown();
+        }
+    }
+
+    @Test
+    void subscriberThatOverflowsItsBufferIsToldToResync() throws Exception {
+        feed = new PropertyChangeFeed(BUFFER_SIZE, 10, Duration.ofMinutes(1), 2, Duration.ofSeconds(5), 8);
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(release);
+        RecordingEmitter fast = new RecordingEmitter(null);
+        feed.subscribe(slow);
+        feed.subscribe(fast);
+
+        List<UUID> published = new ArrayList<>();
+        published.add(publish());
+        assertTrue(slow.sending.await(5, TimeUnit.SECONDS), "The slow subscriber never started sending");
+        // The other subscriber keeps up change by change while the slow one overflows its buffer.
+        for (int i = 0; i < BUFFER_SIZE * 3; i++) {
+            published.add(publish());
+            await(() -> fast.received().equals(published));
+        }
+        release.countDown();
+
+        await(() -> slow.resyncs() == 1);
+        assertEquals(published.subList(0, 1), slow.received());
+        assertEquals(published, fast.received());
+        assertEquals(0, fast.resyncs());
+        assertEquals(2, feed.getSubscriberCount());
+    }
+
+    @Test
+    void subscriberStuckInAWriteIsDroppedWithoutStallingTheOthers() throws Exception {
+        feed = new PropertyChangeFeed(BUFFER_SIZE, 10, Duration.ofMinutes(1), 1, Duration.ofMillis(200), 8);
+        RecordingEmitter stuck = new RecordingEmitter(new CountDownLatch(1));
+        RecordingEmitter fast = new RecordingEmitter(null);
+        feed.subscribe(stuck);
+        feed.subscribe(fast);
+
+        UUID first = publish();
+        await(() -> feed.getSubscriberCount() == 1);
+        await(() -> stuck.failed);
+
+        UUID second = publish();
+        await(() -> fast.received().equals(List.of(first, second)));
+        assertTrue(stuck.received().isEmpty());
+    }
+
+    private UUID publish() {
+        UUID id = UUID.randomUUID();
+        feed.publishRemoved(id);
+        return id;
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Timed out waiting for the property feed");
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Records the events written to it; when given a latch, the first write blocks until the latch is released.
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+        private final CountDownLatch release;
+        private final CountDownLatch sending = new CountDownLatch(1);
+        private final List<Set<DataWithMediaType>> events = new CopyOnWriteArrayList<>();
+        private volatile boolean failed;
+
+        private RecordingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            sending.countDown();
+            if (release != null) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new InterruptedIOException("Write interrupted");
+                }
+            }
+            events.add(builder.build());
+        }
+
+        @Override
+        public void completeWithError(Throwable ex) {
+            failed = true;
+            super.completeWithError(ex);
+        }
+
+        private List<UUID> received() {
+            return events.stream()
+                    .flatMap(Set::stream)
+                    .map(DataWithMediaType::getData)
+                    .filter(List.class::isInstance)
+                    .flatMap(data -> ((List<?>) data).stream())
+                    .map(change -> ((PropertyChangeDTO) change).getPropertyId())
+                    .collect(Collectors.toList());
+        }
+
+        private long resyncs() {
+            return events.stream()
+                    .flatMap(Set::stream)
+                    .map(DataWithMediaType::getData)
+                    .filter(data -> data instanceof String text && text.contains("event:resync"))
+                    .count();
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.projectps.buildingmanagement.services;
+
+import com.projectps.buildingmanagement.config.SolicitationSchemaMigration;
+import com.projectps.buildingmanagement.dtos.WaitlistDTO;
+import com.projectps.buildingmanagement.entities.Property;
+import com.projectps.buildingmanagement.entities.User;
+import com.projectps.buildingmanagement.entities.enums.PropertyStatus;
+import com.projectps.buildingmanagement.entities.enums.PropertyType;
+import com.projectps.buildingmanagement.entities.enums.UserType;
+import com.projectps.buildingmanagement.exceptions.PropertyNotFoundException;
+import com.projectps.buildingmanagement.exceptions.UserNotFoundException;
+import com.projectps.buildingmanagement.repositories.PropertyRepository;
+import com.projectps.buildingmanagement.repositories.SolicitationRepository;
+import com.projectps.buildingmanagement.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SolicitationRequestTests {
+
+    @Autowired
+    private SolicitationService solicitationService;
+
+    @Autowired
+    private SolicitationSchemaMigration solicitationSchemaMigration;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SolicitationRepository solicitationRepository;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private UUID userId;
+    private Property property;
+
+    @BeforeEach
+    void setUp() {
+        solicitationRepository.deleteAll();
+        propertyRepository.deleteAll();
+        userRepository.deleteAll();
+        userId = userRepository.save(User.builder()
+                .firstName("Ana")
+                .lastName("Pop")
+                .username("ana")
+                .password("secret")
+                .email("ana@mail.com")
+                .phoneNumber("+40755000001")
+                .userRole(UserType.CUSTOMER)
+                .build()).getId();
+        property = propertyRepository.save(Property.builder()
+                .location("Str. Horea 10, Cluj-Napoca")
+                .latitude(46.77)
+                .longitude(23.59)
+                .roomsNumber(2)
+                .initialPrice(1000)
+                .priceAfterOffer(1000)
+                .propertyType(PropertyType.APARTMENT)
+                .propertyStatus(PropertyStatus.DONE)
+                .build());
+    }
+
+    @Test
+    void burstOfDuplicateRequestsCreatesOneSolicitation() throws Exception {
+        int clicks = 50;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < clicks; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return solicitationService.requestProperty(userId, property.getId());
+            }));
+        }
+        start.countDown();
+        int created = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get(30, TimeUnit.SECONDS)) {
+                created++;
+            }
+        }
+        executor.shutdown();
+
+        assertEquals(1, created);
+        assertEquals(1, solicitationRepository.count());
+        assertFalse(solicitationService.requestProperty(userId, property.getId()));
+    }
+
+    @Test
+    void requestsQueueInOrderAndPriorityMovesThemAhead() throws Exception {
+        UUID secondUserId = userRepository.save(User.builder()
+                .firstName("Ion")
+                .lastName("Pop")
+                .username("ion")
+                .password("secret")
+                .email("ion@mail.com")
+                .phoneNumber("+40755000002")
+                .userRole(UserType.CUSTOMER)
+                .build()).getId();
+        assertTrue(solicitationService.requestProperty(userId, property.getId()));
+        assertTrue(solicitationService.requestProperty(secondUserId, property.getId()));
+
+        WaitlistDTO waitlist = solicitationService.getWaitlist(property.getId());
+        assertEquals(2, waitlist.getLength());
+        assertEquals(userId, waitlist.getHead().getUser_id());
+
+        UUID secondRequestId = solicitationRepository.findByUserId(secondUserId).get(0).getId();
+        solicitationService.updatePriority(secondRequestId, 5);
+        assertEquals(secondRequestId, solicitationService.getWaitlist(property.getId()).getHead().getId());
+        assertTrue(solicitationService.isWaitlistHead(secondRequestId));
+
+        solicitationService.deleteSolicitationAdmin(secondRequestId);
+        waitlist = solicitationService.getWaitlist(property.getId());
+        assertEquals(1, waitlist.getLength());
+        assertEquals(userId, waitlist.getHead().getUser_id());
+    }
+
+    @Test
+    void requestsForMissingOrRentedPropertiesAreRejected() {
+        assertThrows(PropertyNotFoundException.class, () -> solicitationService.requestProperty(userId, UUID.randomUUID()));
+        assertThrows(UserNotFoundException.class, () -> solicitationService.requestProperty(UUID.randomUUID(), property.getId()));
+
+        property.setRented(true);
+        propertyRepository.save(property);
+        assertThrows(IllegalArgumentException.class, () -> solicitationService.requestProperty(userId, property.getId()));
+        assertEquals(0, solicitationRepository.count());
+    }
+
+    @Test
+    void schemaMigrationDropsTheOneRequestPerPropertyConstraint() {
+        UUID secondUserId = userRepository.save(User.builder()
+                .firstName("Ion")
+                .lastName("Pop")
+                .username("ion")
+                .password("secret")
+                .email("ion@mail.com")
+                .phoneNumber("+40755000002")
+                .userRole(UserType.CUSTOMER)
+                .build()).getId();
+        // The constraint Hibernate created when a solicitation was the one-to-one request of its property.
+        jdbcTemplate.execute("alter table solicitations add constraint uk_solicitations_property unique (property_id)");
+        solicitationSchemaMigration.dropPropertyUniqueConstraint();
+
+        assertTrue(solicitationService.requestProperty(userId, property.getId()));
+        assertTrue(solicitationService.requestProperty(secondUserId, property.getId()));
+        assertEquals(2, solicitationService.getWaitlist(property.getId()).getLength());
+        // The waitlist key is kept.
+        solicitationSchemaMigration.dropPropertyUniqueConstraint();
+        assertFalse(solicitationService.requestProperty(userId, property.getId()));
+    }
+}